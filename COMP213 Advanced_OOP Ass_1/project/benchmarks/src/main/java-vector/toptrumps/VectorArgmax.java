@@ -0,0 +1,61 @@
+package toptrumps;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The VectorArgmax class finds the first highest value of a column of top
+ * card values with the Vector API: one pass takes the highest value lane by
+ * lane, and a second pass stops at the first lane equal to it, so a tie goes
+ * to the first position as in RoundResolver.argmax. Columns shorter than two
+ * vectors fall back to the scalar kernel.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+final class VectorArgmax {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorArgmax() {
+    }
+
+    /**
+     * Returns the position of the first highest value of the first number of
+     * values.
+     *
+     * @param values the values
+     * @param number the number of values
+     * @return the position of the first highest value
+     */
+    static int argmax(int[] values, int number) {
+        if (number < 2 * SPECIES.length()) {
+            return RoundResolver.argmax(values, 0, number);
+        }
+        int upperBound = SPECIES.loopBound(number);
+        IntVector maxes = IntVector.fromArray(SPECIES, values, 0);
+        int i = SPECIES.length();
+        for (; i < upperBound; i += SPECIES.length()) {
+            maxes = maxes.max(IntVector.fromArray(SPECIES, values, i));
+        }
+        int max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < number; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        for (i = 0; i < upperBound; i += SPECIES.length()) {
+            int lane = IntVector.fromArray(SPECIES, values, i).eq(max).firstTrue();
+            if (lane < SPECIES.length()) {
+                return i + lane;
+            }
+        }
+        for (; i < number; i++) {
+            if (values[i] == max) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,37 @@
+package toptrumps;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The VectorRoundBenchmark class measures the Vector API argmax over the
+ * column of top values, on the same tables as the RoundBenchmark.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorRoundBenchmark {
+
+    /**
+     * Finds the first highest value of the column by the vector kernel.
+     *
+     * @param table the table of players
+     * @return the seat of the winner
+     */
+    @Benchmark
+    public int vectorArgmax(RoundTable table) {
+        return VectorArgmax.argmax(table.column, table.playersNumber);
+    }
+
+}
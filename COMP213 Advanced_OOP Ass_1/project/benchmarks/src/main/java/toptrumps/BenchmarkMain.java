@@ -0,0 +1,46 @@
+package toptrumps;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The BenchmarkMain class runs all the benchmarks with the gc profiler, so
+ * both the ops/s and the allocation rate are reported. With any arguments,
+ * they are passed to the JMH command line instead.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the JMH command line options, if any
+     * @throws Exception if the benchmarks fail to run
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        runAll();
+    }
+
+    /**
+     * Runs all the benchmarks of this package with the gc profiler.
+     *
+     * @throws RunnerException if the benchmarks fail to run
+     */
+    private static void runAll() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("toptrumps\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,75 @@
+package toptrumps;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The CardBenchmark class measures creating a Card and finding its values.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+
+    private Card card;
+    private String cardName;
+    private String attributeName;
+    private int attributeIndex;
+
+    /**
+     * Creates the card to be read.
+     */
+    @Setup
+    public void setUp() {
+        cardName = "Player1_Card_1";
+        attributeName = "Attribute_3";
+        attributeIndex = 2;
+        card = new Card(cardName, 4);
+    }
+
+    /**
+     * Creates a poker card.
+     *
+     * @return the card created
+     */
+    @Benchmark
+    public Card newCard() {
+        return new Card(cardName, 4);
+    }
+
+    /**
+     * Finds a value by the attribute name.
+     *
+     * @return the value found
+     */
+    @Benchmark
+    public int findAttributeValue() {
+        return card.findAttributeValue(attributeName);
+    }
+
+    /**
+     * Reads a value by the attribute index.
+     *
+     * @return the value read
+     */
+    @Benchmark
+    public int getValue() {
+        return card.getValue(attributeIndex);
+    }
+
+}
@@ -0,0 +1,103 @@
+package toptrumps;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The EndgameBenchmark class measures an EndgameSolver solving the same deal
+ * of a small endgame. solveCold() clears the transposition table first, so
+ * every position is numbered again, and its positions counter is the
+ * throughput in positions/sec; solveWarm() keeps the table, as the solves of
+ * the next rounds of a game do.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndgameBenchmark {
+
+    /**
+     * the players and the cards of each one, as players x cards
+     */
+    @Param({"2x3", "2x4", "3x2"})
+    private String endgame;
+
+    private Game game;
+    private EndgameSolver solver;
+
+    /**
+     * The Positions class counts the positions numbered by the solves.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Positions {
+
+        public long positions;
+
+        /**
+         * Starts the count of an iteration from 0.
+         */
+        @Setup(Level.Iteration)
+        public void clear() {
+            positions = 0;
+        }
+
+    }
+
+    /**
+     * Sets up a game of the endgame with a fixed seed, so every run solves
+     * the same deal.
+     */
+    @Setup
+    public void setUp() {
+        String[] sizes = endgame.split("x");
+        PlayerFactory[] strategies = new PlayerFactory[Integer.parseInt(sizes[0])];
+        Arrays.fill(strategies, (PlayerFactory) EndgameComp::new);
+        game = HeadlessGame.setUp(new GameConfig("poker", Integer.parseInt(sizes[1]), Arrays.asList(strategies)), 1);
+        game.setNextAttributeMaker(game.getPlayers().get(0));
+        solver = new EndgameSolver();
+    }
+
+    /**
+     * Solves the endgame from an empty table.
+     *
+     * @param counter the count of the positions
+     * @return the result
+     */
+    @Benchmark
+    public EndgameResult solveCold(Positions counter) {
+        solver.getTable().clear();
+        EndgameResult result = solver.solve(game);
+        counter.positions += result.getPositions();
+        return result;
+    }
+
+    /**
+     * Solves the endgame with the results of the last solves kept.
+     *
+     * @return the result
+     */
+    @Benchmark
+    public EndgameResult solveWarm() {
+        return solver.solve(game);
+    }
+
+}
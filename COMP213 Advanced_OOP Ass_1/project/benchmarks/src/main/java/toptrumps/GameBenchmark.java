@@ -0,0 +1,109 @@
+package toptrumps;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The GameBenchmark class measures dealing the cards and playing whole rounds
+ * of a game. rewoundRound() plays the rounds of one deal again and again, so
+ * with the gc profiler its allocation per round should be 0 bytes.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"10", "100"})
+    private int cardsNumber;
+
+    private Game dealer;
+    private Game game;
+    private Game rewound;
+    private GameSnapshot start;
+
+    /**
+     * Sets up the games to deal and to play.
+     */
+    @Setup
+    public void setUp() {
+        dealer = new Game(HeadlessGame.SILENT, new NoOpGameListener());
+        game = newTable();
+        rewound = Tables.newTable("poker", cardsNumber,
+                SmartComp::new, RandomComp::new, PredictableComp::new, CountingComp::new);
+        start = rewound.snapshot();
+    }
+
+    /**
+     * Returns a new game of four computer players.
+     *
+     * @return the game set up
+     */
+    private Game newTable() {
+        return Tables.newTable("poker", cardsNumber,
+                SmartComp::new, RandomComp::new, PredictableComp::new, SmartComp::new);
+    }
+
+    /**
+     * Deals the cards of one player into a new deck.
+     *
+     * @return the cards dealt
+     */
+    @Benchmark
+    public Hand deal() {
+        dealer.reset();
+        dealer.setDeckType("poker");
+        dealer.setDecidedCardsNumber(cardsNumber);
+        return dealer.deal();
+    }
+
+    /**
+     * Plays one round: the attribute is decided, the winner takes the top
+     * cards and the losers are removed. A new game is set up when the last
+     * one is over.
+     *
+     * @return the winner of the round
+     */
+    @Benchmark
+    public Player round() {
+        if (game.getPlayersNumber() == 1) {
+            game = newTable();
+        }
+        Player winner = game.getRoundWinner(game.decideAttribute());
+        game.increaseRound();
+        game.removeLoser();
+        return winner;
+    }
+
+    /**
+     * Plays one round by the attribute ordinals, rewinding the game to the
+     * same deal when it is over, which reuses the hands instead of setting up
+     * a new game.
+     *
+     * @return the number of the next round
+     */
+    @Benchmark
+    public int rewoundRound() {
+        if (rewound.getPlayersNumber() == 1) {
+            rewound.rewind(start);
+        }
+        rewound.startOneRoundRobin();
+        return rewound.getGameRound();
+    }
+
+}
@@ -0,0 +1,80 @@
+package toptrumps;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The PlayerBenchmark class measures comparing two players' top cards and a
+ * SmartComp selecting its attribute.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+    private Game game;
+    private Player first;
+    private Player second;
+    private SmartComp smart;
+    private String attributeName;
+    private int attributeIndex;
+
+    /**
+     * Sets up a game of two players.
+     */
+    @Setup
+    public void setUp() {
+        game = Tables.newTable("poker", 10, SmartComp::new, PredictableComp::new);
+        first = game.getPlayers().get(0);
+        second = game.getPlayers().get(1);
+        smart = (SmartComp) first;
+        attributeName = "Attribute_2";
+        attributeIndex = 1;
+    }
+
+    /**
+     * Compares the top cards by the attribute name.
+     *
+     * @return the player with bigger value
+     */
+    @Benchmark
+    public Player hasBiggerValueByName() {
+        return Player.hasBiggerValue(game, first, second, attributeName);
+    }
+
+    /**
+     * Compares the top cards by the attribute index.
+     *
+     * @return the player with bigger value
+     */
+    @Benchmark
+    public Player hasBiggerValueByIndex() {
+        return Player.hasBiggerValue(game, first, second, attributeIndex);
+    }
+
+    /**
+     * Selects the attribute with highest value on the top card.
+     *
+     * @return the attribute selected
+     */
+    @Benchmark
+    public String smartSelectAttribute() {
+        return smart.selectAttribute();
+    }
+
+}
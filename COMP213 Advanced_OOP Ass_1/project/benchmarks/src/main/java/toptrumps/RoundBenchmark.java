@@ -0,0 +1,64 @@
+package toptrumps;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The RoundBenchmark class measures finding the winner of a round over a
+ * table: the pairwise Player.hasBiggerValue loop, the RoundResolver reading
+ * the top cards, and the scalar argmax over the column of top values.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+
+    /**
+     * Compares the players one pair at a time.
+     *
+     * @param table the table of players
+     * @return the winner
+     */
+    @Benchmark
+    public Player hasBiggerValueLoop(RoundTable table) {
+        Player winner = table.seats[0];
+        for (int i = 1; i < table.playersNumber; i++) {
+            winner = Player.hasBiggerValue(table.game, winner, table.seats[i], table.attributeIndex);
+        }
+        return winner;
+    }
+
+    /**
+     * Reads the top values into the column and finds the first highest one.
+     *
+     * @param table the table of players
+     * @return the seat of the winner
+     */
+    @Benchmark
+    public int resolverFindWinner(RoundTable table) {
+        return table.resolver.findWinner(table.seats, table.playersNumber, table.attributeIndex);
+    }
+
+    /**
+     * Finds the first highest value of the column by the scalar kernel.
+     *
+     * @param table the table of players
+     * @return the seat of the winner
+     */
+    @Benchmark
+    public int scalarArgmax(RoundTable table) {
+        return RoundResolver.argmax(table.column, 0, table.playersNumber);
+    }
+
+}
@@ -0,0 +1,45 @@
+package toptrumps;
+
+import java.util.Arrays;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The RoundTable class is the state of the round benchmarks: a game of the
+ * number of SmartComp players with one card each, their seats, and the column
+ * of their top values of the first attribute.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+public class RoundTable {
+
+    @Param({"8", "100", "1000", "10000"})
+    int playersNumber;
+
+    Game game;
+    Player[] seats;
+    int[] column;
+    RoundResolver resolver;
+    final int attributeIndex = 0;
+
+    /**
+     * Sets up the table.
+     */
+    @Setup
+    public void setUp() {
+        PlayerFactory[] strategies = new PlayerFactory[playersNumber];
+        Arrays.fill(strategies, (PlayerFactory) SmartComp::new);
+        game = Tables.newTable("poker", 1, strategies);
+        seats = game.getPlayers().toArray(new Player[0]);
+        column = new int[playersNumber];
+        for (int i = 0; i < playersNumber; i++) {
+            column[i] = seats[i].getTopValue(attributeIndex);
+        }
+        resolver = new RoundResolver();
+    }
+
+}
@@ -0,0 +1,30 @@
+package toptrumps;
+
+import java.util.Arrays;
+
+/**
+ * The Tables class sets up the games used by the benchmarks.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+final class Tables {
+
+    private Tables() {
+    }
+
+    /**
+     * Returns a silent game of the players, ready to play its 1st round.
+     *
+     * @param deckType the deck type, "poker" or "uno"
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players
+     * @return the game set up
+     */
+    static Game newTable(String deckType, int cardsNumber, PlayerFactory... strategies) {
+        Game game = HeadlessGame.setUp(new GameConfig(deckType, cardsNumber, Arrays.asList(strategies)));
+        game.setNextAttributeMaker(game.getPlayers().get(0));
+        return game;
+    }
+
+}
@@ -0,0 +1,155 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The CatalogLoaderTest class parses CSV catalogs with quoted names, CRLF
+ * line ends and values at the ends of the range of an Integer.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class CatalogLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the text to a catalog file and loads it as CSV.
+     *
+     * @param text the text of the catalog
+     * @return the store of the cards
+     * @throws IOException if it is not a CSV catalog
+     */
+    private DeckStore loadCsv(String text) throws IOException {
+        Path file = directory.resolve("catalog.csv");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return CatalogLoader.loadCsv(file.toString());
+    }
+
+    @Test
+    public void quotedNamesKeepCommasAndQuotes() throws IOException {
+        DeckStore deck = loadCsv("name,\"Speed, top\",\"Size\"\n"
+                + "\"Car, \"\"Fast\"\" one\",1,2\n"
+                + "  Plain name  ,3,4\n"
+                + "\"\",5,6\n");
+
+        assertEquals(Arrays.asList("Speed, top", "Size"),
+                Arrays.asList(deck.getSchema().getName(0), deck.getSchema().getName(1)));
+        assertEquals(3, deck.size());
+        assertEquals("Car, \"Fast\" one", deck.getCardName(0));
+        assertEquals("Plain name", deck.getCardName(1));
+        assertEquals("", deck.getCardName(2));
+        assertEquals(6, deck.getValue(2, 1));
+    }
+
+    @Test
+    public void crlfLinesAreRead() throws IOException {
+        DeckStore deck = loadCsv("name,a,b\r\n# a comment\r\n\r\nOne,1,2\r\n\"Two\",3,4\r\nThree,5,6");
+
+        assertEquals(3, deck.size());
+        assertEquals("One", deck.getCardName(0));
+        assertEquals(2, deck.getValue(0, 1));
+        assertEquals("Two", deck.getCardName(1));
+        assertEquals(4, deck.getValue(1, 1));
+        assertEquals("Three", deck.getCardName(2));
+        assertEquals(6, deck.getValue(2, 1));
+    }
+
+    @Test
+    public void valuesAtTheEndsOfTheRangeAreRead() throws IOException {
+        DeckStore deck = loadCsv("name,low,high,signed\nEdge,-2147483648,2147483647,+7\n");
+
+        assertEquals(Integer.MIN_VALUE, deck.getValue(0, 0));
+        assertEquals(Integer.MAX_VALUE, deck.getValue(0, 1));
+        assertEquals(7, deck.getValue(0, 2));
+    }
+
+    @Test
+    public void valuesOutOfTheRangeAreRejected() {
+        assertThrows(IOException.class, () -> loadCsv("name,a\nLow,-2147483649\n"));
+        assertThrows(IOException.class, () -> loadCsv("name,a\nHigh,2147483648\n"));
+        assertThrows(IOException.class, () -> loadCsv("name,a\nHuge,99999999999999999999\n"));
+    }
+
+    @Test
+    public void brokenLinesAreRejectedWithTheirNumber() {
+        IOException fewer = assertThrows(IOException.class, () -> loadCsv("name,a,b\nOne,1\n"));
+        assertTrue(fewer.getMessage().startsWith("Line 2 "), fewer.getMessage());
+        IOException more = assertThrows(IOException.class, () -> loadCsv("name,a\r\nOne,1\r\nTwo,1,2\r\n"));
+        assertTrue(more.getMessage().startsWith("Line 3 "), more.getMessage());
+        assertThrows(IOException.class, () -> loadCsv("name,a\n\"Open,1\n"));
+        assertThrows(IOException.class, () -> loadCsv("name,a\nOne,x\n"));
+        assertThrows(IOException.class, () -> loadCsv("# only a comment\n"));
+    }
+
+    @Test
+    public void quotedLineBreaksStayInTheName() throws IOException {
+        DeckStore deck = loadCsv("name,a\n\"Two\nlines\",1\r\n\"Windows\r\nbreak, \"\"quoted\"\"\",2\n"
+                + "5\" disk,3\n# a \"comment,\nFour,4\n");
+
+        assertEquals(4, deck.size());
+        assertEquals("Two\nlines", deck.getCardName(0));
+        assertEquals("Windows\r\nbreak, \"quoted\"", deck.getCardName(1));
+        assertEquals(2, deck.getValue(1, 0));
+        assertEquals("5\" disk", deck.getCardName(2));
+        assertEquals("Four", deck.getCardName(3));
+        //the line numbers go on after the breaks in quotes
+        IOException error = assertThrows(IOException.class, () -> loadCsv("name,a\n\"One\nTwo\",1\nThree\n"));
+        assertTrue(error.getMessage().startsWith("Line 4 "), error.getMessage());
+    }
+
+    @Test
+    public void binaryCountsBeyondTheFileAreRejected() throws IOException {
+        DeckStore deck = new DeckStore(new AttributeSchema(Arrays.asList("a", "b")), 2);
+        deck.addCard("one", new int[] {1, 2});
+        Path file = directory.resolve("catalog.bin");
+        CatalogLoader.writeBinary(deck, file.toString());
+        byte[] bytes = Files.readAllBytes(file);
+
+        //the attributes number, then the cards number, after the magic number and version
+        for (int offset : new int[] {5, 9}) {
+            for (int number : new int[] {Integer.MAX_VALUE, 1 << 30, 1000}) {
+                byte[] changed = bytes.clone();
+                ByteBuffer.wrap(changed).putInt(offset, number);
+                Path broken = directory.resolve("broken.bin");
+                Files.write(broken, changed);
+                assertThrows(IOException.class, () -> CatalogLoader.loadBinary(broken.toString()));
+            }
+        }
+        assertEquals("one", CatalogLoader.loadBinary(file.toString()).getCardName(0));
+    }
+
+    @Test
+    public void writtenCatalogIsReadBack() throws IOException {
+        DeckStore deck = new DeckStore(new AttributeSchema(Arrays.asList("Top, speed", "Weight")), 4);
+        deck.addCard("#1 \"Quoted\"", new int[] {Integer.MIN_VALUE, 0});
+        deck.addCard(" spaced ", new int[] {-1, Integer.MAX_VALUE});
+        deck.addCard("plain", new int[] {42, 7});
+        deck.addCard("line\nbreak\r\nand more", new int[] {3, 4});
+        Path file = directory.resolve("written.csv");
+        CatalogLoader.writeCsv(deck, file.toString());
+
+        DeckStore read = CatalogLoader.loadCsv(file.toString());
+        assertEquals(deck.size(), read.size());
+        assertEquals("Top, speed", read.getSchema().getName(0));
+        for (int card = 0; card < deck.size(); card++) {
+            assertEquals(deck.getCardName(card), read.getCardName(card));
+            for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                assertEquals(deck.getValue(card, attribute), read.getValue(card, attribute));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The ColumnarExporterTest class writes games by a ColumnarExporter and reads
+ * them back by a ColumnarReader.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ColumnarExporterTest {
+
+    private static final String[] STRATEGIES = {"SmartComp", "RandomComp", "CountingComp", "EndgameComp"};
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Fills the record with the random game of the number: draws, games
+     * resumed from a later round and runs of the same attribute among them.
+     *
+     * @param record the record
+     * @param game the number of the game
+     * @param random the random stream
+     */
+    private static void randomGame(GameRecord record, int game, SplittableRandom random) {
+        int playersNumber = 2 + random.nextInt(4);
+        record.start(random.nextLong(), playersNumber);
+        for (int player = 0; player < playersNumber; player++) {
+            record.setStrategy(player, STRATEGIES[random.nextInt(STRATEGIES.length)]);
+        }
+        int firstRound = (game % 5 == 0) ? 1 + random.nextInt(20) : 1;
+        int rounds = random.nextInt(60);
+        int attribute = random.nextInt(6);
+        for (int i = 0; i < rounds; i++) {
+            if (random.nextInt(4) == 0) {
+                attribute = random.nextInt(6);
+            }
+            record.addRound(firstRound + i, random.nextInt(playersNumber), attribute,
+                    random.nextInt(playersNumber));
+        }
+        record.setWinner(random.nextInt(playersNumber + 1) - 1);
+    }
+
+    @Test
+    public void readerReturnsTheGamesWritten() throws IOException {
+        Path file = directory.resolve("games.ttc");
+        //more games than a block, so several blocks are written
+        int games = ColumnarExporter.BLOCK_GAMES * 2 + 17;
+        GameRecord record = new GameRecord();
+        SplittableRandom random = new SplittableRandom(1);
+        try (ColumnarExporter exporter = new ColumnarExporter(file)) {
+            for (int game = 0; game < games; game++) {
+                randomGame(record, game, random);
+                exporter.export(record);
+            }
+            assertEquals(games, exporter.getGamesNumber());
+        }
+
+        GameRecord expected = new GameRecord();
+        GameRecord read = new GameRecord();
+        SplittableRandom again = new SplittableRandom(1);
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            for (int game = 0; game < games; game++) {
+                randomGame(expected, game, again);
+                assertTrue(reader.next(read), "game " + game);
+                assertSameGame(expected, read);
+            }
+            assertFalse(reader.next(read));
+        }
+    }
+
+    @Test
+    public void emptyFileHasNoGame() throws IOException {
+        Path file = directory.resolve("empty.ttc");
+        new ColumnarExporter(file).close();
+        try (ColumnarReader reader = new ColumnarReader(file)) {
+            assertFalse(reader.next(new GameRecord()));
+        }
+    }
+
+    @Test
+    public void otherFileIsRejected() throws IOException {
+        Path file = directory.resolve("other.ttc");
+        Files.write(file, "game,seed,players\n".getBytes("UTF-8"));
+        assertThrows(IOException.class, () -> new ColumnarReader(file));
+    }
+
+    /**
+     * Checks that the record read is the one written.
+     *
+     * @param expected the record written
+     * @param read the record read
+     */
+    private static void assertSameGame(GameRecord expected, GameRecord read) {
+        assertEquals(expected.getSeed(), read.getSeed());
+        assertEquals(expected.getPlayersNumber(), read.getPlayersNumber());
+        for (int player = 0; player < expected.getPlayersNumber(); player++) {
+            assertEquals(expected.getStrategy(player), read.getStrategy(player));
+        }
+        assertEquals(expected.getWinner(), read.getWinner());
+        assertEquals(expected.getRoundsNumber(), read.getRoundsNumber());
+        for (int i = 0; i < expected.getRoundsNumber(); i++) {
+            assertEquals(expected.getRound(i), read.getRound(i));
+            assertEquals(expected.getDecider(i), read.getDecider(i));
+            assertEquals(expected.getAttribute(i), read.getAttribute(i));
+            assertEquals(expected.getRoundWinner(i), read.getRoundWinner(i));
+        }
+    }
+
+}
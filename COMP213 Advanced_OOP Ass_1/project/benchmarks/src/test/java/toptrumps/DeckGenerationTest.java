@@ -0,0 +1,110 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The DeckGenerationTest class plays the same seeds with a procedural deck
+ * kept whole and a lazy one made on access, which deal the same cards and so
+ * play the same games.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class DeckGenerationTest {
+
+    private static final int GAMES = 50;
+
+    /**
+     * Returns a game of the seed before its first round, of players reading
+     * the cards of either deck the same way.
+     *
+     * @param generation the generation of the deck
+     * @param seed the seed of the game
+     * @return the game
+     */
+    private static Game newGame(DeckGeneration generation, long seed) {
+        GameConfig config = new GameConfig("poker", generation, 12,
+                Arrays.asList((PlayerFactory) SmartComp::new, CountingComp::new, RandomComp::new),
+                GameConfig.DEFAULT_MAX_ROUNDS, RepetitionPolicy.DRAW);
+        return HeadlessGame.setUp(config, seed);
+    }
+
+    @Test
+    public void lazyDeckDealsTheSameCards() {
+        for (long seed = 1; seed <= GAMES; seed++) {
+            Game eager = newGame(DeckGeneration.PROCEDURAL, seed);
+            Game lazy = newGame(DeckGeneration.LAZY, seed);
+            assertFalse(eager.getDeck() instanceof ProceduralDeck);
+            assertTrue(lazy.getDeck() instanceof ProceduralDeck);
+            assertSameHands(eager, lazy, "seed " + seed);
+        }
+    }
+
+    @Test
+    public void lazyDeckIsCounted() {
+        for (long seed = 1; seed <= GAMES; seed++) {
+            CountingComp eager = (CountingComp) newGame(DeckGeneration.PROCEDURAL, seed).getPlayers().get(1);
+            CountingComp lazy = (CountingComp) newGame(DeckGeneration.LAZY, seed).getPlayers().get(1);
+            for (int attribute = 0; attribute < eager.getCards().getDeck().getAttributesNumber(); attribute++) {
+                assertEquals(eager.getWinProbability(attribute), lazy.getWinProbability(attribute),
+                        "seed " + seed);
+            }
+            assertEquals(eager.selectAttributeIndex(), lazy.selectAttributeIndex(), "seed " + seed);
+        }
+    }
+
+    @Test
+    public void lazyDeckPlaysTheSameGames() {
+        for (long seed = 1; seed <= GAMES; seed++) {
+            Game eager = newGame(DeckGeneration.PROCEDURAL, seed);
+            Game lazy = newGame(DeckGeneration.LAZY, seed);
+            //one round at a time, until a winner or nothing more is played
+            for (int round = 1; round <= GameConfig.DEFAULT_MAX_ROUNDS; round++) {
+                boolean won = eager.playRounds(round);
+                assertEquals(won, lazy.playRounds(round), "seed " + seed);
+                assertEquals(eager.getGameRound(), lazy.getGameRound(), "seed " + seed);
+                assertSameHands(eager, lazy, "seed " + seed + ", round " + round);
+                if (won || eager.getGameRound() <= round) {
+                    break;
+                }
+            }
+            assertEquals(eager.getPlayers().indexOf(eager.getWinner()),
+                    lazy.getPlayers().indexOf(lazy.getWinner()), "seed " + seed);
+        }
+    }
+
+    /**
+     * Checks that every seat of both games holds the same cards in order, by
+     * name and values.
+     *
+     * @param eager the game of the deck kept whole
+     * @param lazy the game of the lazy deck
+     * @param message the message of a failure
+     */
+    private static void assertSameHands(Game eager, Game lazy, String message) {
+        CardSource eagerDeck = eager.getDeck();
+        CardSource lazyDeck = lazy.getDeck();
+        assertEquals(eagerDeck.size(), lazyDeck.size(), message);
+        assertEquals(eager.getPlayers().size(), lazy.getPlayers().size(), message);
+        for (int seat = 0; seat < eager.getPlayers().size(); seat++) {
+            Player eagerPlayer = eager.getPlayers().get(seat);
+            Player lazyPlayer = lazy.getPlayers().get(seat);
+            assertEquals(eagerPlayer.getCardsNumber(), lazyPlayer.getCardsNumber(), message);
+            for (int i = 0; i < eagerPlayer.getCardsNumber(); i++) {
+                int eagerCard = eagerPlayer.getCards().get(i);
+                int lazyCard = lazyPlayer.getCards().get(i);
+                assertEquals(eagerDeck.getCardName(eagerCard), lazyDeck.getCardName(lazyCard), message);
+                for (int attribute = 0; attribute < eagerDeck.getAttributesNumber(); attribute++) {
+                    assertEquals(eagerDeck.getValue(eagerCard, attribute),
+                            lazyDeck.getValue(lazyCard, attribute), message);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,279 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * The EndgameSolverTest class checks the EndgameSolver against a brute force
+ * search of the 2x2 and 3x2 endgames, which plays every line of the game and keeps
+ * its positions, so a repetition is decided by the policy where it happens.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class EndgameSolverTest {
+
+    private static final int DEALS = 100;
+
+    /**
+     * the round limits checked, Integer.MAX_VALUE for none
+     */
+    private static final int[] ROUND_LIMITS = {Integer.MAX_VALUE, 1, 2, 3, 4, 6};
+
+    /**
+     * The BruteForce class finds the result of a line by trying every
+     * attribute of every round, a win before a draw before a loss.
+     */
+    private static class BruteForce {
+
+        private final CardSource deck;
+        private final RepetitionPolicy policy;
+        private final Set<String> seen = new HashSet<>();
+
+        BruteForce(CardSource deck, RepetitionPolicy policy) {
+            this.deck = deck;
+            this.policy = policy;
+        }
+
+        /**
+         * Returns the result after the attribute is played from the
+         * position, the winner's seat plus 1 or 0 for a draw.
+         *
+         * @param hands the cards of each seat from the top
+         * @param attribute the attribute played
+         * @param roundsLeft the rounds the game may still play, this one
+         * included
+         * @return the result
+         */
+        int afterRound(List<List<Integer>> hands, int attribute, int roundsLeft) {
+            List<List<Integer>> next = new ArrayList<>();
+            return afterRound(hands, next, playRound(hands, attribute, next), roundsLeft);
+        }
+
+        /**
+         * Plays the round of the attribute into the next position: the first
+         * highest value wins, the leader so far losing to a higher value and
+         * any other player to the leader, and the winner puts the cards lost
+         * in that order, then its own, under its cards.
+         *
+         * @param hands the cards of each seat from the top
+         * @param attribute the attribute played
+         * @param next the list to fill with the cards after the round
+         * @return the seat of the winner
+         */
+        int playRound(List<List<Integer>> hands, int attribute, List<List<Integer>> next) {
+            int winner = -1;
+            List<Integer> lost = new ArrayList<>();
+            for (int seat = 0; seat < hands.size(); seat++) {
+                List<Integer> hand = hands.get(seat);
+                next.add(new ArrayList<>(hand.isEmpty() ? hand : hand.subList(1, hand.size())));
+                if (hand.isEmpty()) {
+                    continue;
+                }
+                if (winner >= 0 && deck.getValue(hand.get(0), attribute)
+                        <= deck.getValue(hands.get(winner).get(0), attribute)) {
+                    lost.add(hand.get(0));
+                } else {
+                    if (winner >= 0) {
+                        lost.add(hands.get(winner).get(0));
+                    }
+                    winner = seat;
+                }
+            }
+            lost.add(hands.get(winner).get(0));
+            next.get(winner).addAll(lost);
+            return winner;
+        }
+
+        /**
+         * Returns the result after the seat wins the round into the next
+         * position.
+         */
+        int afterRound(List<List<Integer>> hands, List<List<Integer>> next, int winner, int roundsLeft) {
+            if (next.get(winner).size() == deckSize(hands)) {
+                return winner + 1;
+            }
+
+            String position = next + "/" + winner;
+            boolean repeated = !seen.add(position);
+            if (repeated) {
+                if (policy == RepetitionPolicy.MOST_CARDS) {
+                    return mostCards(next) + 1;
+                }
+                if (policy == RepetitionPolicy.DRAW || roundsLeft == Integer.MAX_VALUE) {
+                    //under IGNORE without a limit the cycle goes on forever
+                    return 0;
+                }
+            }
+            int result = (roundsLeft > 1)
+                    ? best(next, winner, roundsLeft == Integer.MAX_VALUE ? roundsLeft : roundsLeft - 1) : 0;
+            if (!repeated) {
+                seen.remove(position);
+            }
+            return result;
+        }
+
+        /**
+         * Returns the best result of the decider from the position.
+         */
+        int best(List<List<Integer>> hands, int decider, int roundsLeft) {
+            int best = -1;
+            //attributes of the same next position lead to the same result
+            Set<List<List<Integer>>> tried = new HashSet<>();
+            for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                List<List<Integer>> next = new ArrayList<>();
+                int winner = playRound(hands, attribute, next);
+                if (!tried.add(next)) {
+                    continue;
+                }
+                int result = afterRound(hands, next, winner, roundsLeft);
+                if (best < 0 || rank(result, decider) > rank(best, decider)) {
+                    best = result;
+                }
+            }
+            return best;
+        }
+
+        private static int rank(int result, int seat) {
+            return result == seat + 1 ? 2 : result == 0 ? 1 : 0;
+        }
+
+        private static int deckSize(List<List<Integer>> hands) {
+            int size = 0;
+            for (List<Integer> hand : hands) {
+                size += hand.size();
+            }
+            return size;
+        }
+
+        private static int mostCards(List<List<Integer>> hands) {
+            int most = 0;
+            for (int seat = 1; seat < hands.size(); seat++) {
+                if (hands.get(seat).size() > hands.get(most).size()) {
+                    most = seat;
+                }
+            }
+            return most;
+        }
+    }
+
+    /**
+     * Returns an endgame of the deal, the first player to decide.
+     *
+     * @param seed the seed of the deal
+     * @param policy the repetition policy
+     * @param playersNumber the number of players
+     * @param cardsNumber the number of cards of each player
+     * @return the game
+     */
+    private static Game endgame(long seed, RepetitionPolicy policy, int playersNumber, int cardsNumber) {
+        List<PlayerFactory> strategies = new ArrayList<>();
+        for (int i = 0; i < playersNumber; i++) {
+            strategies.add(SmartComp::new);
+        }
+        GameConfig config = new GameConfig("poker", cardsNumber, strategies, GameConfig.DEFAULT_MAX_ROUNDS, policy);
+        Game game = HeadlessGame.setUp(config, seed);
+        game.setNextAttributeMaker(game.getPlayers().get(0));
+        return game;
+    }
+
+    /**
+     * Sets the number of rounds the game has left without playing it, by
+     * rewinding it after the rounds.
+     *
+     * @param game the game before its first round
+     * @param roundsLeft the rounds left
+     */
+    private static void limitRounds(Game game, int roundsLeft) {
+        GameSnapshot start = game.snapshot();
+        game.playRounds(roundsLeft);
+        game.restore(start);
+        assertEquals(roundsLeft, game.getRoundsLeft());
+    }
+
+    /**
+     * Checks the result of every attribute of the first round of the deals
+     * against the brute force search.
+     *
+     * @param policy the repetition policy
+     * @param playersNumber the number of players
+     * @param cardsNumber the number of cards of each player
+     * @param roundLimits the round limits checked, Integer.MAX_VALUE for none
+     * @param deals the number of deals
+     */
+    private static void assertSolvedDeals(RepetitionPolicy policy, int playersNumber, int cardsNumber,
+            int[] roundLimits, int deals) {
+        for (int roundsLeft : roundLimits) {
+            EndgameSolver solver = new EndgameSolver();
+            for (long seed = 1; seed <= deals; seed++) {
+                Game game = endgame(seed, policy, playersNumber, cardsNumber);
+                List<List<Integer>> hands = new ArrayList<>();
+                for (Player player : game.getPlayers()) {
+                    List<Integer> hand = new ArrayList<>();
+                    for (int i = 0; i < player.getCardsNumber(); i++) {
+                        hand.add(player.getCards().get(i));
+                    }
+                    hands.add(hand);
+                }
+                if (roundsLeft != Integer.MAX_VALUE) {
+                    limitRounds(game, roundsLeft);
+                }
+                EndgameResult result = solver.solve(game);
+
+                BruteForce bruteForce = new BruteForce(game.getDeck(), policy);
+                bruteForce.seen.add(hands + "/" + 0);
+                for (int attribute = 0; attribute < result.getAttributesNumber(); attribute++) {
+                    int expected = bruteForce.afterRound(hands, attribute, roundsLeft);
+                    Player winner = result.getWinner(attribute);
+                    int actual = (winner == null) ? 0 : game.getPlayers().indexOf(winner) + 1;
+                    assertEquals(expected, actual,
+                            "deal " + seed + ", attribute " + attribute + ", rounds left " + roundsLeft);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RepetitionPolicy.class)
+    public void solverAgreesWithBruteForce(RepetitionPolicy policy) {
+        assertSolvedDeals(policy, 2, 2, ROUND_LIMITS, DEALS);
+    }
+
+    /**
+     * Three players, where the order of the cards lost in a round matters.
+     */
+    @ParameterizedTest
+    @EnumSource(RepetitionPolicy.class)
+    public void solverAgreesWithBruteForceOfThreePlayers(RepetitionPolicy policy) {
+        assertSolvedDeals(policy, 3, 2, new int[] {2, 3, 4, 5}, DEALS / 4);
+    }
+
+    @Test
+    public void handsMustFitThePlayers() {
+        Game game = endgame(1, RepetitionPolicy.DRAW, 2, 2);
+        EndgameSolver solver = new EndgameSolver();
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(game, new int[][] {{0, 1}}));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(game, new int[][] {{0, 1, 2}, {3}}));
+    }
+
+    @Test
+    public void endgameCompSolvesItsHiddenDeals() {
+        GameConfig config = new GameConfig("poker", 3,
+                Arrays.asList((PlayerFactory) EndgameComp::new, SmartComp::new));
+        Game game = HeadlessGame.setUp(config, 5);
+        EndgameComp player = (EndgameComp) game.getPlayers().get(0);
+        game.setNextAttributeMaker(player);
+        player.selectAttributeIndex();
+        assertEquals(EndgameComp.DEFAULT_DEALS, player.getLastDeals());
+    }
+
+}
@@ -0,0 +1,102 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * The GameSnapshotTest class writes snapshots of games of every deck
+ * generation to checkpoints and reads them back.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class GameSnapshotTest {
+
+    /**
+     * Returns a game of three SmartComps after a few rounds.
+     *
+     * @param generation the generation of the deck
+     * @return the game
+     */
+    private static Game playedGame(DeckGeneration generation) {
+        GameConfig config = new GameConfig("poker", generation, 20,
+                Arrays.asList((PlayerFactory) SmartComp::new, SmartComp::new, SmartComp::new),
+                GameConfig.DEFAULT_MAX_ROUNDS, RepetitionPolicy.DRAW);
+        Game game = HeadlessGame.setUp(config, 7);
+        game.playRounds(5);
+        return game;
+    }
+
+    /**
+     * Returns the snapshot written to a checkpoint and read back.
+     *
+     * @param snapshot the snapshot
+     * @return the snapshot read
+     * @throws IOException if the checkpoint cannot be written or read
+     */
+    private static GameSnapshot roundTrip(GameSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        snapshot.writeTo(output);
+        return GameSnapshot.readFrom(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeckGeneration.class)
+    public void checkpointKeepsTheState(DeckGeneration generation) throws IOException {
+        GameSnapshot snapshot = playedGame(generation).snapshot();
+        GameSnapshot read = roundTrip(snapshot);
+
+        assertEquals(snapshot.getSeatsNumber(), read.getSeatsNumber());
+        assertEquals(snapshot.getNextMakerSeat(), read.getNextMakerSeat());
+        assertEquals(snapshot.getGameRound(), read.getGameRound());
+        assertEquals(snapshot.getHumanNumber(), read.getHumanNumber());
+        assertEquals(snapshot.getComputersNumber(), read.getComputersNumber());
+        assertEquals(snapshot.getDeck().getClass(), read.getDeck().getClass());
+        CardSource deck = snapshot.getDeck();
+        CardSource readDeck = read.getDeck();
+        assertEquals(deck.getAttributesNumber(), readDeck.getAttributesNumber());
+        for (int seat = 0; seat < snapshot.getSeatsNumber(); seat++) {
+            assertEquals(snapshot.isActive(seat), read.isActive(seat));
+            Hand hand = snapshot.getHand(seat);
+            Hand readHand = read.getHand(seat);
+            assertEquals(hand.size(), readHand.size());
+            for (int i = 0; i < hand.size(); i++) {
+                for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                    assertEquals(deck.getValue(hand.get(i), attribute),
+                            readDeck.getValue(readHand.get(i), attribute));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DeckGeneration.class)
+    public void restoredCheckpointPlaysTheSameRest(DeckGeneration generation) throws IOException {
+        Game game = playedGame(generation);
+        GameSnapshot snapshot = game.snapshot();
+        GameSnapshot read = roundTrip(snapshot);
+        boolean won = game.playRounds(GameConfig.DEFAULT_MAX_ROUNDS);
+        Player winner = game.getWinner();
+        int rounds = game.getGameRound();
+
+        game.restore(read);
+        assertEquals(won, game.playRounds(GameConfig.DEFAULT_MAX_ROUNDS));
+        assertEquals(winner, game.getWinner());
+        assertEquals(rounds, game.getGameRound());
+    }
+
+    @Test
+    public void badCheckpointIsRejected() {
+        byte[] bytes = {1, 2, 3, 4, 5, 6, 7, 8};
+        assertThrows(IOException.class, () -> GameSnapshot.readFrom(new ByteArrayInputStream(bytes)));
+    }
+
+}
@@ -0,0 +1,79 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The MctsCompTest class plays the MctsComp against the other computer
+ * players, and checks that its decisions keep to the time budget.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class MctsCompTest {
+
+    private static final int GAMES = 150;
+
+    private static final long BUDGET_NANOS = 1_000_000L;
+
+    /**
+     * Returns the win rate of the first strategy against a CountingComp and
+     * a SmartComp, over the same seeds whatever the strategy, the seats
+     * rotating.
+     *
+     * @param first the strategy of the first player
+     * @return the win rate of the first strategy
+     */
+    private static double winRate(PlayerFactory first) {
+        GameConfig config = new GameConfig("poker", 12, Arrays.asList(first,
+                PlayerFactory.of(CountingComp.class, CountingComp::new),
+                PlayerFactory.of(SmartComp.class, SmartComp::new)));
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            return new Tournament(config, GAMES, true, 42).run(pool).getWinRate(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void winsMoreThanSmartComp() {
+        double smart = winRate(PlayerFactory.of(SmartComp.class, SmartComp::new));
+        double mcts = winRate(PlayerFactory.of(MctsComp.class,
+                (name, cards) -> new MctsComp(name, cards, BUDGET_NANOS, 1)));
+        assertTrue(mcts > smart + 0.1, "MctsComp " + mcts + ", SmartComp " + smart);
+    }
+
+    @Test
+    public void searcherNotStartedIsLeftOut() throws InterruptedException {
+        ExecutorService busy = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            //the only thread of the executor is busy until the end of the test
+            busy.submit(() -> {
+                release.await();
+                return null;
+            });
+            GameConfig config = new GameConfig("poker", 6,
+                    Arrays.asList((PlayerFactory) (name, cards) -> new MctsComp(name, cards, BUDGET_NANOS, 2, busy),
+                            SmartComp::new));
+            Game game = HeadlessGame.setUp(config, 1);
+            MctsComp player = (MctsComp) game.getPlayers().get(0);
+            game.setNextAttributeMaker(player);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), player::selectAttributeIndex);
+            assertTrue(player.getLastRollouts() > 0);
+        } finally {
+            release.countDown();
+            busy.shutdown();
+        }
+    }
+
+}
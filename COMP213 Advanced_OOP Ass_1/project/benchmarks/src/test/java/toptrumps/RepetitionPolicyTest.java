@@ -0,0 +1,56 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The RepetitionPolicyTest class checks that a game applies its repetition
+ * policy only while every player selects by the position alone.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class RepetitionPolicyTest {
+
+    /**
+     * Returns a game of the players, set up with the policy.
+     *
+     * @param policy the repetition policy
+     * @param strategies the strategies of the players
+     * @return the game
+     */
+    private static Game newGame(RepetitionPolicy policy, PlayerFactory... strategies) {
+        GameConfig config = new GameConfig("poker", 6, Arrays.asList(strategies),
+                GameConfig.DEFAULT_MAX_ROUNDS, policy);
+        return HeadlessGame.setUp(config, 1);
+    }
+
+    @Test
+    public void defaultPolicyIgnoresRepetitions() {
+        assertEquals(RepetitionPolicy.IGNORE, GameConfig.DEFAULT_REPETITION_POLICY);
+        GameConfig config = new GameConfig("poker", 6,
+                Arrays.asList((PlayerFactory) SmartComp::new, SmartComp::new));
+        assertEquals(RepetitionPolicy.IGNORE, HeadlessGame.setUp(config, 1).getAppliedRepetitionPolicy());
+    }
+
+    @Test
+    public void policyIsAppliedToPositionalPlayers() {
+        Game game = newGame(RepetitionPolicy.DRAW, SmartComp::new, CountingComp::new, PredictableComp::new);
+        assertEquals(RepetitionPolicy.DRAW, game.getAppliedRepetitionPolicy());
+    }
+
+    @Test
+    public void policyIsIgnoredWithAnotherPlayer() {
+        for (PlayerFactory other : new PlayerFactory[] {RandomComp::new, MctsComp::new, EndgameComp::new}) {
+            Game game = newGame(RepetitionPolicy.MOST_CARDS, SmartComp::new, other);
+            assertEquals(RepetitionPolicy.IGNORE, game.getAppliedRepetitionPolicy());
+        }
+        Game game = newGame(RepetitionPolicy.DRAW, SmartComp::new, RandomComp::new);
+        game.playRounds(GameConfig.DEFAULT_MAX_ROUNDS);
+        assertFalse(game.isRepeated());
+    }
+
+}
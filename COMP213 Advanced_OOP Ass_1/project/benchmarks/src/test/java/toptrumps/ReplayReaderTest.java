@@ -0,0 +1,216 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The ReplayReaderTest class records games by a ReplayRecorder and seeks
+ * their rounds by a ReplayReader, also in games resumed from a later round
+ * and in a log left by a crash.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ReplayReaderTest {
+
+    private static final int SLOTS = 4;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Records the games of the seeds, played by three SmartComps.
+     *
+     * @param recorder the recorder
+     * @param seeds the seeds of the games
+     */
+    private static void recordGames(ReplayRecorder recorder, long... seeds) {
+        GameConfig config = new GameConfig("poker", 8,
+                Arrays.asList((PlayerFactory) SmartComp::new, SmartComp::new, SmartComp::new));
+        for (long seed : seeds) {
+            HeadlessGame.play(config, seed, recorder);
+        }
+    }
+
+    /**
+     * Records a game of two players with only the rounds given, as the events
+     * of a game resumed from a snapshot.
+     *
+     * @param recorder the recorder
+     * @param rounds the numbers of the rounds, in order
+     */
+    private static void recordRounds(ReplayRecorder recorder, int... rounds) {
+        DeckStore deck = new DeckStore(2);
+        deck.addCard("low", new int[] {1, 2});
+        deck.addCard("high", new int[] {3, 4});
+        Player[] players = {new SmartComp("1", new Hand(deck)), new SmartComp("2", new Hand(deck))};
+        recorder.gameStarted("test", players, new int[] {1, 1}, 2);
+        for (int round : rounds) {
+            recorder.roundStarted(round);
+            recorder.attributeDecided(players[round % 2], 1);
+            recorder.topCardsRevealed(players, new int[] {0, 1}, 2, deck);
+            recorder.roundWon(players[1], players, new int[] {0, 2}, 2);
+        }
+    }
+
+    /**
+     * Returns the rounds of the game in the log in order.
+     *
+     * @param reader the reader of the log
+     * @param gameNumber the number of the game
+     * @return the numbers of the rounds
+     */
+    private static List<Integer> roundsOf(ReplayReader reader, int gameNumber) {
+        List<Integer> rounds = new ArrayList<>();
+        reader.replay(gameNumber, record -> rounds.add(record.getRound()));
+        return rounds;
+    }
+
+    @Test
+    public void everyRoundIsFound() throws IOException {
+        Path file = directory.resolve("games.ttr");
+        try (ReplayRecorder recorder = new ReplayRecorder(file, SLOTS)) {
+            recordGames(recorder, 1, 2, 3, 4);
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            ReplayRecord record = reader.newRecord();
+            long records = 0;
+            for (int game = 0; game < 4; game++) {
+                List<Integer> rounds = roundsOf(reader, game);
+                assertTrue(rounds.size() > 0);
+                for (int round = 1; round <= rounds.size(); round++) {
+                    long index = reader.seek(game, round);
+                    assertEquals(records + round - 1, index);
+                    reader.read(index, record);
+                    assertEquals(game, record.getGameNumber());
+                    assertEquals(round, record.getRound());
+                }
+                assertEquals(-1, reader.seek(game, 0));
+                assertEquals(-1, reader.seek(game, rounds.size() + 1));
+                records += rounds.size();
+            }
+            assertEquals(records, reader.getRecordsNumber());
+            assertEquals(-1, reader.seek(4, 1));
+            assertEquals(-1, reader.seek(-1, 1));
+        }
+    }
+
+    @Test
+    public void widestRecordsAreWritten() throws IOException {
+        Path file = directory.resolve("wide.ttr");
+        //a region of 1 << 16 such records would be more than 2 GB
+        try (ReplayRecorder recorder = new ReplayRecorder(file, Short.MAX_VALUE)) {
+            recordGames(recorder, 1);
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(Short.MAX_VALUE, reader.getSlots());
+            List<Integer> rounds = roundsOf(reader, 0);
+            assertEquals(rounds.size(), reader.getRecordsNumber());
+            ReplayRecord record = reader.readRound(0, rounds.size(), reader.newRecord());
+            assertEquals(rounds.size(), record.getRound());
+        }
+    }
+
+    @Test
+    public void resumedGameIsFoundFromItsFirstRound() throws IOException {
+        Path file = directory.resolve("resumed.ttr");
+        try (ReplayRecorder recorder = new ReplayRecorder(file, SLOTS)) {
+            recordGames(recorder, 1);
+            //resumed at round 6, with rounds missing after it
+            recordRounds(recorder, 6, 7, 8, 9, 12, 13, 20);
+            recordGames(recorder, 2);
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(Arrays.asList(6, 7, 8, 9, 12, 13, 20), roundsOf(reader, 1));
+            ReplayRecord record = reader.newRecord();
+            for (int round : new int[] {6, 9, 12, 13, 20}) {
+                assertEquals(round, reader.readRound(1, round, record).getRound());
+                assertEquals(1, record.getGameNumber());
+            }
+            for (int round : new int[] {1, 5, 10, 11, 14, 21}) {
+                assertNull(reader.readRound(1, round, record));
+            }
+            assertEquals(1, reader.readRound(2, 1, record).getRound());
+            assertEquals(2, record.getGameNumber());
+        }
+    }
+
+    @Test
+    public void negativeValuesAreNotPlayersOut() throws IOException {
+        Path file = directory.resolve("negative.ttr");
+        DeckStore deck = new DeckStore(1);
+        deck.addCard("minus one", new int[] {-1});
+        deck.addCard("lowest", new int[] {Integer.MIN_VALUE});
+        deck.addCard("zero", new int[] {0});
+        Player[] players = {new SmartComp("1", new Hand(deck)), new SmartComp("2", new Hand(deck)),
+            new SmartComp("3", new Hand(deck))};
+        try (ReplayRecorder recorder = new ReplayRecorder(file, SLOTS)) {
+            recorder.gameStarted("test", players, new int[] {1, 1, 1}, 3);
+            recorder.roundStarted(1);
+            recorder.attributeDecided(players[0], 0);
+            //the second player is out of the game
+            Player[] inRound = {players[0], players[2]};
+            recorder.topCardsRevealed(inRound, new int[] {0, 1}, 2, deck);
+            recorder.roundWon(players[0], inRound, new int[] {2, 0}, 2);
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            ReplayRecord record = reader.readRound(0, 1, reader.newRecord());
+            assertTrue(record.isPlaying(0));
+            assertEquals(-1, record.getValue(0));
+            assertFalse(record.isPlaying(1));
+            assertTrue(record.isPlaying(2));
+            assertEquals(Integer.MIN_VALUE, record.getValue(2));
+            for (int slot = 3; slot < SLOTS; slot++) {
+                assertFalse(record.isPlaying(slot));
+            }
+            assertTrue(record.toString().contains("Player 1=-1 Player 3=" + Integer.MIN_VALUE + ","),
+                    record.toString());
+        }
+    }
+
+    @Test
+    public void crashedLogIsContinued() throws IOException {
+        Path file = directory.resolve("crashed.ttr");
+        long written;
+        try (ReplayRecorder recorder = new ReplayRecorder(file, SLOTS)) {
+            recordGames(recorder, 1, 2);
+            written = recorder.getRecordsNumber();
+        }
+        //a crash leaves the rest of the mapped region as zeros
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4096), channel.size());
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(written, reader.getRecordsNumber());
+        }
+        try (ReplayRecorder recorder = new ReplayRecorder(file, SLOTS)) {
+            assertEquals(written, recorder.getRecordsNumber());
+            recordGames(recorder, 3);
+        }
+        try (ReplayReader reader = new ReplayReader(file)) {
+            List<Integer> rounds = roundsOf(reader, 2);
+            assertTrue(rounds.size() > 0);
+            assertEquals(written + rounds.size(), reader.getRecordsNumber());
+            assertEquals(written, reader.seek(2, 1));
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The RoundResolverTest class resolves rounds of players holding known cards,
+ * and checks the winner and the order of the cards it collects.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class RoundResolverTest {
+
+    /**
+     * Returns players of one attribute, each holding a top card of the value
+     * given and a second card, the cards numbered by seat: 2 * seat on top.
+     *
+     * @param values the values of the top cards by seat
+     * @return the players
+     */
+    private static Player[] players(int... values) {
+        DeckStore deck = new DeckStore(1, values.length * 2);
+        for (int seat = 0; seat < values.length; seat++) {
+            deck.addCard("top" + seat, new int[] {values[seat]});
+            deck.addCard("second" + seat, new int[] {0});
+        }
+        Player[] players = new Player[values.length];
+        for (int seat = 0; seat < values.length; seat++) {
+            Hand hand = new Hand(deck);
+            hand.offerLast(2 * seat);
+            hand.offerLast(2 * seat + 1);
+            players[seat] = new SmartComp(Integer.toString(seat), hand);
+        }
+        return players;
+    }
+
+    /**
+     * Resolves the round and returns the cards of the winner after it.
+     *
+     * @param players the players
+     * @param winner the seat expected to win
+     * @return the cards of the winner, from the top
+     */
+    private static List<Integer> playRound(Player[] players, int winner) {
+        RoundResolver resolver = new RoundResolver();
+        assertEquals(winner, resolver.findWinner(players, players.length, 0));
+        resolver.collect(players, players.length, winner);
+        Hand hand = players[winner].getCards();
+        List<Integer> cards = new ArrayList<>();
+        for (int i = 0; i < hand.size(); i++) {
+            cards.add(hand.get(i));
+        }
+        return cards;
+    }
+
+    @Test
+    public void cardsAreCollectedInTheOrderTheyLost() {
+        //seat 1 loses to the leader, seat 0, before seat 0 loses to seat 2
+        assertEquals(Arrays.asList(5, 2, 0, 4), playRound(players(5, 1, 9), 2));
+        //seat 0 loses to seat 1, then seats 2 and 3 lose to seat 1
+        assertEquals(Arrays.asList(3, 0, 4, 6, 2), playRound(players(1, 7, 3, 7), 1));
+        //the first seat keeps a tie, and the others lose in seat order
+        assertEquals(Arrays.asList(1, 2, 4, 0), playRound(players(4, 4, 4), 0));
+    }
+
+}
@@ -0,0 +1,60 @@
+package toptrumps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The VarIntTest class writes numbers as VarInts into bytes and streams, and
+ * reads them back.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class VarIntTest {
+
+    private static final int[] NUMBERS = {0, 1, 127, 128, 16383, 16384, 1 << 28, Integer.MAX_VALUE, -1,
+        Integer.MIN_VALUE};
+
+    @Test
+    public void bytesAndStreamsKeepTheNumbers() throws IOException {
+        byte[] bytes = new byte[NUMBERS.length * VarInt.MAX_SIZE];
+        int end = 0;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (int number : NUMBERS) {
+            int start = end;
+            end = VarInt.put(bytes, end, number);
+            assertEquals(VarInt.size(number), end - start);
+            VarInt.write(out, number);
+        }
+        assertEquals(end, buffer.size());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        int offset = 0;
+        for (int number : NUMBERS) {
+            assertEquals(number, VarInt.get(bytes, offset, end));
+            offset += VarInt.size(number);
+            assertEquals(number, VarInt.read(in));
+        }
+    }
+
+    @Test
+    public void brokenNumbersAreRejected() {
+        byte[] cut = {(byte) 0x80, (byte) 0x80};
+        assertThrows(IOException.class, () -> VarInt.get(cut, 0, cut.length));
+        byte[] tooLong = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1};
+        assertThrows(IOException.class, () -> VarInt.get(tooLong, 0, tooLong.length));
+        assertThrows(IOException.class,
+                () -> VarInt.read(new DataInputStream(new ByteArrayInputStream(tooLong))));
+        byte[] padded = {(byte) 0x81, 0};
+        assertThrows(IOException.class, () -> VarInt.get(padded, 0, padded.length));
+    }
+
+}
@@ -0,0 +1,254 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The ActivePlayers class keeps the players of a game by their seats, the
+ * numbers given in the order of joining. A bitset tells whether a seat is
+ * still in the game, and the seats in the game are linked in order, so a
+ * player is taken out in O(1) and going through the players never reaches
+ * the ones out.
+ *
+ * The seats are walked by <code>for (int seat = first(); seat >= 0; seat =
+ * next(seat))</code>.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ActivePlayers {
+
+    /**
+     * the players by their seats, including the ones out
+     */
+    private Player[] players = new Player[8];
+
+    /**
+     * the bits of the seats in the game
+     */
+    private long[] active = new long[1];
+
+    /**
+     * the next seat in the game of each seat; the last element links to the
+     * first seat
+     */
+    private int[] next = new int[9];
+
+    /**
+     * the previous seat in the game of each seat; the last element links to
+     * the last seat
+     */
+    private int[] previous = new int[9];
+
+    /**
+     * the number of seats, including the ones out
+     */
+    private int seatsNumber;
+
+    /**
+     * the number of seats in the game
+     */
+    private int size;
+
+    /**
+     * Class constructor. Constructs ActivePlayers without any player.
+     */
+    public ActivePlayers() {
+        clear();
+    }
+
+    /**
+     * Seats the player after all the others.
+     *
+     * @param player the player to seat
+     * @return the seat of the player
+     */
+    public int add(Player player) {
+        if (seatsNumber == players.length) {
+            grow();
+        }
+        int seat = seatsNumber++;
+        players[seat] = player;
+        active[seat >>> 6] |= 1L << seat;
+        int end = players.length;
+        int last = previous[end];
+        next[last] = seat;
+        previous[seat] = last;
+        next[seat] = end;
+        previous[end] = seat;
+        size++;
+        return seat;
+    }
+
+    /**
+     * Takes the seat out of the game. Nothing is done if it is out already.
+     *
+     * @param seat the seat to take out
+     */
+    public void remove(int seat) {
+        if (!contains(seat)) {
+            return;
+        }
+        active[seat >>> 6] &= ~(1L << seat);
+        next[previous[seat]] = next[seat];
+        previous[next[seat]] = previous[seat];
+        size--;
+    }
+
+    /**
+     * Returns <code>true</code> if the seat is in the game.
+     *
+     * @param seat the seat
+     * @return <code>true</code> if the seat is in the game <code>false</code>
+     * otherwise
+     */
+    public boolean contains(int seat) {
+        return seat >= 0 && seat < seatsNumber && (active[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Returns the first seat in the game.
+     *
+     * @return the first seat, or -1 if there is none
+     */
+    public int first() {
+        int seat = next[players.length];
+        return seat == players.length ? -1 : seat;
+    }
+
+    /**
+     * Returns the seat in the game after the seat, which must be in the game.
+     *
+     * @param seat the seat in the game
+     * @return the next seat, or -1 if it is the last one
+     */
+    public int next(int seat) {
+        int following = next[seat];
+        return following == players.length ? -1 : following;
+    }
+
+    /**
+     * Returns the player of the seat.
+     *
+     * @param seat the seat
+     * @return the player
+     */
+    public Player get(int seat) {
+        return players[seat];
+    }
+
+    /**
+     * Returns the first player in the game.
+     *
+     * @return the first player, or null if there is none
+     */
+    public Player getFirst() {
+        int seat = first();
+        return seat < 0 ? null : players[seat];
+    }
+
+    /**
+     * Returns the players in the game in the order of their seats.
+     *
+     * @return a new list of the players
+     */
+    public ArrayList<Player> toList() {
+        ArrayList<Player> list = new ArrayList<>(size);
+        for (int seat = first(); seat >= 0; seat = next(seat)) {
+            list.add(players[seat]);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a copy of the bits of the seats in the game.
+     *
+     * @return the bits, seat s at bit <code>s % 64</code> of word
+     * <code>s / 64</code>
+     */
+    public long[] copyActive() {
+        return Arrays.copyOf(active, (seatsNumber + 63) >>> 6);
+    }
+
+    /**
+     * Puts back in the game exactly the seats of the bits, linking them again
+     * in order.
+     *
+     * @param bits the bits of the seats in the game
+     */
+    public void restore(long[] bits) {
+        Arrays.fill(active, 0);
+        int end = players.length;
+        int last = end;
+        size = 0;
+        for (int seat = 0; seat < seatsNumber; seat++) {
+            int word = seat >>> 6;
+            if (word < bits.length && (bits[word] & (1L << seat)) != 0) {
+                active[word] |= 1L << seat;
+                next[last] = seat;
+                previous[seat] = last;
+                last = seat;
+                size++;
+            }
+        }
+        next[last] = end;
+        previous[end] = last;
+    }
+
+    /**
+     * Returns the number of seats, including the ones out.
+     *
+     * @return the seatsNumber
+     */
+    public int getSeatsNumber() {
+        return seatsNumber;
+    }
+
+    /**
+     * Returns the number of players in the game.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all the players and their seats.
+     */
+    public final void clear() {
+        Arrays.fill(players, null);
+        Arrays.fill(active, 0);
+        seatsNumber = 0;
+        size = 0;
+        next[players.length] = players.length;
+        previous[players.length] = players.length;
+    }
+
+    /**
+     * Doubles the number of seats, moving the end of the links to the new
+     * last element.
+     */
+    private void grow() {
+        int oldEnd = players.length;
+        int newEnd = oldEnd * 2;
+        players = Arrays.copyOf(players, newEnd);
+        active = Arrays.copyOf(active, (newEnd + 63) >>> 6);
+        next = Arrays.copyOf(next, newEnd + 1);
+        previous = Arrays.copyOf(previous, newEnd + 1);
+        next[newEnd] = next[oldEnd];
+        previous[newEnd] = previous[oldEnd];
+        for (int seat = 0; seat < seatsNumber; seat++) {
+            if (next[seat] == oldEnd) {
+                next[seat] = newEnd;
+            }
+            if (previous[seat] == oldEnd) {
+                previous[seat] = newEnd;
+            }
+        }
+        if (next[newEnd] == oldEnd) {
+            next[newEnd] = newEnd;
+            previous[newEnd] = newEnd;
+        }
+    }
+
+}
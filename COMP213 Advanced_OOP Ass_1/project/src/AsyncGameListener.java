@@ -0,0 +1,427 @@
+
+/**
+ * The AsyncGameListener class buffers the events of a game and passes them to
+ * another listener on a thread of its own, so formatting and printing the
+ * messages do not slow down the rounds.
+ *
+ * The events are copied into a fixed ring of records, which are reused, so no
+ * object is created per event. The game waits when the ring is full. If the
+ * delegate throws an exception, the thread stops and the next event of the
+ * game fails with an IllegalStateException caused by it, instead of waiting
+ * for a thread which is gone.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class AsyncGameListener implements GameEventListener, AutoCloseable {
+
+    private static final int PLAYER_JOINED = 0;
+    private static final int GAME_STARTED = 1;
+    private static final int ROUND_STARTED = 2;
+    private static final int ATTRIBUTE_DECIDING = 3;
+    private static final int ATTRIBUTE_DECIDED = 4;
+    private static final int TOP_CARDS_REVEALED = 5;
+    private static final int CARDS_COMPARED = 6;
+    private static final int CARD_LOST = 7;
+    private static final int ROUND_WON = 8;
+    private static final int PLAYER_OUT = 9;
+    private static final int PLAYERS_COUNTED = 10;
+    private static final int GAME_OVER = 11;
+    private static final int GAME_DRAWN = 12;
+
+    /**
+     * the listener the events are passed to
+     */
+    private final GameEventListener delegate;
+
+    /**
+     * the ring of the buffered events
+     */
+    private final Event[] events;
+
+    /**
+     * the position of the oldest buffered event
+     */
+    private int head;
+
+    /**
+     * the number of buffered events
+     */
+    private int size;
+
+    /**
+     * whether no more events are accepted
+     */
+    private boolean closed;
+
+    /**
+     * whether the thread passing the events has stopped
+     */
+    private boolean stopped;
+
+    /**
+     * the exception thrown by the delegate, which stopped the thread, or null
+     */
+    private Throwable failure;
+
+    /**
+     * the thread passing the events to the delegate
+     */
+    private final Thread worker;
+
+    /**
+     * Class constructor. Constructs an AsyncGameListener passing the events to
+     * the delegate, buffering at most the capacity of events.
+     *
+     * @param delegate the listener the events are passed to
+     * @param capacity the number of events to buffer
+     */
+    public AsyncGameListener(GameEventListener delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity is not a positive Integer: " + capacity);
+        }
+        this.delegate = delegate;
+        this.events = new Event[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+        }
+        this.worker = new Thread(this::passEvents, "game-events");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public synchronized void playerJoined(Player player) {
+        Event event = claim(PLAYER_JOINED);
+        event.player = player;
+        publish();
+    }
+
+    @Override
+    public synchronized void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+        Event event = claim(GAME_STARTED);
+        event.deckType = deckType;
+        event.copySeats(players, cardsNumbers, playersNumber);
+        publish();
+    }
+
+    @Override
+    public synchronized void roundStarted(int round) {
+        Event event = claim(ROUND_STARTED);
+        event.first = round;
+        publish();
+    }
+
+    @Override
+    public synchronized void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+        Event event = claim(ATTRIBUTE_DECIDING);
+        event.deckType = deckType;
+        event.player = decider;
+        event.first = attributesNumber;
+        publish();
+    }
+
+    @Override
+    public synchronized void attributeDecided(Player decider, int attributeIndex) {
+        Event event = claim(ATTRIBUTE_DECIDED);
+        event.player = decider;
+        event.first = attributeIndex;
+        publish();
+    }
+
+    @Override
+    public synchronized void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+        Event event = claim(TOP_CARDS_REVEALED);
+        event.copySeats(players, topCards, playersNumber);
+        event.deck = deck;
+        publish();
+    }
+
+    @Override
+    public synchronized void cardsCompared(Player first, Player second, int attributeIndex, int firstValue,
+            int secondValue, Player winner) {
+        Event event = claim(CARDS_COMPARED);
+        event.player = first;
+        event.other = second;
+        event.winner = winner;
+        event.first = attributeIndex;
+        event.second = firstValue;
+        event.third = secondValue;
+        publish();
+    }
+
+    @Override
+    public synchronized void cardLost(Player player, int card) {
+        Event event = claim(CARD_LOST);
+        event.player = player;
+        event.first = card;
+        publish();
+    }
+
+    @Override
+    public synchronized void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+        Event event = claim(ROUND_WON);
+        event.winner = winner;
+        event.copySeats(players, cardsNumbers, playersNumber);
+        publish();
+    }
+
+    @Override
+    public synchronized void playerOut(Player player) {
+        Event event = claim(PLAYER_OUT);
+        event.player = player;
+        publish();
+    }
+
+    @Override
+    public synchronized void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+        Event event = claim(PLAYERS_COUNTED);
+        event.first = playersNumber;
+        event.second = humanNumber;
+        event.third = computersNumber;
+        publish();
+    }
+
+    @Override
+    public synchronized void gameOver(Player winner, int cardsNumber) {
+        Event event = claim(GAME_OVER);
+        event.winner = winner;
+        event.first = cardsNumber;
+        publish();
+    }
+
+    @Override
+    public synchronized void gameDrawn(int rounds) {
+        Event event = claim(GAME_DRAWN);
+        event.first = rounds;
+        publish();
+    }
+
+    /**
+     * Waits until all the buffered events are passed to the delegate.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     * @throws IllegalStateException if the delegate threw an exception
+     */
+    public synchronized void flush() throws InterruptedException {
+        while (size > 0 && !stopped) {
+            wait();
+        }
+        checkFailure();
+    }
+
+    /**
+     * Passes the buffered events to the delegate and stops the thread. No more
+     * events are accepted.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the free record after the buffered events, waiting while the
+     * ring is full.
+     *
+     * @param type the type of the event
+     * @return the record of the new event
+     * @throws IllegalStateException if the listener is closed, or the thread
+     * passing the events has stopped
+     */
+    private Event claim(int type) {
+        if (closed) {
+            throw new IllegalStateException("The listener is closed");
+        }
+        boolean interrupted = false;
+        while (size == events.length && !stopped) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+        if (stopped) {
+            throw new IllegalStateException("The thread passing the events has stopped");
+        }
+        Event event = events[(head + size) % events.length];
+        event.type = type;
+        return event;
+    }
+
+    /**
+     * Throws the exception of the delegate, if it threw one.
+     *
+     * @throws IllegalStateException caused by the exception of the delegate
+     */
+    private void checkFailure() {
+        if (failure != null) {
+            throw new IllegalStateException("The delegate failed to take an event", failure);
+        }
+    }
+
+    /**
+     * Makes the claimed record visible to the worker thread.
+     */
+    private void publish() {
+        size++;
+        notifyAll();
+    }
+
+    /**
+     * Passes the events to the delegate in order until the listener is closed
+     * and there is no buffered event, or the delegate throws an exception. The
+     * waiting game is woken when the thread stops.
+     */
+    private void passEvents() {
+        try {
+            passAll();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                failure = e;
+            }
+            throw e;
+        } finally {
+            synchronized (this) {
+                stopped = true;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Passes the events to the delegate in order until the listener is closed
+     * and there is no buffered event. A record is released only after it is
+     * passed, so the game cannot overwrite it meanwhile.
+     */
+    private void passAll() {
+        while (true) {
+            Event event;
+            synchronized (this) {
+                while (size == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (size == 0) {
+                    return;
+                }
+                event = events[head];
+            }
+            pass(event);
+            synchronized (this) {
+                event.player = null;
+                event.other = null;
+                event.winner = null;
+                event.deck = null;
+                head = (head + 1) % events.length;
+                size--;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Passes one event to the delegate.
+     *
+     * @param event the record of the event
+     */
+    private void pass(Event event) {
+        switch (event.type) {
+            case PLAYER_JOINED:
+                delegate.playerJoined(event.player);
+                break;
+            case GAME_STARTED:
+                delegate.gameStarted(event.deckType, event.players, event.numbers, event.playersNumber);
+                break;
+            case ROUND_STARTED:
+                delegate.roundStarted(event.first);
+                break;
+            case ATTRIBUTE_DECIDING:
+                delegate.attributeDeciding(event.deckType, event.player, event.first);
+                break;
+            case ATTRIBUTE_DECIDED:
+                delegate.attributeDecided(event.player, event.first);
+                break;
+            case TOP_CARDS_REVEALED:
+                delegate.topCardsRevealed(event.players, event.numbers, event.playersNumber, event.deck);
+                break;
+            case CARDS_COMPARED:
+                delegate.cardsCompared(event.player, event.other, event.first, event.second, event.third,
+                        event.winner);
+                break;
+            case CARD_LOST:
+                delegate.cardLost(event.player, event.first);
+                break;
+            case ROUND_WON:
+                delegate.roundWon(event.winner, event.players, event.numbers, event.playersNumber);
+                break;
+            case PLAYER_OUT:
+                delegate.playerOut(event.player);
+                break;
+            case PLAYERS_COUNTED:
+                delegate.playersCounted(event.first, event.second, event.third);
+                break;
+            case GAME_OVER:
+                delegate.gameOver(event.winner, event.first);
+                break;
+            case GAME_DRAWN:
+                delegate.gameDrawn(event.first);
+                break;
+            default:
+                throw new IllegalStateException("Unknown event type: " + event.type);
+        }
+    }
+
+    /**
+     * The Event class is a reusable record of one buffered event. The meaning
+     * of the int fields depends on the type of the event.
+     */
+    private static class Event {
+
+        private int type;
+        private Player player;
+        private Player other;
+        private Player winner;
+        private String deckType;
+        private int first;
+        private int second;
+        private int third;
+        private Player[] players = new Player[0];
+        private int[] numbers = new int[0];
+        private int playersNumber;
+        private CardSource deck;
+
+        /**
+         * Copies the players and a number of each player, growing the arrays
+         * of this record if they are too short.
+         *
+         * @param seats the players
+         * @param seatNumbers the number of each player
+         * @param seatsNumber the number of players
+         */
+        private void copySeats(Player[] seats, int[] seatNumbers, int seatsNumber) {
+            if (players.length < seatsNumber) {
+                players = new Player[seatsNumber];
+                numbers = new int[seatsNumber];
+            }
+            System.arraycopy(seats, 0, players, 0, seatsNumber);
+            System.arraycopy(seatNumbers, 0, numbers, 0, seatsNumber);
+            playersNumber = seatsNumber;
+        }
+    }
+
+}
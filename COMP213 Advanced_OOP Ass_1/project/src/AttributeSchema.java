@@ -0,0 +1,127 @@
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The AttributeSchema class gives the attributes of a deck their ordinals,
+ * the indexes their values are kept at in a DeckStore, and keeps each name
+ * once. A catalog names its attributes once in its header, and the cards
+ * only have the values by ordinal.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class AttributeSchema {
+
+    /**
+     * the generic schemas of up to 16 attributes, shared by the stores
+     */
+    private static final AttributeSchema[] GENERIC = new AttributeSchema[17];
+
+    /**
+     * the names of the attributes by their ordinals
+     */
+    private final String[] names;
+
+    /**
+     * the ordinals of the attributes by their names
+     */
+    private final HashMap<String, Integer> ordinals;
+
+    /**
+     * Class constructor. Constructs an AttributeSchema of the names, in the
+     * order of their ordinals.
+     *
+     * @param names the names of the attributes
+     * @throws IllegalArgumentException if there is no name, or a name is
+     * empty or repeated
+     */
+    public AttributeSchema(List<String> names) {
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No attribute in the schema");
+        }
+        this.names = new String[names.size()];
+        this.ordinals = new HashMap<>(names.size() * 2);
+        for (int ordinal = 0; ordinal < this.names.length; ordinal++) {
+            String name = names.get(ordinal).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("The name of the attribute " + (ordinal + 1) + " is empty");
+            }
+            if (ordinals.put(name, ordinal) != null) {
+                throw new IllegalArgumentException("The attribute " + name + " is repeated");
+            }
+            this.names[ordinal] = name;
+        }
+    }
+
+    /**
+     * Returns the schema of the attributes named by Card.attributeName(),
+     * i.e. "Attribute_1" to "Attribute_n". The schemas of up to 16
+     * attributes are shared.
+     *
+     * @param attributesNumber the number of attributes
+     * @return the schema
+     */
+    public static AttributeSchema generic(int attributesNumber) {
+        if (attributesNumber > 0 && attributesNumber < GENERIC.length) {
+            AttributeSchema schema = GENERIC[attributesNumber];
+            if (schema == null) {
+                schema = newGeneric(attributesNumber);
+                GENERIC[attributesNumber] = schema;
+            }
+            return schema;
+        }
+        return newGeneric(attributesNumber);
+    }
+
+    /**
+     * Returns a new schema of "Attribute_1" to "Attribute_n".
+     *
+     * @param attributesNumber the number of attributes
+     * @return the schema
+     */
+    private static AttributeSchema newGeneric(int attributesNumber) {
+        String[] names = new String[attributesNumber];
+        for (int i = 0; i < attributesNumber; i++) {
+            names[i] = Card.attributeName(i);
+        }
+        return new AttributeSchema(Arrays.asList(names));
+    }
+
+    /**
+     * Returns the number of attributes.
+     *
+     * @return the number of attributes
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of the attribute of the ordinal.
+     *
+     * @param ordinal the ordinal, starting from 0
+     * @return the name of the attribute
+     */
+    public String getName(int ordinal) {
+        return names[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of the attribute of the name.
+     *
+     * @param name the name of the attribute
+     * @return the ordinal, or -1 if there is no such attribute
+     */
+    public int getOrdinal(String name) {
+        Integer ordinal = ordinals.get(name);
+        return (ordinal == null) ? -1 : ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(names);
+    }
+
+}
@@ -0,0 +1,86 @@
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * The BufferedInputSource class reads the lines from a stream through a large
+ * buffer, e.g. the keyboard, a pipe or a file of answers, without the regular
+ * expressions of a Scanner.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class BufferedInputSource implements InputSource, AutoCloseable {
+
+    /**
+     * the size of the buffer in chars
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * the reader of the lines
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Class constructor. Constructs a BufferedInputSource reading the stream
+     * as UTF-8.
+     *
+     * @param in the stream to read
+     */
+    public BufferedInputSource(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Class constructor. Constructs a BufferedInputSource reading the reader.
+     *
+     * @param reader the reader to read
+     */
+    public BufferedInputSource(Reader reader) {
+        this.reader = new BufferedReader(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a BufferedInputSource reading the file of the path as UTF-8.
+     *
+     * @param path the path of the file
+     * @return the input source of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static BufferedInputSource fromFile(String path) throws IOException {
+        return new BufferedInputSource(new FileInputStream(path));
+    }
+
+    @Override
+    public String readLine() {
+        String line;
+        try {
+            line = reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            throw new NoSuchElementException("No more input");
+        }
+        return line;
+    }
+
+    /**
+     * Closes the stream read.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -1,41 +1,127 @@
 
 import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Card class represents cards, contains memebers card names and attributes,
  * and provides methods about card itself and attributes.
  *
+ * The attribute values are kept in a CardSource by the attribute index, i.e.
+ * the value of "Attribute_1" is at index 0, so an attribute value is found in
+ * O(1) without boxing. A Card is a view of one card of the source.
+ *
  * @author Yuhao Wu
  * @version 1.0
  */
 public class Card {
 
     /**
-     * the name of this card
+     * the prefix of all the attribute names
+     */
+    private static final String ATTRIBUTE_PREFIX = "Attribute_";
+
+    /**
+     * the names of the attributes cached by the index
+     */
+    private static final String[] ATTRIBUTE_NAMES = new String[16];
+
+    static {
+        for (int i = 0; i < ATTRIBUTE_NAMES.length; i++) {
+            ATTRIBUTE_NAMES[i] = ATTRIBUTE_PREFIX + String.valueOf(i + 1);
+        }
+    }
+
+    /**
+     * the source this card is read from
      */
-    private final String cardName;
+    private final CardSource deck;
 
     /**
-     * the attributes of this card
+     * the id of this card in the source
      */
-    private final HashMap<String, Integer> attributes;
+    private final int id;
 
     /**
-     * Class sole constructor. Constructs a Card with card name and attribute
-     * numbers.
+     * Class constructor. Constructs a Card with card name and attribute
+     * numbers, kept in a store of its own. The values are drawn from the
+     * random generator of the current thread.
      *
      * @param cardName the name of the Card.
      * @param attriNumber the number of attributes of the Card.
      */
     public Card(String cardName, int attriNumber) {
-        this.cardName = cardName;
-        this.attributes = new HashMap<String, Integer>();
-        for (int i = 1; i <= attriNumber; i++) {
-            String attributeName = "Attribute_" + String.valueOf(i);
-            int value = (int) (Math.random() * 10);
-            attributes.put(attributeName, value);
+        DeckStore store = new DeckStore(attriNumber, 1);
+        int[] values = new int[attriNumber];
+        for (int i = 0; i < attriNumber; i++) {
+            values[i] = ThreadLocalRandom.current().nextInt(10);
+        }
+        this.deck = store;
+        this.id = store.addCard(cardName, values);
+    }
+
+    /**
+     * Class constructor. Constructs a Card with card name and attribute
+     * numbers, kept in a store of its own, with the values drawn from the
+     * random stream.
+     *
+     * @param cardName the name of the Card.
+     * @param attriNumber the number of attributes of the Card.
+     * @param random the random stream of the values
+     */
+    public Card(String cardName, int attriNumber, SplittableRandom random) {
+        DeckStore store = new DeckStore(attriNumber, 1);
+        this.deck = store;
+        this.id = store.addCard(cardName, random);
+    }
+
+    /**
+     * Class constructor. Constructs a Card of the card of the source.
+     *
+     * @param deck the source of the card
+     * @param id the id of the card in the source
+     */
+    public Card(CardSource deck, int id) {
+        this.deck = deck;
+        this.id = id;
+    }
+
+    /**
+     * Returns the name of the attribute at the index, e.g. "Attribute_1" at
+     * index 0.
+     *
+     * @param index the attribute index, starting from 0
+     * @return the attribute name
+     */
+    public static String attributeName(int index) {
+        if (index < ATTRIBUTE_NAMES.length) {
+            return ATTRIBUTE_NAMES[index];
         }
+        return ATTRIBUTE_PREFIX + String.valueOf(index + 1);
+    }
+
+    /**
+     * Returns the index of the attribute name, e.g. 0 for "Attribute_1".
+     *
+     * @param attributeName the attribute name
+     * @return the attribute index starting from 0, or -1 if it is not an
+     * attribute name
+     */
+    public static int attributeIndex(String attributeName) {
+        if (attributeName == null || !attributeName.startsWith(ATTRIBUTE_PREFIX)
+                || attributeName.length() == ATTRIBUTE_PREFIX.length()) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = ATTRIBUTE_PREFIX.length(); i < attributeName.length(); i++) {
+            char digit = attributeName.charAt(i);
+            if (digit < '0' || digit > '9' || number > Integer.MAX_VALUE / 10) {
+                return -1;
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return number - 1;
     }
 
     /**
@@ -46,23 +132,45 @@ public class Card {
      */
     public boolean containAttri(String newAttriName) {
 
-        return getAttributes().containsKey(newAttriName);
+        int index = attributeIndex(newAttriName);
+        return index >= 0 && index < getAttributesNumber();
     }
 
     /**
      * Returns the value of the attribute.
      *
-     * @param attributeName the attribute of which value to be found
-     * @return the value of the attribute
+     * @param attributeName the attribute of which value to be found, by its
+     * generic name or its name in the schema of the deck
+     * @return the value of the attribute, or 0 if the card has no such
+     * attribute
      */
     public int findAttributeValue(String attributeName) {
-        int value = 0;
-        for (Map.Entry<String, Integer> oneAttribute : getAttributes().entrySet()) {
-            if (oneAttribute.getKey().equals(attributeName)) {
-                value = oneAttribute.getValue();
-            }
+
+        int index = attributeIndex(attributeName);
+        if (index < 0 && attributeName != null) {
+            index = deck.getSchema().getOrdinal(attributeName);
         }
-        return value;
+        return (index >= 0 && index < getAttributesNumber()) ? getValue(index) : 0;
+    }
+
+    /**
+     * Returns the value of the attribute at the index.
+     *
+     * @param index the attribute index, starting from 0
+     * @return the value of the attribute
+     */
+    public int getValue(int index) {
+        return deck.getValue(id, index);
+    }
+
+    /**
+     * Returns the index of the attribute with the highest value, the first one
+     * if there are ties.
+     *
+     * @return the index of the highest attribute
+     */
+    public int getHighestIndex() {
+        return deck.getHighestIndex(id);
     }
 
     /**
@@ -72,17 +180,14 @@ public class Card {
      */
     public String showAllAttri() {
 
-        String attributeList = "";
-        int index = getAttributesNumber();
-        for (String attribute : getAttributes().keySet()) {
-            attributeList = index
-                    + " = "
-                    + attribute
-                    + ", \n"
-                    + attributeList;
-            index--;
+        StringBuilder attributeList = new StringBuilder();
+        for (int i = 0; i < getAttributesNumber(); i++) {
+            attributeList.append(i + 1)
+                    .append(" = ")
+                    .append(deck.getSchema().getName(i))
+                    .append(", \n");
         }
-        return attributeList;
+        return attributeList.toString();
     }
 
     /**
@@ -92,11 +197,11 @@ public class Card {
      */
     public String showAllValue() {
 
-        String attributeList = "";
-        for (Map.Entry<String, Integer> attribute : getAttributes().entrySet()) {
-            attributeList = attribute.getKey() + ": " + attribute.getValue() + " | " + attributeList;
+        StringBuilder attributeList = new StringBuilder();
+        for (int i = 0; i < getAttributesNumber(); i++) {
+            attributeList.append(deck.getSchema().getName(i)).append(": ").append(getValue(i)).append(" | ");
         }
-        return attributeList;
+        return attributeList.toString();
     }
 
     /**
@@ -105,15 +210,30 @@ public class Card {
      * @return the cardName name
      */
     public String getCardName() {
-        return cardName;
+        return deck.getCardName(id);
     }
 
     /**
-     * Returns the list of attributes of this card.
+     * Returns the id of this card in its store.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the attributes of this card by their names in the schema of the
+     * deck, in the order of the attributes. The map is a copy built from the
+     * values every time, so changing it does not change the card.
      *
      * @return the attributes the list of attributes
      */
     public HashMap<String, Integer> getAttributes() {
+        LinkedHashMap<String, Integer> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < getAttributesNumber(); i++) {
+            attributes.put(deck.getSchema().getName(i), getValue(i));
+        }
         return attributes;
     }
 
@@ -123,7 +243,7 @@ public class Card {
      * @return the number of attributes
      */
     public int getAttributesNumber() {
-        return getAttributes().size();
+        return deck.getAttributesNumber();
     }
 
 }
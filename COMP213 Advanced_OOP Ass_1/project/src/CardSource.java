@@ -0,0 +1,72 @@
+
+/**
+ * The CardSource interface reads the cards of a game by their ids: the value
+ * of each attribute, the highest attribute and the name of a card, and the
+ * number of cards. The players, the hands and the listeners only read the
+ * cards, so they take any CardSource: a DeckStore keeping the cards, which
+ * can also add cards and index them, or a ProceduralDeck making them from a
+ * seed whenever they are read.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public interface CardSource {
+
+    /**
+     * Returns the value of the attribute of the card.
+     *
+     * @param card the id of the card
+     * @param attribute the attribute index, starting from 0
+     * @return the value of the attribute
+     */
+    int getValue(int card, int attribute);
+
+    /**
+     * Returns the index of the attribute with the highest value of the card,
+     * the first one if there are ties.
+     *
+     * @param card the id of the card
+     * @return the index of the highest attribute
+     */
+    int getHighestIndex(int card);
+
+    /**
+     * Returns the name of the card.
+     *
+     * @param card the id of the card
+     * @return the card name
+     */
+    String getCardName(int card);
+
+    /**
+     * Returns the number of attributes of every card.
+     *
+     * @return the attributesNumber
+     */
+    int getAttributesNumber();
+
+    /**
+     * Returns the names of the attributes of every card.
+     *
+     * @return the schema
+     */
+    AttributeSchema getSchema();
+
+    /**
+     * Returns the number of cards, whose ids are from 0 to size() - 1.
+     *
+     * @return the size
+     */
+    int size();
+
+    /**
+     * Returns the card as a Card object reading from this source.
+     *
+     * @param card the id of the card
+     * @return the Card of the id
+     */
+    default Card getCard(int card) {
+        return new Card(this, card);
+    }
+
+}
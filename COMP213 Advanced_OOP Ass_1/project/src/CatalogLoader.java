@@ -0,0 +1,614 @@
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The CatalogLoader class loads a catalog of real cards with named attributes
+ * into a DeckStore, from CSV or from a compact binary format, and writes
+ * them.
+ *
+ * A CSV catalog has a header of the card name column and the attribute
+ * names, then a card per line: its name, quoted if needed, and an integer
+ * value per attribute. A quoted name may hold line breaks, so a card goes on
+ * to the next line until its quote is closed. Empty lines and lines starting
+ * with '#' are skipped.
+ *
+ * A binary catalog has the magic number, version, attribute names and number
+ * of cards, then per card the length and UTF-8 bytes of its name and an int
+ * per attribute, all big-endian.
+ *
+ * The file is memory-mapped a window at a time and parsed in place, so
+ * catalogs of any size are read in one pass. The attribute names go into an
+ * AttributeSchema once, and each card is put in the store from one reused
+ * row of values, so the only object made per card is its name.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class CatalogLoader {
+
+    private static final int MAGIC = 0x54544341;
+    private static final int VERSION = 1;
+
+    /**
+     * the largest number of bytes mapped at a time
+     */
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    /**
+     * the channel of the file
+     */
+    private final FileChannel channel;
+
+    /**
+     * the size of the file
+     */
+    private final long fileSize;
+
+    /**
+     * the mapped window of the file
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * the position of the window in the file
+     */
+    private long windowStart;
+
+    /**
+     * the bytes of a name being decoded
+     */
+    private byte[] nameBytes = new byte[64];
+
+    /**
+     * the index in the window the parsing is at
+     */
+    private int cursor;
+
+    /**
+     * the number of the line being parsed, starting from 1
+     */
+    private long lineNumber;
+
+    /**
+     * the number of line breaks in quotes of the line last found
+     */
+    private int quotedBreaks;
+
+    /**
+     * Class constructor. Constructs a CatalogLoader mapping the file from its
+     * start.
+     *
+     * @param channel the channel of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    private CatalogLoader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        map(0);
+    }
+
+    /**
+     * Loads the catalog of the file, in binary if it starts with the magic
+     * number and in CSV otherwise.
+     *
+     * @param path the path of the file
+     * @return the store of the cards
+     * @throws IOException if the file cannot be read or is not a catalog
+     */
+    public static DeckStore load(String path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            CatalogLoader loader = new CatalogLoader(file.getChannel());
+            if (loader.fileSize >= 4 && loader.window.getInt(0) == MAGIC) {
+                return loader.readBinary();
+            }
+            return loader.readCsv();
+        }
+    }
+
+    /**
+     * Loads the CSV catalog of the file.
+     *
+     * @param path the path of the file
+     * @return the store of the cards
+     * @throws IOException if the file cannot be read or is not a CSV catalog
+     */
+    public static DeckStore loadCsv(String path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            return new CatalogLoader(file.getChannel()).readCsv();
+        }
+    }
+
+    /**
+     * Loads the binary catalog of the file.
+     *
+     * @param path the path of the file
+     * @return the store of the cards
+     * @throws IOException if the file cannot be read or is not a binary
+     * catalog
+     */
+    public static DeckStore loadBinary(String path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            return new CatalogLoader(file.getChannel()).readBinary();
+        }
+    }
+
+    /**
+     * Maps the window of the file from the position.
+     *
+     * @param position the position in the file
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, fileSize - position));
+    }
+
+    /**
+     * Makes sure the number of bytes from the position in the file are in the
+     * window, mapping the window from the position if they are not.
+     *
+     * @param position the position in the file
+     * @param length the number of bytes
+     * @return the index of the position in the window
+     * @throws IOException if the file ends before the bytes or they cannot be
+     * mapped
+     */
+    private int require(long position, int length) throws IOException {
+        if (position + length > fileSize) {
+            throw new EOFException("The catalog ends at " + fileSize + " bytes, before " + (position + length));
+        }
+        if (position < windowStart || position + length > windowStart + window.limit()) {
+            map(position);
+        }
+        return (int) (position - windowStart);
+    }
+
+    /**
+     * Parses the CSV catalog from the start of the file.
+     *
+     * @return the store of the cards
+     * @throws IOException if it is not a CSV catalog
+     */
+    private DeckStore readCsv() throws IOException {
+        long position = 0;
+        long nextLine = 1;
+        DeckStore deck = null;
+        int[] row = null;
+        while (position < fileSize) {
+            int start = (int) (position - windowStart);
+            int end = findLineEnd(start);
+            if (end < 0) {
+                if (start == 0) {
+                    throw new IOException("Line " + nextLine + " is longer than " + WINDOW_SIZE + " bytes");
+                }
+                map(position);
+                continue;
+            }
+            lineNumber = nextLine;
+            nextLine += 1 + quotedBreaks;
+            position = windowStart + Math.min(end + 1, window.limit());
+            int lineEnd = (end > start && window.get(end - 1) == '\r') ? end - 1 : end;
+            if (isBlank(start, lineEnd) || window.get(start) == '#') {
+                continue;
+            }
+            cursor = start;
+            if (deck == null) {
+                deck = new DeckStore(readHeader(lineEnd), 1024);
+                row = new int[deck.getAttributesNumber()];
+                continue;
+            }
+            String cardName = readName(lineEnd);
+            for (int attribute = 0; attribute < row.length; attribute++) {
+                expectComma(lineEnd);
+                row[attribute] = readInt(lineEnd);
+            }
+            skipSpaces(lineEnd);
+            if (cursor != lineEnd) {
+                throw error("more values than the " + row.length + " attributes");
+            }
+            deck.addCard(cardName, row);
+        }
+        if (deck == null) {
+            throw new IOException("No header in the catalog");
+        }
+        return deck;
+    }
+
+    /**
+     * Returns the index of the line end after the index in the window, or
+     * the end of the window if it is the end of the file. A '\n' in a field
+     * opening with a quote is part of the field, until the quote is closed;
+     * the number of them is kept in quotedBreaks. A comment line ends at its
+     * first '\n'.
+     *
+     * @param start the index the line starts at
+     * @return the index of the '\n' or the file end, or -1 if the line goes
+     * on after the window
+     */
+    private int findLineEnd(int start) {
+        int limit = window.limit();
+        boolean fileEnd = windowStart + limit == fileSize;
+        boolean comment = start < limit && window.get(start) == '#';
+        boolean fieldStart = true;
+        boolean quoted = false;
+        quotedBreaks = 0;
+        for (int i = start; i < limit; i++) {
+            byte b = window.get(i);
+            if (quoted) {
+                if (b == '"') {
+                    if (i + 1 == limit && !fileEnd) {
+                        //a doubled quote may go on after the window
+                        return -1;
+                    }
+                    if (i + 1 < limit && window.get(i + 1) == '"') {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (b == '\n') {
+                    quotedBreaks++;
+                }
+            } else if (b == '\n') {
+                return i;
+            } else if (b == ',') {
+                fieldStart = true;
+            } else if (b == '"' && fieldStart && !comment) {
+                quoted = true;
+                fieldStart = false;
+            } else if (b != ' ' && b != '\t') {
+                fieldStart = false;
+            }
+        }
+        return fileEnd ? limit : -1;
+    }
+
+    /**
+     * Returns <code>true</code> if there are only spaces in the range.
+     *
+     * @param from the first index
+     * @param to the index after the last one
+     * @return <code>true</code> if the range is blank <code>false</code>
+     * otherwise
+     */
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = window.get(i);
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the header line into the schema of the attributes after the
+     * name column.
+     *
+     * @param lineEnd the index the line ends at
+     * @return the schema of the attributes
+     * @throws IOException if there is no attribute
+     */
+    private AttributeSchema readHeader(int lineEnd) throws IOException {
+        readName(lineEnd);
+        ArrayList<String> names = new ArrayList<>();
+        while (cursor < lineEnd) {
+            expectComma(lineEnd);
+            names.add(readName(lineEnd));
+        }
+        try {
+            return new AttributeSchema(names);
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a text field, quoted or not, at the cursor.
+     *
+     * @param lineEnd the index the line ends at
+     * @return the text of the field
+     * @throws IOException if a quote is not closed
+     */
+    private String readName(int lineEnd) throws IOException {
+        skipSpaces(lineEnd);
+        int length = 0;
+        if (cursor < lineEnd && window.get(cursor) == '"') {
+            cursor++;
+            while (true) {
+                if (cursor >= lineEnd) {
+                    throw error("the quote is not closed");
+                }
+                byte b = window.get(cursor++);
+                if (b == '"') {
+                    if (cursor < lineEnd && window.get(cursor) == '"') {
+                        cursor++;
+                    } else {
+                        break;
+                    }
+                }
+                length = putNameByte(length, b);
+            }
+            skipSpaces(lineEnd);
+        } else {
+            int end = cursor;
+            while (end < lineEnd && window.get(end) != ',') {
+                end++;
+            }
+            int last = end;
+            while (last > cursor && (window.get(last - 1) == ' ' || window.get(last - 1) == '\t')) {
+                last--;
+            }
+            for (int i = cursor; i < last; i++) {
+                length = putNameByte(length, window.get(i));
+            }
+            cursor = end;
+        }
+        return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Puts the byte at the position of the name bytes, growing them if they
+     * are full.
+     *
+     * @param position the position of the byte
+     * @param b the byte
+     * @return the position after the byte
+     */
+    private int putNameByte(int position, byte b) {
+        if (position == nameBytes.length) {
+            nameBytes = Arrays.copyOf(nameBytes, position * 2);
+        }
+        nameBytes[position] = b;
+        return position + 1;
+    }
+
+    /**
+     * Parses an integer field at the cursor, with spaces around it.
+     *
+     * @param lineEnd the index the line ends at
+     * @return the integer
+     * @throws IOException if the field is not an integer
+     */
+    private int readInt(int lineEnd) throws IOException {
+        skipSpaces(lineEnd);
+        boolean negative = false;
+        if (cursor < lineEnd && (window.get(cursor) == '-' || window.get(cursor) == '+')) {
+            negative = window.get(cursor) == '-';
+            cursor++;
+        }
+        int digits = cursor;
+        long value = 0;
+        while (cursor < lineEnd) {
+            int digit = window.get(cursor) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error("the value is out of the range of an Integer");
+            }
+            cursor++;
+        }
+        if (cursor == digits) {
+            throw error("a value is not an Integer");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("the value is out of the range of an Integer");
+        }
+        skipSpaces(lineEnd);
+        return (int) value;
+    }
+
+    /**
+     * Moves the cursor past the comma before the next field.
+     *
+     * @param lineEnd the index the line ends at
+     * @throws IOException if there is no comma at the cursor
+     */
+    private void expectComma(int lineEnd) throws IOException {
+        skipSpaces(lineEnd);
+        if (cursor >= lineEnd || window.get(cursor) != ',') {
+            throw error("fewer fields than the header");
+        }
+        cursor++;
+    }
+
+    /**
+     * Moves the cursor past the spaces and tabs.
+     *
+     * @param lineEnd the index the line ends at
+     */
+    private void skipSpaces(int lineEnd) {
+        while (cursor < lineEnd && (window.get(cursor) == ' ' || window.get(cursor) == '\t')) {
+            cursor++;
+        }
+    }
+
+    /**
+     * Returns the exception of the problem on the line being parsed.
+     *
+     * @param problem the problem
+     * @return the exception to throw
+     */
+    private IOException error(String problem) {
+        return new IOException("Line " + lineNumber + " of the catalog: " + problem);
+    }
+
+    /**
+     * Parses the binary catalog from the start of the file.
+     *
+     * @return the store of the cards
+     * @throws IOException if it is not a binary catalog
+     */
+    private DeckStore readBinary() throws IOException {
+        long position = 0;
+        int index = require(position, 13);
+        if (window.getInt(index) != MAGIC || window.get(index + 4) != VERSION) {
+            throw new IOException("Not a binary catalog");
+        }
+        int attributesNumber = window.getInt(index + 5);
+        if (attributesNumber <= 0) {
+            throw new IOException("The attributes number is not a positive Integer: " + attributesNumber);
+        }
+        int cardsNumber = window.getInt(index + 9);
+        if (cardsNumber < 0) {
+            throw new IOException("The cards number is negative: " + cardsNumber);
+        }
+        position += 13;
+        //a name takes 2 bytes at least, and a row of values is read in a window
+        if (attributesNumber > (fileSize - position) / 2 || 4L * attributesNumber > WINDOW_SIZE) {
+            throw new IOException("The catalog is too short for " + attributesNumber + " attributes");
+        }
+        ArrayList<String> names = new ArrayList<>(attributesNumber);
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            int length = window.getShort(require(position, 2)) & 0xFFFF;
+            names.add(readBinaryName(position + 2, length));
+            position += 2 + length;
+        }
+        AttributeSchema schema;
+        try {
+            schema = new AttributeSchema(names);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+
+        if (cardsNumber > (fileSize - position) / (2 + 4L * attributesNumber)) {
+            throw new IOException("The catalog is too short for " + cardsNumber + " cards");
+        }
+        DeckStore deck = new DeckStore(schema, cardsNumber);
+        int[] row = new int[attributesNumber];
+        for (int card = 0; card < cardsNumber; card++) {
+            int length = window.getShort(require(position, 2)) & 0xFFFF;
+            String cardName = readBinaryName(position + 2, length);
+            position += 2 + length;
+            index = require(position, 4 * attributesNumber);
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                row[attribute] = window.getInt(index + 4 * attribute);
+            }
+            position += 4 * attributesNumber;
+            deck.addCard(cardName, row);
+        }
+        return deck;
+    }
+
+    /**
+     * Decodes the UTF-8 name at the position in the file.
+     *
+     * @param position the position in the file
+     * @param length the number of bytes of the name
+     * @return the name
+     * @throws IOException if the file ends before the name
+     */
+    private String readBinaryName(long position, int length) throws IOException {
+        int index = require(position, length);
+        if (nameBytes.length < length) {
+            nameBytes = new byte[Math.max(length, nameBytes.length * 2)];
+        }
+        window.position(index);
+        window.get(nameBytes, 0, length);
+        return new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the cards of the deck to the file as a binary catalog.
+     *
+     * @param deck the source of the cards
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written or a name is longer
+     * than 65535 bytes
+     */
+    public static void writeBinary(CardSource deck, String path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(deck.getAttributesNumber());
+            out.writeInt(deck.size());
+            for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                writeBinaryName(out, deck.getSchema().getName(attribute));
+            }
+            for (int card = 0; card < deck.size(); card++) {
+                writeBinaryName(out, deck.getCardName(card));
+                for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                    out.writeInt(deck.getValue(card, attribute));
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the length and the UTF-8 bytes of the name.
+     *
+     * @param out the output to write to
+     * @param name the name
+     * @throws IOException if the output cannot be written or the name is
+     * longer than 65535 bytes
+     */
+    private static void writeBinaryName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("The name is longer than 65535 bytes: " + name.substring(0, 32) + "...");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes the cards of the deck to the file as a CSV catalog, quoting
+     * the names when needed.
+     *
+     * @param deck the source of the cards
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(CardSource deck, String path) throws IOException {
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("name");
+            for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                out.write(',');
+                out.write(quote(deck.getSchema().getName(attribute)));
+            }
+            out.write('\n');
+            for (int card = 0; card < deck.size(); card++) {
+                out.write(quote(deck.getCardName(card)));
+                for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                    out.write(',');
+                    out.write(Integer.toString(deck.getValue(card, attribute)));
+                }
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Returns the text as a CSV field, quoted if it has a comma, quote, line
+     * break, leading or trailing space, or starts with '#'.
+     *
+     * @param text the text
+     * @return the CSV field
+     */
+    private static String quote(String text) {
+        boolean quoted = text.isEmpty() || text.startsWith("#") || text.trim().length() != text.length();
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quoted ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+
+}
@@ -0,0 +1,204 @@
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The ColumnBuffer class is one column of a block of the columnar results
+ * file: the bytes of its values, written by the ColumnarExporter and read
+ * back by the ColumnarReader.
+ *
+ * A value is written as a VarInt, 7-bit groups the low ones first, as in
+ * the checkpoints of GameSnapshot, or as a run: runs of
+ * the same value are kept as the value and the length of the run, so a
+ * column of attribute choices repeated round after round takes a few bytes.
+ * The buffer is reused from block to block and only grows to the largest
+ * column.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+class ColumnBuffer {
+
+    /**
+     * the bytes of the column, the first size ones written
+     */
+    private byte[] bytes = new byte[1024];
+
+    /**
+     * the number of bytes written, or read into the buffer by readFrom()
+     */
+    private int size;
+
+    /**
+     * the index of the next byte to read
+     */
+    private int position;
+
+    /**
+     * the value of the run being written or read
+     */
+    private int runValue;
+
+    /**
+     * the length of the run being written, or the values left of the run
+     * being read
+     */
+    private int runLength;
+
+    /**
+     * Empties the buffer for the next block.
+     */
+    void clear() {
+        size = 0;
+        position = 0;
+        runLength = 0;
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Writes the number as a VarInt.
+     *
+     * @param number the number, negative ones taking 5 bytes
+     */
+    void putNumber(int number) {
+        ensure(VarInt.MAX_SIZE);
+        size = VarInt.put(bytes, size, number);
+    }
+
+    /**
+     * Writes the 8 bytes of the number, the high ones first.
+     *
+     * @param number the number
+     */
+    void putLong(long number) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[size++] = (byte) (number >>> shift);
+        }
+    }
+
+    /**
+     * Adds the value to the run being written, or ends it and starts another
+     * one if the value is different.
+     *
+     * @param value the value
+     */
+    void putRun(int value) {
+        if (runLength > 0 && value != runValue) {
+            endRun();
+        }
+        runValue = value;
+        runLength++;
+    }
+
+    /**
+     * Writes the run being written, if any, as its value and length.
+     */
+    void endRun() {
+        if (runLength > 0) {
+            putNumber(runValue);
+            putNumber(runLength);
+            runLength = 0;
+        }
+    }
+
+    /**
+     * Reads a number written by putNumber().
+     *
+     * @return the number
+     * @throws IOException if the column has no more number
+     */
+    int getNumber() throws IOException {
+        int number = VarInt.get(bytes, position, size);
+        position += VarInt.size(number);
+        return number;
+    }
+
+    /**
+     * Reads a number written by putLong().
+     *
+     * @return the number
+     * @throws IOException if the column has no more number
+     */
+    long getLong() throws IOException {
+        if (size - position < 8) {
+            throw new IOException("A column of the results is too short");
+        }
+        long number = 0;
+        for (int i = 0; i < 8; i++) {
+            number = (number << 8) | (bytes[position++] & 0xFF);
+        }
+        return number;
+    }
+
+    /**
+     * Reads the next value of the runs written by putRun().
+     *
+     * @return the value
+     * @throws IOException if the column has no more value
+     */
+    int getRun() throws IOException {
+        if (runLength == 0) {
+            runValue = getNumber();
+            runLength = getNumber();
+            if (runLength <= 0) {
+                throw new IOException("A run of the results is not a positive length: " + runLength);
+            }
+        }
+        runLength--;
+        return runValue;
+    }
+
+    /**
+     * Writes the size and the bytes of the column.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        VarInt.write(out, size);
+        out.write(bytes, 0, size);
+    }
+
+    /**
+     * Reads a column written by writeTo() in place of the bytes of the
+     * buffer.
+     *
+     * @param in the input to read from
+     * @throws IOException if the input cannot be read
+     */
+    void readFrom(DataInputStream in) throws IOException {
+        clear();
+        int length = VarInt.read(in);
+        if (length < 0) {
+            throw new IOException("A column size of the results is negative: " + length);
+        }
+        if (bytes.length < length) {
+            bytes = new byte[length];
+        }
+        in.readFully(bytes, 0, length);
+        size = length;
+    }
+
+    /**
+     * Makes room for the bytes to write.
+     *
+     * @param needed the number of bytes
+     */
+    private void ensure(int needed) {
+        if (size + needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + needed));
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The ColumnarExporter class writes the games to a column-oriented binary
+ * file, which is read by the ColumnarReader.
+ *
+ * The file starts with the MAGIC number and the VERSION. Then the games come
+ * in blocks of at most BLOCK_GAMES games or about BLOCK_ROUNDS rounds: the
+ * numbers of games and rounds of the block, the names of the strategies in
+ * it, and its COLUMNS columns, each the size of its bytes and the bytes, so a
+ * reader can skip the columns it does not need:
+ * <ul>
+ * <li>SEEDS: the seed of each game, 8 bytes.</li>
+ * <li>PLAYERS: the number of players of each game.</li>
+ * <li>STRATEGIES: the strategy of each player of each game, by its index in
+ * the names of the block.</li>
+ * <li>WINNERS: the winner of each game plus 1, 0 for a draw.</li>
+ * <li>ROUNDS: the number of rounds of each game.</li>
+ * <li>ROUND_NUMBERS: the number of each round less the number of the round
+ * before in the game, 0 before the first one (delta encoding), in runs of
+ * the same difference, so the rounds 1, 2, 3... of all the games of a block
+ * are one run.</li>
+ * <li>DECIDERS: the attribute-decider of each round.</li>
+ * <li>ATTRIBUTES: the runs of the same attribute decided (run-length
+ * encoding).</li>
+ * <li>ROUND_WINNERS: the winner of each round.</li>
+ * </ul>
+ * The numbers are VarInts, 7-bit groups written by ColumnBuffer, so a round
+ * usually takes 2 bytes and its share of the runs. Only the block being
+ * filled is kept, and it is written to the file once it is full, so the
+ * memory stays the same however many games are exported.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ColumnarExporter implements ResultsExporter {
+
+    static final int MAGIC = 0x54544352;
+    static final int VERSION = 1;
+
+    static final int SEEDS = 0;
+    static final int PLAYERS = 1;
+    static final int STRATEGIES = 2;
+    static final int WINNERS = 3;
+    static final int ROUNDS = 4;
+    static final int ROUND_NUMBERS = 5;
+    static final int DECIDERS = 6;
+    static final int ATTRIBUTES = 7;
+    static final int ROUND_WINNERS = 8;
+    static final int COLUMNS = 9;
+
+    /**
+     * the most games of a block
+     */
+    static final int BLOCK_GAMES = 1 << 12;
+
+    /**
+     * the number of rounds after which a block is written
+     */
+    static final int BLOCK_ROUNDS = 1 << 16;
+
+    /**
+     * the output of the file
+     */
+    private final DataOutputStream out;
+
+    /**
+     * the columns of the block being filled
+     */
+    private final ColumnBuffer[] columns = new ColumnBuffer[COLUMNS];
+
+    /**
+     * the names of the strategies of the block, in the order of their indexes
+     */
+    private final ArrayList<String> names = new ArrayList<>();
+
+    /**
+     * the indexes of the names of the strategies of the block
+     */
+    private final HashMap<String, Integer> nameIndexes = new HashMap<>();
+
+    /**
+     * the numbers of games and rounds of the block
+     */
+    private int blockGames;
+    private int blockRounds;
+
+    /**
+     * the number of games written
+     */
+    private long gamesNumber;
+
+    /**
+     * Class constructor. Constructs a ColumnarExporter writing to the file,
+     * which is created, or emptied if it exists.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public ColumnarExporter(Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        for (int column = 0; column < COLUMNS; column++) {
+            columns[column] = new ColumnBuffer();
+        }
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the game to the block, and writes the block if it is full.
+     *
+     * @param record the record of the game
+     */
+    @Override
+    public synchronized void export(GameRecord record) {
+        columns[SEEDS].putLong(record.getSeed());
+        columns[PLAYERS].putNumber(record.getPlayersNumber());
+        for (int player = 0; player < record.getPlayersNumber(); player++) {
+            columns[STRATEGIES].putNumber(nameIndex(record.getStrategy(player)));
+        }
+        columns[WINNERS].putNumber(record.getWinner() + 1);
+        columns[ROUNDS].putNumber(record.getRoundsNumber());
+        for (int i = 0; i < record.getRoundsNumber(); i++) {
+            int previous = (i == 0) ? 0 : record.getRound(i - 1);
+            columns[ROUND_NUMBERS].putRun(record.getRound(i) - previous);
+            columns[DECIDERS].putNumber(record.getDecider(i));
+            columns[ATTRIBUTES].putRun(record.getAttribute(i));
+            columns[ROUND_WINNERS].putNumber(record.getRoundWinner(i));
+        }
+        blockGames++;
+        blockRounds += record.getRoundsNumber();
+        gamesNumber++;
+        if (blockGames == BLOCK_GAMES || blockRounds >= BLOCK_ROUNDS) {
+            try {
+                writeBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the name of the strategy in the block, adding it
+     * the first time.
+     *
+     * @param name the name of the strategy
+     * @return the index of the name
+     */
+    private int nameIndex(String name) {
+        Integer index = nameIndexes.get(name);
+        if (index == null) {
+            index = names.size();
+            names.add(name);
+            nameIndexes.put(name, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes the block being filled, if it has any game, and starts another
+     * one.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void writeBlock() throws IOException {
+        if (blockGames == 0) {
+            return;
+        }
+        columns[ROUND_NUMBERS].endRun();
+        columns[ATTRIBUTES].endRun();
+        VarInt.write(out, blockGames);
+        VarInt.write(out, blockRounds);
+        VarInt.write(out, names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+        for (ColumnBuffer column : columns) {
+            column.writeTo(out);
+            column.clear();
+        }
+        names.clear();
+        nameIndexes.clear();
+        blockGames = 0;
+        blockRounds = 0;
+    }
+
+    /**
+     * Returns the number of games written.
+     *
+     * @return the gamesNumber
+     */
+    @Override
+    public synchronized long getGamesNumber() {
+        return gamesNumber;
+    }
+
+    /**
+     * Writes the last block and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            try {
+                writeBlock();
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * The ColumnarReader class reads back the games of a file written by the
+ * ColumnarExporter, one game after another into a GameRecord. Only one block
+ * is read at a time, so a file of any number of games is read in the memory
+ * of a block.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ColumnarReader implements AutoCloseable {
+
+    /**
+     * the input of the file
+     */
+    private final DataInputStream in;
+
+    /**
+     * the columns of the block being read
+     */
+    private final ColumnBuffer[] columns = new ColumnBuffer[ColumnarExporter.COLUMNS];
+
+    /**
+     * the names of the strategies of the block
+     */
+    private final ArrayList<String> names = new ArrayList<>();
+
+    /**
+     * the number of games of the block not read yet
+     */
+    private int gamesLeft;
+
+    /**
+     * Class constructor. Constructs a ColumnarReader of the file.
+     *
+     * @param file the file to read
+     * @throws IOException if the file cannot be read or is not a results file
+     */
+    public ColumnarReader(Path file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        for (int column = 0; column < columns.length; column++) {
+            columns[column] = new ColumnBuffer();
+        }
+        try {
+            if (in.readInt() != ColumnarExporter.MAGIC) {
+                throw new IOException("Not a results file: " + file);
+            }
+            int version = in.readByte();
+            if (version != ColumnarExporter.VERSION) {
+                throw new IOException("Not a results file of a known version: " + version);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next game into the record.
+     *
+     * @param record the record the game is read into
+     * @return <code>true</code> if a game is read <code>false</code> if there
+     * is no more game
+     * @throws IOException if the file cannot be read or is broken
+     */
+    public boolean next(GameRecord record) throws IOException {
+        if (gamesLeft == 0 && !readBlock()) {
+            return false;
+        }
+        gamesLeft--;
+        long seed = columns[ColumnarExporter.SEEDS].getLong();
+        int playersNumber = columns[ColumnarExporter.PLAYERS].getNumber();
+        if (playersNumber < 0) {
+            throw new IOException("The players number is negative: " + playersNumber);
+        }
+        record.start(seed, playersNumber);
+        for (int player = 0; player < playersNumber; player++) {
+            int index = columns[ColumnarExporter.STRATEGIES].getNumber();
+            if (index < 0 || index >= names.size()) {
+                throw new IOException("No strategy " + index + " in the block");
+            }
+            record.setStrategy(player, names.get(index));
+        }
+        record.setWinner(columns[ColumnarExporter.WINNERS].getNumber() - 1);
+        int roundsNumber = columns[ColumnarExporter.ROUNDS].getNumber();
+        int round = 0;
+        for (int i = 0; i < roundsNumber; i++) {
+            round += columns[ColumnarExporter.ROUND_NUMBERS].getRun();
+            record.addRound(round, columns[ColumnarExporter.DECIDERS].getNumber(),
+                    columns[ColumnarExporter.ATTRIBUTES].getRun(),
+                    columns[ColumnarExporter.ROUND_WINNERS].getNumber());
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return <code>true</code> if a block is read <code>false</code> if the
+     * file ends
+     * @throws IOException if the file cannot be read or is broken
+     */
+    private boolean readBlock() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return false;
+        }
+        int games = VarInt.read(in, first);
+        if (games <= 0) {
+            throw new IOException("The games number of a block is not a positive Integer: " + games);
+        }
+        VarInt.read(in);
+        int namesNumber = VarInt.read(in);
+        names.clear();
+        for (int i = 0; i < namesNumber; i++) {
+            names.add(in.readUTF());
+        }
+        for (ColumnBuffer column : columns) {
+            column.readFrom(in);
+        }
+        gamesLeft = games;
+        return true;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,156 @@
+
+import java.io.PrintStream;
+
+/**
+ * The ConsoleGameListener class prints the events of a game as the messages of
+ * the interactive game.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ConsoleGameListener implements GameEventListener {
+
+    /**
+     * the stream the messages are printed to
+     */
+    private final PrintStream console;
+
+    /**
+     * Class sole constructor. Constructs a ConsoleGameListener printing to the
+     * console stream.
+     *
+     * @param console the stream the messages are printed to
+     */
+    public ConsoleGameListener(PrintStream console) {
+        this.console = console;
+    }
+
+    @Override
+    public void playerJoined(Player player) {
+        console.print(player.getJoiningMessage());
+    }
+
+    @Override
+    public void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+        console.println("===================================================Start===================================================");
+        console.format("[System] We will play <%s>\n", deckType);
+        //show the players and their name
+        console.format("[System] We have %d players: \n", playersNumber);
+        showPlayerStates(players, cardsNumbers, playersNumber);
+        console.println("\n[Rules] \n"
+                + "1. In the 1st round, the 1st player would be the default Attribute-decider;\n"
+                + "while in later rounds, the winner of last round will be so.\n"
+                + "2. If there are ties in a round, simply choose as the winner\n"
+                + "the player who is closest to the first player that was entered in the game");
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        console.format("\n================================================Round %d===================================================\n", round);
+    }
+
+    @Override
+    public void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+        AttributeSchema schema = decider.getCards().getDeck().getSchema();
+        StringBuilder attributeList = new StringBuilder();
+        for (int i = 0; i < attributesNumber; i++) {
+            attributeList.append(i + 1).append(" = ").append(schema.getName(i)).append(", \n");
+        }
+        console.println("[System]<" + deckType + "> has following attributes:\n" + attributeList);
+        console.format("[Nominated Player] The attribute-decider is the Player: \n!!! %s !!!\n",
+                decider.getPlayerName());
+
+        //start to choose and search for the attribute
+        console.println("[System] Choose an attribute from as above in this round, enter its Index: ");
+    }
+
+    @Override
+    public void attributeDecided(Player decider, int attributeIndex) {
+        String note = decider.getSelectionNote();
+        if (note != null) {
+            console.println(note);
+        }
+        console.format("\n[Attribute] %s to be played with!\n", decider.getCards().getDeck().getSchema().getName(attributeIndex));
+    }
+
+    @Override
+    public void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+        console.println("[TOP cards] Here are all top cards: ");
+        console.println("------------------------------------------------------------------------------------");
+        for (int i = 0; i < playersNumber; i++) {
+            Card topCard = deck.getCard(topCards[i]);
+            console.format("| %-17s| %-7s | %s\n", players[i].getPlayerName(), topCard.getCardName(),
+                    topCard.showAllValue());
+        }
+        console.println("------------------------------------------------------------------------------------");
+        console.println("[System] Comparing....");
+    }
+
+    @Override
+    public void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner) {
+        String chosenAttribute = first.getCards().getDeck().getSchema().getName(attributeIndex);
+        console.println("\n[System] Next two: ");
+        console.format("-- Player: %-17s| %s value: %d\n", first.getPlayerName(), chosenAttribute, firstValue);
+        console.format("-- Player: %-17s| %s value: %d\n", second.getPlayerName(), chosenAttribute, secondValue);
+        console.println("[Result] " + winner.getPlayerName() + "'s is bigger");
+    }
+
+    @Override
+    public void cardLost(Player player, int card) {
+        console.format("[Card Lost] %s loses a card.\n", player.getPlayerName());
+    }
+
+    @Override
+    public void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+        console.format("\n================================================Round Winner: %s=============================================\n",
+                winner.getPlayerName());
+        showPlayerStates(players, cardsNumbers, playersNumber);
+        console.println("");
+    }
+
+    @Override
+    public void playerOut(Player player) {
+        console.format("\n[Players Out] %s has no card and is out !!!!", player.getPlayerName());
+    }
+
+    @Override
+    public void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+        console.print("\n**********************************************************************");
+        console.format("\n[Existing Players] Now there are %d player(s): %d human and %d computer(s)\n",
+                playersNumber, humanNumber, computersNumber);
+        console.print("**********************************************************************\n");
+    }
+
+    @Override
+    public void gameOver(Player winner, int cardsNumber) {
+        console.println("===================================================End===================================================");
+        console.format("\n[System] Winner is %s, with totally %d cards, Congratulations !\n\n",
+                winner.getPlayerName(), cardsNumber);
+    }
+
+    @Override
+    public void gameDrawn(int rounds) {
+        console.println("===================================================End===================================================");
+        console.format("\n[System] No winner after %d rounds, it is a draw !\n\n", rounds);
+    }
+
+    /**
+     * Shows the real-time player decks' states.
+     *
+     * @param players the players, in the first playersNumber elements
+     * @param cardsNumbers the number of cards of each player
+     * @param playersNumber the number of players
+     */
+    private void showPlayerStates(Player[] players, int[] cardsNumbers, int playersNumber) {
+        console.println("\n        ------------------Now, Players-----------------");
+        for (int i = 0; i < playersNumber; i++) {
+            console.format("        Player %d: %-20s ", i + 1, players[i].getPlayerName());
+            console.print(" | ");
+            console.format("has %d card(s) ", cardsNumbers[i]);
+            console.println("| ");
+            console.println("        ------------------------------------------------");
+        }
+    }
+
+}
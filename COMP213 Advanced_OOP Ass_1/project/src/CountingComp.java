@@ -0,0 +1,287 @@
+
+import java.util.Arrays;
+
+/**
+ * The CountingComp class inherits from the Player class, and implements the
+ * abstract method selectAttribute() by counting the cards.
+ *
+ * The player knows all the cards of the deck, and follows the cards revealed
+ * in every round: the cards it wins are taken out of the opponents' cards,
+ * and its cards lost are put in. For each attribute it keeps the counts of the
+ * opponents' values in a Fenwick tree of V different values, so a card moving
+ * and the chance of a value beating a card of an opponent are
+ * O(attributes &times; log V), and no object is created per round. The values
+ * are counted by their ranks among the different values of the deck, so the
+ * trees stay small whatever the range of the values of a catalog. The cards
+ * are read from any CardSource, so the cards of a lazy ProceduralDeck are
+ * counted as well, made once each when the player first counts them.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class CountingComp extends Player {
+
+    /**
+     * the deck the counts are about
+     */
+    private CardSource deck;
+
+    /**
+     * the rank of the value of each attribute of each card among the
+     * different values of the deck, a row of the attributes per card
+     */
+    private int[] ranks;
+
+    /**
+     * the number of different values of the deck
+     */
+    private int valuesNumber;
+
+    /**
+     * the Fenwick trees of the counts of the opponents' values, one of
+     * <code>valuesNumber + 1</code> per attribute
+     */
+    private int[] trees;
+
+    /**
+     * the counts of the opponents' values, one column of
+     * <code>valuesNumber</code> per attribute
+     */
+    private int[] counts;
+
+    /**
+     * the number of the opponents' cards
+     */
+    private int opponentCards;
+
+    /**
+     * whether each card is counted as an opponent's card
+     */
+    private boolean[] opponentCard;
+
+    /**
+     * whether the counts follow the cards of the game
+     */
+    private boolean counted;
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     */
+    public CountingComp(String playerName, Hand cards) {
+        super("CountC_" + playerName, cards);
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Counting-Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return "[Counting]...Selecting the one most likely to win against the cards left";
+    }
+
+    /**
+     * Returns the Attribute with the highest chance to beat a card of the
+     * opponents, the first one if there are ties.
+     *
+     * @return the attribute this player selects
+     */
+    @Override
+    public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns <code>true</code> as this player selects by its own cards and
+     * the cards left to the opponents.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isPositional() {
+        return true;
+    }
+
+    /**
+     * Returns the index of the Attribute with the highest chance to beat a
+     * card of the opponents, the first one if there are ties.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        int card = getCards().peek();
+        count();
+        int best = 0;
+        long bestScore = -1;
+        for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+            int value = ranks[card * deck.getAttributesNumber() + attribute];
+            //twice the cards beaten, with a tie as half
+            long score = 2L * countBelow(attribute, value) + counts[attribute * valuesNumber + value];
+            if (score > bestScore) {
+                best = attribute;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the chance of the attribute of the top card to beat a card of
+     * the opponents, with a tie as half.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @return the win probability, between 0 and 1
+     */
+    public double getWinProbability(int attribute) {
+        count();
+        if (opponentCards == 0) {
+            return 1;
+        }
+        int value = ranks[getCards().peek() * deck.getAttributesNumber() + attribute];
+        return (countBelow(attribute, value) + counts[attribute * valuesNumber + value] / 2.0) / opponentCards;
+    }
+
+    /**
+     * Moves the revealed cards between its own cards and the opponents' ones
+     * by the winner of the round.
+     *
+     * @param winner the winner of the round
+     * @param attributeIndex the attribute of the round, starting from 0
+     * @param players the players, in the first playersNumber elements
+     * @param topCards the id of the top card of each player
+     * @param playersNumber the number of players
+     */
+    @Override
+    protected void roundPlayed(Player winner, int attributeIndex, Player[] players, int[] topCards,
+            int playersNumber) {
+        count();
+        for (int i = 0; i < playersNumber; i++) {
+            move(topCards[i], winner != this);
+        }
+    }
+
+    /**
+     * Counts the cards again from the restored hands when asked for next.
+     */
+    @Override
+    protected void restored() {
+        counted = false;
+    }
+
+    /**
+     * Counts the cards of the deck not in its own cards as the opponents'
+     * ones, the first time it is asked for. The arrays are reused when the
+     * cards are counted again for the same deck.
+     */
+    private void count() {
+        if (counted) {
+            return;
+        }
+        counted = true;
+        CardSource cardsDeck = getCards().getDeck();
+        if (cardsDeck == deck && opponentCard.length == deck.size()) {
+            Arrays.fill(trees, 0);
+            Arrays.fill(counts, 0);
+            Arrays.fill(opponentCard, false);
+            opponentCards = 0;
+        } else {
+            deck = cardsDeck;
+            allocate();
+        }
+        for (int card = 0; card < deck.size(); card++) {
+            move(card, true);
+        }
+        for (int i = 0; i < getCards().size(); i++) {
+            move(getCards().get(i), false);
+        }
+    }
+
+    /**
+     * Ranks the values of the deck and makes the arrays of the counts for
+     * them, all 0.
+     */
+    private void allocate() {
+        int size = deck.size();
+        int attributesNumber = deck.getAttributesNumber();
+        int[] values = new int[size * attributesNumber];
+        for (int card = 0; card < size; card++) {
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                values[card * attributesNumber + attribute] = deck.getValue(card, attribute);
+            }
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        ranks = values;
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = Arrays.binarySearch(sorted, 0, distinct, values[i]);
+        }
+        valuesNumber = Math.max(distinct, 1);
+        trees = new int[attributesNumber * (valuesNumber + 1)];
+        counts = new int[attributesNumber * valuesNumber];
+        opponentCard = new boolean[size];
+        opponentCards = 0;
+    }
+
+    /**
+     * Counts the card as an opponent's one or not.
+     *
+     * @param card the id of the card
+     * @param toOpponents whether the card is an opponent's one
+     */
+    private void move(int card, boolean toOpponents) {
+        if (opponentCard[card] == toOpponents) {
+            return;
+        }
+        opponentCard[card] = toOpponents;
+        int delta = toOpponents ? 1 : -1;
+        opponentCards += delta;
+        for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+            int value = ranks[card * deck.getAttributesNumber() + attribute];
+            counts[attribute * valuesNumber + value] += delta;
+            int tree = attribute * (valuesNumber + 1);
+            for (int i = value + 1; i <= valuesNumber; i += i & -i) {
+                trees[tree + i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the opponents' cards with the attribute below the
+     * value.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @param value the rank of the value
+     * @return the number of cards below the value
+     */
+    private int countBelow(int attribute, int value) {
+        int tree = attribute * (valuesNumber + 1);
+        int below = 0;
+        for (int i = value; i > 0; i -= i & -i) {
+            below += trees[tree + i];
+        }
+        return below;
+    }
+
+}
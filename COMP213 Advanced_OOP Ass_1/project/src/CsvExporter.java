@@ -0,0 +1,132 @@
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The CsvExporter class writes the games to two CSV files, for the tools
+ * that cannot read the columnar file of the ColumnarExporter: one line per
+ * game,
+ * <pre>
+ * game,seed,players,strategies,winner,rounds
+ * </pre>
+ * with the strategies of the players separated by ';' and -1 as the winner
+ * of a draw, and one line per round,
+ * <pre>
+ * game,round,decider,attribute,winner
+ * </pre>
+ * where game is the number of the game in the order of the games written,
+ * starting from 0. The lines are written through buffers as the games end.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class CsvExporter implements ResultsExporter {
+
+    /**
+     * the output of the games file
+     */
+    private final BufferedWriter games;
+
+    /**
+     * the output of the rounds file
+     */
+    private final BufferedWriter rounds;
+
+    /**
+     * the line being written
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * the number of games written
+     */
+    private long gamesNumber;
+
+    /**
+     * Class constructor. Constructs a CsvExporter writing to the files, which
+     * are created, or emptied if they exist.
+     *
+     * @param gamesFile the file of the games
+     * @param roundsFile the file of the rounds
+     * @throws IOException if the files cannot be written
+     */
+    public CsvExporter(Path gamesFile, Path roundsFile) throws IOException {
+        this.games = Files.newBufferedWriter(gamesFile, StandardCharsets.UTF_8);
+        try {
+            this.rounds = Files.newBufferedWriter(roundsFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            games.close();
+            throw e;
+        }
+        try {
+            games.write("game,seed,players,strategies,winner,rounds\n");
+            rounds.write("game,round,decider,attribute,winner\n");
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the line of the game and the lines of its rounds.
+     *
+     * @param record the record of the game
+     */
+    @Override
+    public synchronized void export(GameRecord record) {
+        try {
+            line.setLength(0);
+            line.append(gamesNumber).append(',').append(record.getSeed()).append(',')
+                    .append(record.getPlayersNumber()).append(',');
+            for (int player = 0; player < record.getPlayersNumber(); player++) {
+                if (player > 0) {
+                    line.append(';');
+                }
+                line.append(record.getStrategy(player));
+            }
+            line.append(',').append(record.getWinner()).append(',').append(record.getRoundsNumber()).append('\n');
+            games.append(line);
+            for (int i = 0; i < record.getRoundsNumber(); i++) {
+                line.setLength(0);
+                line.append(gamesNumber).append(',').append(record.getRound(i)).append(',')
+                        .append(record.getDecider(i)).append(',').append(record.getAttribute(i)).append(',')
+                        .append(record.getRoundWinner(i)).append('\n');
+                rounds.append(line);
+            }
+            gamesNumber++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of games written.
+     *
+     * @return the gamesNumber
+     */
+    @Override
+    public synchronized long getGamesNumber() {
+        return gamesNumber;
+    }
+
+    /**
+     * Writes the lines left in the buffers and closes the files.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            try {
+                games.close();
+            } finally {
+                rounds.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -1,16 +1,33 @@
 
-import java.util.Scanner;
+import java.io.PrintStream;
 
 /**
  * The InputOutput class implements several method 
  * taking the human input from the keyboard.
  *
+ * The answers are read from an InputSource: the keyboard by default, or a
+ * file, pipe or script given to a Game, with the prompts and warnings
+ * printed to the console of the game.
+ *
  * @author Shuffle
  * @version 1.0
  */
 public class DataInput {
 
-    static Scanner scanner = new Scanner(System.in);
+    /**
+     * the source of the keyboard, read by default
+     */
+    private static final InputSource KEYBOARD = new BufferedInputSource(System.in);
+
+    /**
+     * Returns the source of the keyboard, which all the games read by
+     * default.
+     *
+     * @return the keyboard input source
+     */
+    public static InputSource keyboard() {
+        return KEYBOARD;
+    }
 
     /**
      * Returns the name user inputs.
@@ -18,8 +35,19 @@ public class DataInput {
      * @return the name String
      */
     public static String inputName() {
-        System.out.println("[System] Name ?");
-        return inputString();
+        return inputName(KEYBOARD, System.out);
+    }
+
+    /**
+     * Returns the name read from the source, asking for it on the console.
+     *
+     * @param source the source of the answers
+     * @param console the stream the prompts are printed to
+     * @return the name String
+     */
+    public static String inputName(InputSource source, PrintStream console) {
+        console.println("[System] Name ?");
+        return inputString(source, console);
     }
 
     /**
@@ -30,35 +58,32 @@ public class DataInput {
      * @return the integer the user inputs
      */
     public static int inputInteger() {
+        return inputInteger(KEYBOARD, System.out);
+    }
 
-        System.out.print(">>> ");
-        int number = 0;
+    /**
+     * Returns the positive integer read from the source, reading again after
+     * a warning on the console until the input is valid.
+     *
+     * @param source the source of the answers
+     * @param console the stream the prompts are printed to
+     * @return the integer read
+     */
+    public static int inputInteger(InputSource source, PrintStream console) {
+        console.print(">>> ");
         while (true) {
-            class Input { // local class in the while-loop
-
-                public int number;
-
-                Input(String s) {
-                    try {
-                        number = Integer.parseInt(s);
-                        if (number <= 0) {
-                            System.out.print("[Warning] Input is not a positive Integer, please enter again:\n");
-                            System.out.print(">>> ");
-                        }
-                    } catch (NumberFormatException e) {
-                        System.out.println("[Warning] Input is not an Integer, please enter again: ");
-                        System.out.print(">>> ");
-                    }
+            String s = source.readLine();
+            try {
+                int number = Integer.parseInt(s);
+                if (number > 0) {
+                    return number;
                 }
+                console.print("[Warning] Input is not a positive Integer, please enter again:\n");
+            } catch (NumberFormatException e) {
+                console.println("[Warning] Input is not an Integer, please enter again: ");
             }
-            String s = scanner.nextLine();
-            Input input = new Input(s);
-            number = input.number;
-            if (number > 0) {
-                break;
-            }
+            console.print(">>> ");
         }
-        return number;
     }
 
     /**
@@ -67,8 +92,19 @@ public class DataInput {
      * @return the String input
      */
     public static String inputString() {
-        System.out.print(">>> ");
-        return scanner.nextLine();
+        return inputString(KEYBOARD, System.out);
+    }
+
+    /**
+     * Returns the next line read from the source, prompting on the console.
+     *
+     * @param source the source of the answers
+     * @param console the stream the prompts are printed to
+     * @return the String input
+     */
+    public static String inputString(InputSource source, PrintStream console) {
+        console.print(">>> ");
+        return source.readLine();
     }
 
 }
@@ -0,0 +1,31 @@
+
+/**
+ * The DeckGeneration enum is how the values of the cards dealt in a game are
+ * made up. The procedural cards are a function of the seed of the game and
+ * the card id, so a deck of them can be kept whole or made on access with
+ * the same cards.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public enum DeckGeneration {
+
+    /**
+     * the values are drawn from a random stream split for each deal, and kept
+     * in the deck
+     */
+    STREAMED,
+
+    /**
+     * the values and names are made from the seed and the card id at the
+     * deal, and kept in the deck
+     */
+    PROCEDURAL,
+
+    /**
+     * the values and names are made from the seed and the card id whenever
+     * they are read, and nothing is kept but the number of cards
+     */
+    LAZY
+
+}
@@ -0,0 +1,210 @@
+
+import java.util.Arrays;
+
+/**
+ * The DeckIndex class keeps the facts of every card of a DeckStore computed
+ * once after the cards are dealt: the attribute with the highest value, the
+ * rank of each value within its attribute column, and the chance of each
+ * attribute to beat the card of another player. The AI players read them by
+ * the card id without searching the deck or creating objects.
+ *
+ * The rank of a value is the number of cards with a lower value of the same
+ * attribute. The win probability counts a tie with another card as half a
+ * win, as the seat order breaks the ties.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class DeckIndex {
+
+    /**
+     * the number of cards indexed
+     */
+    private final int size;
+
+    /**
+     * the number of attributes of every card
+     */
+    private final int attributesNumber;
+
+    /**
+     * the index of the highest attribute of each card
+     */
+    private final int[] highestIndexes;
+
+    /**
+     * the index of the attribute most likely to win of each card
+     */
+    private final int[] bestIndexes;
+
+    /**
+     * the ranks, a column of <code>size</code> per attribute
+     */
+    private final int[] ranks;
+
+    /**
+     * the win probabilities, a column of <code>size</code> per attribute
+     */
+    private final float[] winProbabilities;
+
+    /**
+     * Class constructor. Constructs the DeckIndex of the cards of the source.
+     *
+     * @param deck the source of the cards
+     */
+    public DeckIndex(CardSource deck) {
+        this.size = deck.size();
+        this.attributesNumber = deck.getAttributesNumber();
+        this.highestIndexes = new int[size];
+        this.bestIndexes = new int[size];
+        this.ranks = new int[attributesNumber * size];
+        this.winProbabilities = new float[attributesNumber * size];
+
+        int[] column = new int[size];
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            for (int card = 0; card < size; card++) {
+                column[card] = deck.getValue(card, attribute);
+            }
+            Arrays.sort(column);
+            for (int card = 0; card < size; card++) {
+                int value = deck.getValue(card, attribute);
+                int lower = firstNotBelow(column, value);
+                int equal = firstAbove(column, value) - lower - 1;
+                ranks[attribute * size + card] = lower;
+                winProbabilities[attribute * size + card] = size == 1 ? 1f : (lower + equal / 2f) / (size - 1);
+            }
+        }
+        for (int card = 0; card < size; card++) {
+            highestIndexes[card] = deck.getHighestIndex(card);
+            int best = 0;
+            for (int attribute = 1; attribute < attributesNumber; attribute++) {
+                if (winProbabilities[attribute * size + card] > winProbabilities[best * size + card]) {
+                    best = attribute;
+                }
+            }
+            bestIndexes[card] = best;
+        }
+    }
+
+    /**
+     * Returns the position of the first value not below the value in the
+     * sorted column.
+     *
+     * @param column the sorted values
+     * @param value the value to search
+     * @return the position of the first value not below it
+     */
+    private static int firstNotBelow(int[] column, int value) {
+        int low = 0;
+        int high = column.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (column[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position of the first value above the value in the sorted
+     * column, without adding to the value, which may be the largest Integer.
+     *
+     * @param column the sorted values
+     * @param value the value to search
+     * @return the position of the first value above it
+     */
+    private static int firstAbove(int[] column, int value) {
+        int low = 0;
+        int high = column.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (column[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the attribute with the highest value of the card,
+     * the first one if there are ties.
+     *
+     * @param card the id of the card
+     * @return the index of the highest attribute
+     */
+    public int getHighestIndex(int card) {
+        return highestIndexes[card];
+    }
+
+    /**
+     * Returns the index of the attribute of the card most likely to beat the
+     * card of another player, the first one if there are ties.
+     *
+     * @param card the id of the card
+     * @return the index of the best attribute
+     */
+    public int getBestIndex(int card) {
+        return bestIndexes[card];
+    }
+
+    /**
+     * Returns the number of cards with a lower value of the attribute than
+     * the card.
+     *
+     * @param card the id of the card
+     * @param attribute the attribute index, starting from 0
+     * @return the rank of the value
+     */
+    public int getRank(int card, int attribute) {
+        return ranks[attribute * size + card];
+    }
+
+    /**
+     * Returns the chance of the attribute of the card to beat the card of
+     * another player, drawn from the rest of the deck.
+     *
+     * @param card the id of the card
+     * @param attribute the attribute index, starting from 0
+     * @return the win probability, between 0 and 1
+     */
+    public float getWinProbability(int card, int attribute) {
+        return winProbabilities[attribute * size + card];
+    }
+
+    /**
+     * Returns the chance of the attribute of the card to beat the cards of
+     * all the other players, taking the cards as drawn one by one.
+     *
+     * @param card the id of the card
+     * @param attribute the attribute index, starting from 0
+     * @param opponents the number of other players
+     * @return the win probability, between 0 and 1
+     */
+    public double getWinProbability(int card, int attribute, int opponents) {
+        return Math.pow(winProbabilities[attribute * size + card], opponents);
+    }
+
+    /**
+     * Returns the number of cards indexed.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of attributes of every card.
+     *
+     * @return the attributesNumber
+     */
+    public int getAttributesNumber() {
+        return attributesNumber;
+    }
+
+}
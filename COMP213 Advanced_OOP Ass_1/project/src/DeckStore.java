@@ -0,0 +1,250 @@
+
+import java.util.SplittableRandom;
+
+/**
+ * The DeckStore class keeps all the cards of a game packed in one int array,
+ * a column of values per attribute, so that the cards are identified by their
+ * ids (the indexes in the store) instead of being separate objects.
+ *
+ * The value of the attribute a of the card c is at
+ * <code>values[a * capacity + c]</code>.
+ *
+ * A DeckStore is the CardSource the cards can be added to, and the one
+ * indexed by a DeckIndex once they are dealt.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class DeckStore implements CardSource {
+
+    /**
+     * the number of attributes of every card
+     */
+    private final int attributesNumber;
+
+    /**
+     * the names of the attributes by their indexes
+     */
+    private final AttributeSchema schema;
+
+    /**
+     * the attribute values, a column of <code>capacity</code> per attribute
+     */
+    private int[] values;
+
+    /**
+     * the names of the cards by their ids
+     */
+    private String[] cardNames;
+
+    /**
+     * the number of cards the columns can hold
+     */
+    private int capacity;
+
+    /**
+     * the number of cards in the store
+     */
+    private int size;
+
+    /**
+     * the index of the cards, built when it is first asked for after a change
+     */
+    private DeckIndex index;
+
+    /**
+     * Class constructor. Constructs an empty DeckStore of cards with the
+     * number of attributes.
+     *
+     * @param attributesNumber the number of attributes of every card
+     */
+    public DeckStore(int attributesNumber) {
+        this(attributesNumber, 16);
+    }
+
+    /**
+     * Class constructor. Constructs an empty DeckStore of cards with the
+     * number of attributes, able to hold the number of cards before growing.
+     *
+     * @param attributesNumber the number of attributes of every card
+     * @param capacity the initial number of cards to hold
+     */
+    public DeckStore(int attributesNumber, int capacity) {
+        this(checkAttributesNumber(attributesNumber), capacity);
+    }
+
+    /**
+     * Class constructor. Constructs an empty DeckStore of cards with the
+     * attributes of the schema, able to hold the number of cards before
+     * growing.
+     *
+     * @param schema the names of the attributes of every card
+     * @param capacity the initial number of cards to hold
+     */
+    public DeckStore(AttributeSchema schema, int capacity) {
+        this.schema = schema;
+        this.attributesNumber = schema.size();
+        this.capacity = Math.max(capacity, 1);
+        this.values = new int[attributesNumber * this.capacity];
+        this.cardNames = new String[this.capacity];
+    }
+
+    /**
+     * Returns the generic schema of the number of attributes, checking the
+     * number first.
+     *
+     * @param attributesNumber the number of attributes of every card
+     * @return the schema of "Attribute_1" to "Attribute_n"
+     */
+    private static AttributeSchema checkAttributesNumber(int attributesNumber) {
+        if (attributesNumber <= 0) {
+            throw new IllegalArgumentException("The attributes number is not a positive Integer: " + attributesNumber);
+        }
+        return AttributeSchema.generic(attributesNumber);
+    }
+
+    /**
+     * Adds a card with random values between 0 and 9 (both inclusively) for
+     * all the attributes.
+     *
+     * @param cardName the name of the card
+     * @param random the random stream of the values
+     * @return the id of the card added
+     */
+    public int addCard(String cardName, SplittableRandom random) {
+        int card = newCard(cardName);
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            values[attribute * capacity + card] = random.nextInt(10);
+        }
+        return card;
+    }
+
+    /**
+     * Adds the next card of the procedural deck of the seed, with the values
+     * and the name it has in a ProceduralDeck of the seed.
+     *
+     * @param deckSeed the seed of the values
+     * @return the id of the card added
+     */
+    public int addProceduralCard(long deckSeed) {
+        int card = newCard(ProceduralDeck.nameOf(size));
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            values[attribute * capacity + card] = ProceduralDeck.valueOf(deckSeed, card, attribute);
+        }
+        return card;
+    }
+
+    /**
+     * Adds a card with the values of all the attributes.
+     *
+     * @param cardName the name of the card
+     * @param cardValues the values by the attribute index
+     * @return the id of the card added
+     */
+    public int addCard(String cardName, int[] cardValues) {
+        if (cardValues.length != attributesNumber) {
+            throw new IllegalArgumentException("The card has " + cardValues.length
+                    + " values, not " + attributesNumber);
+        }
+        int card = newCard(cardName);
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            values[attribute * capacity + card] = cardValues[attribute];
+        }
+        return card;
+    }
+
+    /**
+     * Reserves the id of a new card, growing the columns if they are full.
+     *
+     * @param cardName the name of the card
+     * @return the id of the new card
+     */
+    private int newCard(String cardName) {
+        if (size == capacity) {
+            grow(capacity * 2);
+        }
+        cardNames[size] = cardName;
+        return size++;
+    }
+
+    /**
+     * Moves all the columns into larger ones.
+     *
+     * @param newCapacity the number of cards the new columns can hold
+     */
+    private void grow(int newCapacity) {
+        int[] newValues = new int[attributesNumber * newCapacity];
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            System.arraycopy(values, attribute * capacity, newValues, attribute * newCapacity, size);
+        }
+        String[] newNames = new String[newCapacity];
+        System.arraycopy(cardNames, 0, newNames, 0, size);
+        values = newValues;
+        cardNames = newNames;
+        capacity = newCapacity;
+    }
+
+    @Override
+    public int getValue(int card, int attribute) {
+        return values[attribute * capacity + card];
+    }
+
+    /**
+     * Returns the index of the attribute with the highest value of the card,
+     * the first one if there are ties, from the index if it is built for all
+     * the cards.
+     *
+     * @param card the id of the card
+     * @return the index of the highest attribute
+     */
+    @Override
+    public int getHighestIndex(int card) {
+        if (index != null && index.size() == size) {
+            return index.getHighestIndex(card);
+        }
+        int highest = 0;
+        int highestValue = values[card];
+        for (int attribute = 1; attribute < attributesNumber; attribute++) {
+            int value = values[attribute * capacity + card];
+            if (value > highestValue) {
+                highest = attribute;
+                highestValue = value;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Returns the index of the facts of the cards, building it again if cards
+     * were added since it was built.
+     *
+     * @return the index of the cards
+     */
+    public DeckIndex getIndex() {
+        if (index == null || index.size() != size) {
+            index = new DeckIndex(this);
+        }
+        return index;
+    }
+
+    @Override
+    public String getCardName(int card) {
+        return cardNames[card];
+    }
+
+    @Override
+    public int getAttributesNumber() {
+        return attributesNumber;
+    }
+
+    @Override
+    public AttributeSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,280 @@
+
+
+import java.util.SplittableRandom;
+
+/**
+ * The EndgameComp class inherits from the Player class, and implements the
+ * abstract method selectAttribute() by solving the endgame.
+ *
+ * While many cards are left, the player selects the attribute with the
+ * highest value like the SmartComp. Once the players in the game have at most
+ * the threshold of cards in total, it solves the deals of the cards it cannot
+ * see. Like the MctsComp, it knows which cards are left but not who holds
+ * them in what order, so it deals them at random to the other players,
+ * keeping their numbers of cards, solves each deal by an EndgameSolver, and
+ * selects the attribute with the best results over the deals, a win counting
+ * 2 and a draw 1. The highest value is selected again if the solver runs out
+ * of positions.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class EndgameComp extends Player {
+
+    /**
+     * the default largest number of cards left for which the game is solved
+     */
+    public static final int DEFAULT_THRESHOLD = 8;
+
+    /**
+     * the default number of deals of the hidden cards solved per decision
+     */
+    public static final int DEFAULT_DEALS = 16;
+
+    /**
+     * the largest number of cards left for which the game is solved
+     */
+    private final int threshold;
+
+    /**
+     * the number of deals of the hidden cards solved per decision
+     */
+    private final int deals;
+
+    /**
+     * the solver, created on the first endgame
+     */
+    private EndgameSolver solver;
+
+    /**
+     * the number of deals solved for the last decision, 0 if it was not
+     * solved, and how many of them the attribute selected wins and draws
+     */
+    private int lastDeals;
+    private int lastWins;
+    private int lastDraws;
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, solving the game from the default threshold.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     */
+    public EndgameComp(String playerName, Hand cards) {
+        this(playerName, cards, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, solving the game once at most the threshold of cards is left.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     * @param threshold the largest number of cards left for which the game is
+     * solved
+     */
+    public EndgameComp(String playerName, Hand cards, int threshold) {
+        this(playerName, cards, threshold, DEFAULT_DEALS);
+    }
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, solving the number of deals of the hidden cards once at most the
+     * threshold of cards is left.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     * @param threshold the largest number of cards left for which the game is
+     * solved
+     * @param deals the number of deals solved per decision
+     * @throws IllegalArgumentException if the deals are not positive
+     */
+    public EndgameComp(String playerName, Hand cards, int threshold, int deals) {
+        super("EndgC_" + playerName, cards);
+        if (deals <= 0) {
+            throw new IllegalArgumentException("The deals number is not a positive Integer: " + deals);
+        }
+        this.threshold = threshold;
+        this.deals = deals;
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] An Endgame-Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        if (lastDeals == 0) {
+            return "[Searching]...Searching the one with highest value";
+        }
+        return String.format("[Solving]...%d deals of the hidden cards solved, winning %d and drawing %d",
+                lastDeals, lastWins, lastDraws);
+    }
+
+    /**
+     * Returns the Attribute best in the endgame, or with the highest value
+     * before it.
+     *
+     * @return the attribute this player selects
+     */
+    @Override
+    public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns the index of the Attribute best in the endgame, or with the
+     * highest value before it.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        lastDeals = 0;
+        if (getCardsLeft() <= threshold && EndgameSolver.canSolve(getGame())) {
+            if (solver == null) {
+                solver = new EndgameSolver();
+            }
+            int best = solveDeals();
+            if (best >= 0) {
+                return best;
+            }
+        }
+        return getCards().getDeck().getHighestIndex(getCards().peek());
+    }
+
+    /**
+     * Solves the deals of the hidden cards and returns the attribute with the
+     * best results, the first one if there are ties.
+     *
+     * @return the attribute index, or -1 if the solver runs out of positions
+     */
+    private int solveDeals() {
+        ActivePlayers players = getGame().getActivePlayers();
+        int[][] hands = new int[players.size()][];
+        int[] hidden = new int[getCardsLeft()];
+        int hiddenNumber = 0;
+        int i = 0;
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat), i++) {
+            Player player = players.get(seat);
+            Hand hand = player.getCards();
+            hands[i] = new int[hand.size()];
+            for (int j = 0; j < hand.size(); j++) {
+                //only the cards left are known of the other hands
+                if (player == this) {
+                    hands[i][j] = hand.get(j);
+                } else {
+                    hidden[hiddenNumber++] = hand.get(j);
+                }
+            }
+        }
+
+        int attributesNumber = getCards().getDeck().getAttributesNumber();
+        int[] wins = new int[attributesNumber];
+        int[] draws = new int[attributesNumber];
+        SplittableRandom random = getRandomStream();
+        for (int deal = 0; deal < deals; deal++) {
+            int next = 0;
+            for (int seat = players.first(), h = 0; seat >= 0; seat = players.next(seat), h++) {
+                if (players.get(seat) == this) {
+                    continue;
+                }
+                for (int j = 0; j < hands[h].length; j++) {
+                    //draw one of the hidden cards not dealt yet
+                    int drawn = next + random.nextInt(hiddenNumber - next);
+                    int card = hidden[drawn];
+                    hidden[drawn] = hidden[next];
+                    hidden[next++] = card;
+                    hands[h][j] = card;
+                }
+            }
+            EndgameResult result = solver.solve(getGame(), hands);
+            if (result == null) {
+                return -1;
+            }
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                if (result.isWin(attribute)) {
+                    wins[attribute]++;
+                } else if (result.isDraw(attribute)) {
+                    draws[attribute]++;
+                }
+            }
+        }
+
+        int best = 0;
+        for (int attribute = 1; attribute < attributesNumber; attribute++) {
+            if (2 * wins[attribute] + draws[attribute] > 2 * wins[best] + draws[best]) {
+                best = attribute;
+            }
+        }
+        lastDeals = deals;
+        lastWins = wins[best];
+        lastDraws = draws[best];
+        return best;
+    }
+
+    /**
+     * Returns the number of cards of the players in the game.
+     *
+     * @return the number of cards left
+     */
+    private int getCardsLeft() {
+        ActivePlayers players = getGame().getActivePlayers();
+        int cards = 0;
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+            cards += players.get(seat).getCardsNumber();
+        }
+        return cards;
+    }
+
+    /**
+     * Gets the number of deals solved for the last decision.
+     *
+     * @return the deals, or 0 if the last decision was not solved
+     */
+    public int getLastDeals() {
+        return lastDeals;
+    }
+
+    /**
+     * Gets the number of deals solved for the last decision which the
+     * attribute selected wins.
+     *
+     * @return the wins
+     */
+    public int getLastWins() {
+        return lastWins;
+    }
+
+    /**
+     * Gets the number of deals solved for the last decision which the
+     * attribute selected draws.
+     *
+     * @return the draws
+     */
+    public int getLastDraws() {
+        return lastDraws;
+    }
+
+    /**
+     * Gets the solver of this player.
+     *
+     * @return the solver, or null if no endgame was solved yet
+     */
+    public EndgameSolver getSolver() {
+        return solver;
+    }
+
+}
@@ -0,0 +1,132 @@
+
+/**
+ * The EndgameResult class is the outcome of an EndgameSolver solving a game:
+ * the winner of the game after each attribute the next attribute-decider may
+ * select, when every decider plays its best.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class EndgameResult {
+
+    /**
+     * the next attribute-decider of the game solved
+     */
+    private final Player decider;
+
+    /**
+     * the winner after each attribute, or null if it is a draw
+     */
+    private final Player[] winners;
+
+    /**
+     * the attribute best for the decider, the first one if there are ties
+     */
+    private final int bestAttribute;
+
+    /**
+     * the number of positions searched
+     */
+    private final long positions;
+
+    /**
+     * Class sole constructor. Constructs an EndgameResult with the winners by
+     * the attribute index.
+     *
+     * @param decider the next attribute-decider
+     * @param winners the winner after each attribute, or null for a draw
+     * @param bestAttribute the attribute best for the decider
+     * @param positions the number of positions searched
+     */
+    public EndgameResult(Player decider, Player[] winners, int bestAttribute, long positions) {
+        this.decider = decider;
+        this.winners = winners;
+        this.bestAttribute = bestAttribute;
+        this.positions = positions;
+    }
+
+    /**
+     * Gets the next attribute-decider of the game solved.
+     *
+     * @return the decider
+     */
+    public Player getDecider() {
+        return decider;
+    }
+
+    /**
+     * Gets the winner of the game after the attribute.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @return the winner, or null if the game is a draw
+     */
+    public Player getWinner(int attribute) {
+        return winners[attribute];
+    }
+
+    /**
+     * Returns <code>true</code> if the game is a draw after the attribute.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @return <code>true</code> if it is a draw <code>false</code> otherwise
+     */
+    public boolean isDraw(int attribute) {
+        return winners[attribute] == null;
+    }
+
+    /**
+     * Returns <code>true</code> if the decider wins the game after the
+     * attribute.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @return <code>true</code> if the decider wins <code>false</code>
+     * otherwise
+     */
+    public boolean isWin(int attribute) {
+        return winners[attribute] == decider;
+    }
+
+    /**
+     * Gets the attribute best for the decider: a win before a draw before
+     * another player's win, the first one if there are ties.
+     *
+     * @return the bestAttribute
+     */
+    public int getBestAttribute() {
+        return bestAttribute;
+    }
+
+    /**
+     * Gets the number of attributes.
+     *
+     * @return the number of attributes
+     */
+    public int getAttributesNumber() {
+        return winners.length;
+    }
+
+    /**
+     * Gets the number of positions searched.
+     *
+     * @return the positions
+     */
+    public long getPositions() {
+        return positions;
+    }
+
+    /**
+     * Returns the result as a String.
+     *
+     * @return a String about the winner after each attribute
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[Endgame] ").append(decider.getPlayerName()).append(" to decide:");
+        for (int attribute = 0; attribute < winners.length; attribute++) {
+            text.append(attribute == 0 ? " " : ", ").append(Card.attributeName(attribute)).append(" -> ")
+                    .append(winners[attribute] == null ? "draw" : winners[attribute].getPlayerName());
+        }
+        return text.append(" (").append(positions).append(" positions)").toString();
+    }
+
+}
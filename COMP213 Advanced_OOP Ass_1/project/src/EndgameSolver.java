@@ -0,0 +1,817 @@
+
+import java.util.Arrays;
+
+/**
+ * The EndgameSolver class solves a game with few cards left exactly, knowing
+ * the cards of every player in order: the winner of the game when every
+ * attribute-decider selects the attribute best for itself, a win before a
+ * draw before another player's win. solve(Game) reads the players' real
+ * hands, so it is an oracle for the analysis of a game; a player solves the
+ * deals of the cards hidden from it by solve(Game, int[][]) instead.
+ *
+ * A position is the cards of each player in order and the attribute-decider.
+ * It is encoded in one long: each card by its rank among the cards left in
+ * as few bits as they need, the numbers of cards of all the players but the
+ * last one, and the seat of the decider.
+ *
+ * As the cards can come back to a position, the game is not a tree to search
+ * depth first. The solver numbers all the positions reached from the one
+ * solved, then works back from the ends of the game (retrograde analysis): a
+ * position is won by its decider as soon as one attribute leads to its win,
+ * and decided once all its attributes lead to decided positions. The
+ * positions never decided are the ones no player can lead to an end, so the
+ * game comes back to a position and the repetition policy the game applies
+ * decides them: a draw under DRAW, the player with the most cards in the
+ * position under MOST_CARDS, taking it as the position repeated, and a draw
+ * under IGNORE, as the game goes on until the rounds run out. The result of every
+ * position is the same however it is reached, so the results are kept in a
+ * TranspositionTable, and a position found in it is not searched again by
+ * the solves of the next rounds.
+ *
+ * Each result keeps the number of rounds to the end of the play found, the
+ * winner ending it soon and the others late. A win of an attribute taking
+ * more rounds than the game has left is a draw, as the game stops without a
+ * winner; the deciders after it are taken to play as if the rounds did not
+ * run out.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class EndgameSolver {
+
+    /**
+     * the default number of entries of the transposition table
+     */
+    public static final int DEFAULT_TABLE_SIZE = 1 << 20;
+
+    /**
+     * the default largest number of positions numbered by a solve
+     */
+    public static final int DEFAULT_MAX_POSITIONS = 2_000_000;
+
+    /**
+     * the result of a draw; a win is the seat of the winner plus 1
+     */
+    private static final int DRAW = 1 << 8;
+
+    /**
+     * the number of bits of a result in the table, above which the number of
+     * rounds to the end is kept
+     */
+    private static final int RESULT_BITS = 9;
+    private static final int RESULT_MASK = (1 << RESULT_BITS) - 1;
+
+    /**
+     * the number of rounds to the end of a game going on forever
+     */
+    private static final int FOREVER = (1 << (31 - RESULT_BITS)) - 1;
+
+    /**
+     * the results of the positions solved
+     */
+    private final TranspositionTable table;
+
+    /**
+     * the largest number of positions numbered by a solve
+     */
+    private final int maxPositions;
+
+    /**
+     * the source of the cards of the game solved
+     */
+    private CardSource deck;
+
+    /**
+     * the repetition policy of the game solved
+     */
+    private RepetitionPolicy policy;
+
+    /**
+     * the players in the game, in the order of their seats
+     */
+    private Player[] players = new Player[0];
+
+    /**
+     * the number of players in the game
+     */
+    private int playersNumber;
+
+    /**
+     * the ids of the cards left in order, the rank of a card being its index
+     */
+    private int[] cardIds = new int[0];
+
+    /**
+     * the number of cards left
+     */
+    private int cardsNumber;
+
+    /**
+     * the number of attributes
+     */
+    private int attributesNumber;
+
+    /**
+     * the values of the cards by their ranks, a row of the attributes per card
+     */
+    private int[] values = new int[0];
+
+    /**
+     * the number of bits of a card rank, of a number of cards and of a seat
+     */
+    private int cardBits;
+    private int sizeBits;
+    private int seatBits;
+
+    /**
+     * the numbers of the positions by their keys
+     */
+    private final LongIntHashMap numbers = new LongIntHashMap();
+
+    /**
+     * the keys of the positions by their numbers
+     */
+    private long[] keys = new long[0];
+
+    /**
+     * the decider of each position
+     */
+    private int[] deciders = new int[0];
+
+    /**
+     * the next position of each attribute of each position, or minus the
+     * result and its rounds if it is known
+     */
+    private int[] children = new int[0];
+
+    /**
+     * the number of next positions not decided of each position
+     */
+    private int[] undecided = new int[0];
+
+    /**
+     * the result of each position, 0 if it is not decided
+     */
+    private int[] results = new int[0];
+
+    /**
+     * the number of rounds to the end of each position decided
+     */
+    private int[] lengths = new int[0];
+
+    /**
+     * the positions leading to each position, by the offsets of the position
+     */
+    private int[] parents = new int[0];
+    private int[] parentOffsets = new int[0];
+
+    /**
+     * the positions decided, to tell their parents
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * the numbers of positions numbered by the last solve and all of them
+     */
+    private long positions;
+    private long totalPositions;
+
+    /**
+     * the time of all the solves in nanoseconds
+     */
+    private long totalNanos;
+
+    /**
+     * the cards of a position decoded, the players' cards one after another
+     */
+    private int[] sequence = new int[0];
+
+    /**
+     * the cards of the next position
+     */
+    private int[] nextSequence = new int[0];
+
+    /**
+     * the numbers of cards of the players of a position decoded
+     */
+    private int[] sizes = new int[0];
+
+    /**
+     * the cards lost in a round in the order they lost
+     */
+    private int[] lost = new int[0];
+
+    /**
+     * Class constructor. Constructs an EndgameSolver with a table of the
+     * default size, numbering at most the default number of positions.
+     */
+    public EndgameSolver() {
+        this(DEFAULT_TABLE_SIZE, DEFAULT_MAX_POSITIONS);
+    }
+
+    /**
+     * Class constructor. Constructs an EndgameSolver with a table of the
+     * number of entries, numbering at most the number of positions.
+     *
+     * @param tableSize the number of entries of the transposition table
+     * @param maxPositions the largest number of positions numbered by a solve
+     */
+    public EndgameSolver(int tableSize, int maxPositions) {
+        this.table = new TranspositionTable(tableSize);
+        this.maxPositions = maxPositions;
+    }
+
+    /**
+     * Returns <code>true</code> if a position of the game fits in a key, i.e.
+     * there are few enough cards left.
+     *
+     * @param game the game
+     * @return <code>true</code> if the game can be solved <code>false</code>
+     * otherwise
+     */
+    public static boolean canSolve(Game game) {
+        ActivePlayers active = game.getActivePlayers();
+        int cards = 0;
+        for (int seat = active.first(); seat >= 0; seat = active.next(seat)) {
+            cards += active.get(seat).getCardsNumber();
+        }
+        return active.size() >= 2 && keyBits(cards, active.size()) <= 64;
+    }
+
+    /**
+     * Returns the number of bits of a key of the numbers of cards and players.
+     *
+     * @param cards the number of cards
+     * @param playersCount the number of players
+     * @return the number of bits
+     */
+    private static int keyBits(int cards, int playersCount) {
+        return cards * bitsOf(cards - 1) + (playersCount - 1) * bitsOf(cards) + bitsOf(playersCount - 1);
+    }
+
+    /**
+     * Returns the number of bits the number needs, at least 1.
+     *
+     * @param number the number, not negative
+     * @return the number of bits
+     */
+    private static int bitsOf(int number) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(number));
+    }
+
+    /**
+     * Solves the game before its next round from the players' real hands:
+     * the winner of the game after each attribute the next attribute-decider
+     * may select. It sees the cards hidden from the players, so it is meant
+     * for the analysis of a game, not for a player to select by.
+     *
+     * @param game the game, with at least two players in it
+     * @return the result of each attribute, or null if more positions than
+     * the largest number are reached
+     * @throws IllegalArgumentException if there are too many cards to solve
+     */
+    public EndgameResult solve(Game game) {
+        ActivePlayers active = game.getActivePlayers();
+        int[][] hands = new int[active.size()][];
+        int i = 0;
+        for (int seat = active.first(); seat >= 0; seat = active.next(seat)) {
+            Hand hand = active.get(seat).getCards();
+            hands[i] = new int[hand.size()];
+            for (int j = 0; j < hand.size(); j++) {
+                hands[i][j] = hand.get(j);
+            }
+            i++;
+        }
+        return solve(game, hands);
+    }
+
+    /**
+     * Solves the game before its next round as if the players held the
+     * hands, e.g. a deal of the cards hidden from a player: the winner of the
+     * game after each attribute the next attribute-decider may select.
+     *
+     * @param game the game, with at least two players in it
+     * @param hands the ids of the cards of each player in the game from the
+     * top, in the order of their seats, as many as the player has
+     * @return the result of each attribute, or null if more positions than
+     * the largest number are reached
+     * @throws IllegalArgumentException if there are too many cards to solve,
+     * or the hands do not fit the players
+     */
+    public EndgameResult solve(Game game, int[][] hands) {
+        if (!canSolve(game)) {
+            throw new IllegalArgumentException("Too many cards or too few players to solve");
+        }
+        ActivePlayers active = game.getActivePlayers();
+        if (hands.length != active.size()) {
+            throw new IllegalArgumentException("The hands are not one per player: " + hands.length);
+        }
+        for (int seat = active.first(), i = 0; seat >= 0; seat = active.next(seat), i++) {
+            if (hands[i].length != active.get(seat).getCardsNumber()) {
+                throw new IllegalArgumentException("The hand " + i + " is not as large as the player's");
+            }
+        }
+        long start = System.nanoTime();
+        int deciderSeat = prepare(game, hands);
+        long root = encodeHands(hands, deciderSeat);
+        positions = 0;
+
+        //the results of the next positions may all be kept already
+        int[] rootResults = new int[attributesNumber];
+        int[] rootLengths = new int[attributesNumber];
+        boolean known = true;
+        for (int attribute = 0; attribute < attributesNumber && known; attribute++) {
+            int result = knownResult(play(root, attribute));
+            rootResults[attribute] = result & RESULT_MASK;
+            rootLengths[attribute] = result >>> RESULT_BITS;
+            known = result != 0;
+        }
+        if (!known) {
+            if (!analyze(root)) {
+                totalNanos += System.nanoTime() - start;
+                return null;
+            }
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                rootResults[attribute] = resultOf(children[attribute]);
+                rootLengths[attribute] = lengthOf(children[attribute]);
+            }
+        }
+        totalPositions += positions;
+        totalNanos += System.nanoTime() - start;
+
+        //the game stops without a winner once the rounds run out
+        int roundsLeft = game.getRoundsLeft();
+        Player[] winners = new Player[attributesNumber];
+        int best = 0;
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            if (rootResults[attribute] != DRAW && rootLengths[attribute] >= roundsLeft) {
+                rootResults[attribute] = DRAW;
+            }
+            winners[attribute] = (rootResults[attribute] == DRAW) ? null : players[rootResults[attribute] - 1];
+            if (rank(rootResults[attribute], deciderSeat) > rank(rootResults[best], deciderSeat)) {
+                best = attribute;
+            }
+        }
+        return new EndgameResult(players[deciderSeat], winners, best, positions);
+    }
+
+    /**
+     * Reads the players, the rules and the cards of the hands, clearing the
+     * table unless they are the ones of the last solve.
+     *
+     * @param game the game
+     * @param hands the cards of each player in the game
+     * @return the seat of the next attribute-decider among the players
+     */
+    private int prepare(Game game, int[][] hands) {
+        ActivePlayers active = game.getActivePlayers();
+        CardSource gameDeck = game.getDeck();
+        int count = active.size();
+        int cards = 0;
+        for (int[] hand : hands) {
+            cards += hand.length;
+        }
+        int[] ids = new int[cards];
+        Player[] seated = new Player[count];
+        int next = 0;
+        int i = 0;
+        for (int seat = active.first(); seat >= 0; seat = active.next(seat)) {
+            int[] hand = hands[i];
+            seated[i++] = active.get(seat);
+            System.arraycopy(hand, 0, ids, next, hand.length);
+            next += hand.length;
+        }
+        Arrays.sort(ids);
+        if (gameDeck != deck || game.getAppliedRepetitionPolicy() != policy || !Arrays.equals(seated, players)
+                || !Arrays.equals(ids, cardIds)) {
+            deck = gameDeck;
+            policy = game.getAppliedRepetitionPolicy();
+            players = seated;
+            playersNumber = count;
+            cardIds = ids;
+            cardsNumber = cards;
+            attributesNumber = deck.getAttributesNumber();
+            values = new int[cardsNumber * attributesNumber];
+            for (int card = 0; card < cardsNumber; card++) {
+                for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                    values[card * attributesNumber + attribute] = deck.getValue(cardIds[card], attribute);
+                }
+            }
+            cardBits = bitsOf(cardsNumber - 1);
+            sizeBits = bitsOf(cardsNumber);
+            seatBits = bitsOf(playersNumber - 1);
+            sequence = new int[cardsNumber];
+            nextSequence = new int[cardsNumber];
+            sizes = new int[playersNumber];
+            lost = new int[playersNumber];
+            table.clear();
+        }
+        Player decider = game.getNextAttributeMaker();
+        for (int seat = 0; seat < playersNumber; seat++) {
+            if (players[seat] == decider) {
+                return seat;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the key of the position of the hands read by prepare().
+     *
+     * @param hands the cards of each player in the game
+     * @param deciderSeat the seat of the next attribute-decider
+     * @return the key
+     */
+    private long encodeHands(int[][] hands, int deciderSeat) {
+        int next = 0;
+        for (int seat = 0; seat < playersNumber; seat++) {
+            sizes[seat] = hands[seat].length;
+            for (int card : hands[seat]) {
+                sequence[next++] = Arrays.binarySearch(cardIds, card);
+            }
+        }
+        return encode(sequence, deciderSeat);
+    }
+
+    /**
+     * Returns the key of the position: the card ranks from the lowest bits,
+     * then the numbers of cards of all the players but the last one, then
+     * the seat of the decider.
+     *
+     * @param cards the cards of the players one after another
+     * @param deciderSeat the seat of the attribute-decider
+     * @return the key
+     */
+    private long encode(int[] cards, int deciderSeat) {
+        long key = 0;
+        int shift = 0;
+        for (int i = 0; i < cardsNumber; i++, shift += cardBits) {
+            key |= (long) cards[i] << shift;
+        }
+        for (int seat = 0; seat < playersNumber - 1; seat++, shift += sizeBits) {
+            key |= (long) sizes[seat] << shift;
+        }
+        return key | (long) deciderSeat << shift;
+    }
+
+    /**
+     * Decodes the cards and the numbers of cards of the position.
+     *
+     * @param key the key of the position
+     * @return the seat of the decider
+     */
+    private int decode(long key) {
+        long cardMask = (1L << cardBits) - 1;
+        int shift = 0;
+        for (int i = 0; i < cardsNumber; i++, shift += cardBits) {
+            sequence[i] = (int) ((key >>> shift) & cardMask);
+        }
+        return decodeSizes(key);
+    }
+
+    /**
+     * Decodes the numbers of cards of the position.
+     *
+     * @param key the key of the position
+     * @return the seat of the decider
+     */
+    private int decodeSizes(long key) {
+        long sizeMask = (1L << sizeBits) - 1;
+        int shift = cardsNumber * cardBits;
+        int rest = cardsNumber;
+        for (int seat = 0; seat < playersNumber - 1; seat++, shift += sizeBits) {
+            sizes[seat] = (int) ((key >>> shift) & sizeMask);
+            rest -= sizes[seat];
+        }
+        sizes[playersNumber - 1] = rest;
+        return (int) ((key >>> shift) & ((1L << seatBits) - 1));
+    }
+
+    /**
+     * Plays a round of the attribute from the position, as Game does: the
+     * first highest value wins, and the winner puts the top cards of the
+     * others in the order they lost, then its own, under its cards. The
+     * player leading so far loses to a higher value, and any other player
+     * loses to the leader.
+     *
+     * @param key the key of the position
+     * @param attribute the attribute index, starting from 0
+     * @return the key of the next position
+     */
+    private long play(long key, int attribute) {
+        decode(key);
+        int winner = -1;
+        int winnerValue = 0;
+        int winnerCard = 0;
+        int lostNumber = 0;
+        for (int seat = 0, top = 0; seat < playersNumber; top += sizes[seat], seat++) {
+            if (sizes[seat] > 0) {
+                int value = values[sequence[top] * attributesNumber + attribute];
+                if (winner >= 0 && value <= winnerValue) {
+                    lost[lostNumber++] = sequence[top];
+                } else {
+                    if (winner >= 0) {
+                        lost[lostNumber++] = winnerCard;
+                    }
+                    winner = seat;
+                    winnerValue = value;
+                    winnerCard = sequence[top];
+                }
+            }
+        }
+        int next = 0;
+        for (int seat = 0, top = 0; seat < playersNumber; top += sizes[seat], seat++) {
+            if (sizes[seat] == 0) {
+                continue;
+            }
+            System.arraycopy(sequence, top + 1, nextSequence, next, sizes[seat] - 1);
+            next += sizes[seat] - 1;
+            if (seat == winner) {
+                //the collected cards go under the winner's own ones
+                System.arraycopy(lost, 0, nextSequence, next, lostNumber);
+                next += lostNumber;
+                nextSequence[next++] = sequence[top];
+            }
+        }
+        for (int seat = 0; seat < playersNumber; seat++) {
+            if (sizes[seat] > 0 && seat != winner) {
+                sizes[seat]--;
+            }
+        }
+        sizes[winner] += lostNumber;
+        return encode(nextSequence, winner);
+    }
+
+    /**
+     * Returns the result of the position if it is over or kept in the table,
+     * with its rounds to the end above the RESULT_BITS.
+     *
+     * @param key the key of the position
+     * @return the result and its rounds, or 0 if it is not known
+     */
+    private int knownResult(long key) {
+        decodeSizes(key);
+        for (int seat = 0; seat < playersNumber; seat++) {
+            if (sizes[seat] == cardsNumber) {
+                return seat + 1;
+            }
+        }
+        return table.get(key);
+    }
+
+    /**
+     * Numbers the positions reached from the root, works back from the ones
+     * whose results are known, and keeps the results in the table.
+     *
+     * @param root the key of the position solved
+     * @return <code>true</code> if all the positions were numbered
+     * <code>false</code> if there are more than the largest number
+     */
+    private boolean analyze(long root) {
+        numbers.clear();
+        int count = 0;
+        count = number(root, count);
+        for (int position = 0; position < count; position++) {
+            long key = keys[position];
+            deciders[position] = decodeSizes(key);
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                long child = play(key, attribute);
+                int known = knownResult(child);
+                int edge = position * attributesNumber + attribute;
+                if (known != 0) {
+                    children[edge] = -known;
+                    continue;
+                }
+                int number = numbers.get(child);
+                if (number < 0) {
+                    if (count == maxPositions) {
+                        positions = count;
+                        return false;
+                    }
+                    number = count;
+                    count = number(child, count);
+                }
+                children[edge] = number;
+            }
+        }
+        positions = count;
+        linkParents(count);
+
+        //the positions decided by the known results start the queue
+        int head = 0;
+        int tail = 0;
+        for (int position = 0; position < count; position++) {
+            results[position] = 0;
+            undecided[position] = 0;
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                int child = children[position * attributesNumber + attribute];
+                if (child >= 0) {
+                    undecided[position]++;
+                } else if (resultOf(child) == deciders[position] + 1
+                        && (results[position] == 0 || lengthOf(child) + 1 < lengths[position])) {
+                    results[position] = resultOf(child);
+                    lengths[position] = lengthOf(child) + 1;
+                }
+            }
+            if (results[position] == 0 && undecided[position] == 0) {
+                decideBest(position);
+            }
+            if (results[position] != 0) {
+                queue[tail++] = position;
+            }
+        }
+        while (head < tail) {
+            int child = queue[head++];
+            int result = results[child];
+            for (int i = parentOffsets[child]; i < parentOffsets[child + 1]; i++) {
+                int parent = parents[i];
+                if (results[parent] != 0) {
+                    continue;
+                }
+                if (result == deciders[parent] + 1) {
+                    results[parent] = result;
+                    lengths[parent] = Math.min(lengths[child] + 1, FOREVER);
+                    queue[tail++] = parent;
+                } else if (--undecided[parent] == 0) {
+                    decideBest(parent);
+                    queue[tail++] = parent;
+                }
+            }
+        }
+        for (int position = 0; position < count; position++) {
+            if (results[position] == 0) {
+                decideRepeated(position);
+            }
+            table.put(keys[position], results[position] | lengths[position] << RESULT_BITS);
+        }
+        return true;
+    }
+
+    /**
+     * Gives the position the next number, growing the arrays if they are
+     * full.
+     *
+     * @param key the key of the position
+     * @param count the number of positions numbered
+     * @return the number of positions numbered with it
+     */
+    private int number(long key, int count) {
+        if (count == keys.length) {
+            int capacity = Math.max(1024, count * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            deciders = Arrays.copyOf(deciders, capacity);
+            undecided = Arrays.copyOf(undecided, capacity);
+            results = Arrays.copyOf(results, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            queue = Arrays.copyOf(queue, capacity);
+            parentOffsets = Arrays.copyOf(parentOffsets, capacity + 1);
+        }
+        if ((count + 1) * attributesNumber > children.length) {
+            children = Arrays.copyOf(children, keys.length * attributesNumber);
+        }
+        numbers.put(key, count);
+        keys[count] = key;
+        return count + 1;
+    }
+
+    /**
+     * Lists the positions leading to each position, once per attribute.
+     *
+     * @param count the number of positions
+     */
+    private void linkParents(int count) {
+        Arrays.fill(parentOffsets, 0, count + 1, 0);
+        int edges = count * attributesNumber;
+        for (int edge = 0; edge < edges; edge++) {
+            if (children[edge] >= 0) {
+                parentOffsets[children[edge] + 1]++;
+            }
+        }
+        for (int position = 0; position < count; position++) {
+            parentOffsets[position + 1] += parentOffsets[position];
+        }
+        if (parents.length < parentOffsets[count]) {
+            parents = new int[Math.max(parentOffsets[count], parents.length * 2)];
+        }
+        int[] filled = Arrays.copyOf(parentOffsets, count);
+        for (int edge = 0; edge < edges; edge++) {
+            if (children[edge] >= 0) {
+                parents[filled[children[edge]]++] = edge / attributesNumber;
+            }
+        }
+    }
+
+    /**
+     * Decides the position, all of whose next positions are decided, by the
+     * result best for its decider: the soonest win, or else the latest end.
+     *
+     * @param position the number of the position
+     */
+    private void decideBest(int position) {
+        int decider = deciders[position];
+        int best = 0;
+        int length = 0;
+        for (int attribute = 0; attribute < attributesNumber; attribute++) {
+            int child = children[position * attributesNumber + attribute];
+            int result = resultOf(child);
+            int rounds = lengthOf(child);
+            if (best == 0 || rank(result, decider) > rank(best, decider)) {
+                best = result;
+                length = rounds;
+            } else if (rank(result, decider) == rank(best, decider)
+                    && (rank(best, decider) == 2 ? rounds < length : rounds > length)) {
+                best = result;
+                length = rounds;
+            }
+        }
+        results[position] = best;
+        lengths[position] = Math.min(length + 1, FOREVER);
+    }
+
+    /**
+     * Decides the position no player can lead to an end by the repetition
+     * policy: the player with the most cards in it under MOST_CARDS, the
+     * first seat if there are ties, and a draw otherwise.
+     *
+     * @param position the number of the position
+     */
+    private void decideRepeated(int position) {
+        if (policy != RepetitionPolicy.MOST_CARDS) {
+            results[position] = DRAW;
+            lengths[position] = FOREVER;
+            return;
+        }
+        decodeSizes(keys[position]);
+        int most = 0;
+        for (int seat = 1; seat < playersNumber; seat++) {
+            if (sizes[seat] > sizes[most]) {
+                most = seat;
+            }
+        }
+        results[position] = most + 1;
+        lengths[position] = 0;
+    }
+
+    /**
+     * Returns the result of the next position of an attribute.
+     *
+     * @param child the number of the next position, or minus its result
+     * and rounds
+     * @return the result, or 0 if it is not decided
+     */
+    private int resultOf(int child) {
+        return child < 0 ? -child & RESULT_MASK : results[child];
+    }
+
+    /**
+     * Returns the number of rounds to the end of the next position of an
+     * attribute.
+     *
+     * @param child the number of the next position, or minus its result
+     * and rounds
+     * @return the rounds, of a decided position
+     */
+    private int lengthOf(int child) {
+        return child < 0 ? -child >>> RESULT_BITS : lengths[child];
+    }
+
+    /**
+     * Returns how good the result is for the player, 2 for its win, 1 for a
+     * draw and 0 for another player's win.
+     *
+     * @param result the result
+     * @param seat the seat of the player
+     * @return the rank of the result
+     */
+    private static int rank(int result, int seat) {
+        return (result == seat + 1) ? 2 : (result == DRAW) ? 1 : 0;
+    }
+
+    /**
+     * Returns the number of positions numbered by the last solve.
+     *
+     * @return the positions
+     */
+    public long getPositions() {
+        return positions;
+    }
+
+    /**
+     * Returns the number of positions numbered per second by all the solves.
+     *
+     * @return the positions per second
+     */
+    public double getPositionsPerSecond() {
+        return totalNanos == 0 ? 0 : totalPositions * 1e9 / totalNanos;
+    }
+
+    /**
+     * Returns the table of the results.
+     *
+     * @return the table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+}
@@ -0,0 +1,175 @@
+
+import java.util.IdentityHashMap;
+
+/**
+ * The ExportListener class collects the rounds of one game into a GameRecord
+ * and gives it to a ResultsExporter when the game ends, passing every event
+ * on to another listener. A listener is used by one game at a time, and any
+ * number of them may share the same exporter.
+ *
+ * Only the rounds of the game being played are kept, so the memory of a
+ * listener is bounded by the longest game, whatever the number of games
+ * exported.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ExportListener implements GameEventListener {
+
+    /**
+     * the exporter the game is written to
+     */
+    private final ResultsExporter exporter;
+
+    /**
+     * the listener the events are passed to
+     */
+    private final GameEventListener delegate;
+
+    /**
+     * the seed of the game
+     */
+    private final long seed;
+
+    /**
+     * the record of the game
+     */
+    private final GameRecord record = new GameRecord();
+
+    /**
+     * the number of each player in the joining order
+     */
+    private final IdentityHashMap<Player, Integer> playerNumbers = new IdentityHashMap<>();
+
+    /**
+     * the number of the round being played
+     */
+    private int round;
+
+    /**
+     * the number of the attribute-decider of the round
+     */
+    private int decider;
+
+    /**
+     * the index of the attribute of the round
+     */
+    private int attributeIndex;
+
+    /**
+     * Class constructor. Constructs an ExportListener writing the game of the
+     * seed to the exporter without passing the events on.
+     *
+     * @param exporter the exporter the game is written to
+     * @param seed the seed of the game
+     */
+    public ExportListener(ResultsExporter exporter, long seed) {
+        this(exporter, seed, new NoOpGameListener());
+    }
+
+    /**
+     * Class constructor. Constructs an ExportListener writing the game of the
+     * seed to the exporter and passing the events to the delegate.
+     *
+     * @param exporter the exporter the game is written to
+     * @param seed the seed of the game
+     * @param delegate the listener the events are passed to
+     */
+    public ExportListener(ResultsExporter exporter, long seed, GameEventListener delegate) {
+        this.exporter = exporter;
+        this.seed = seed;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the number of the player in the joining order.
+     *
+     * @param player the player
+     * @return the number of the player, or -1 if it is not in the game
+     */
+    private int numberOf(Player player) {
+        Integer number = playerNumbers.get(player);
+        return number == null ? -1 : number;
+    }
+
+    @Override
+    public void playerJoined(Player player) {
+        delegate.playerJoined(player);
+    }
+
+    @Override
+    public void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+        record.start(seed, playersNumber);
+        playerNumbers.clear();
+        for (int i = 0; i < playersNumber; i++) {
+            playerNumbers.put(players[i], i);
+            record.setStrategy(i, players[i].getClass().getSimpleName());
+        }
+        delegate.gameStarted(deckType, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        this.round = round;
+        delegate.roundStarted(round);
+    }
+
+    @Override
+    public void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+        delegate.attributeDeciding(deckType, decider, attributesNumber);
+    }
+
+    @Override
+    public void attributeDecided(Player decider, int attributeIndex) {
+        this.decider = numberOf(decider);
+        this.attributeIndex = attributeIndex;
+        delegate.attributeDecided(decider, attributeIndex);
+    }
+
+    @Override
+    public void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+        delegate.topCardsRevealed(players, topCards, playersNumber, deck);
+    }
+
+    @Override
+    public void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner) {
+        delegate.cardsCompared(first, second, attributeIndex, firstValue, secondValue, winner);
+    }
+
+    @Override
+    public void cardLost(Player player, int card) {
+        delegate.cardLost(player, card);
+    }
+
+    @Override
+    public void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+        record.addRound(round, decider, attributeIndex, numberOf(winner));
+        delegate.roundWon(winner, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void playerOut(Player player) {
+        delegate.playerOut(player);
+    }
+
+    @Override
+    public void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+        delegate.playersCounted(playersNumber, humanNumber, computersNumber);
+    }
+
+    @Override
+    public void gameOver(Player winner, int cardsNumber) {
+        record.setWinner(numberOf(winner));
+        exporter.export(record);
+        delegate.gameOver(winner, cardsNumber);
+    }
+
+    @Override
+    public void gameDrawn(int rounds) {
+        record.setWinner(-1);
+        exporter.export(record);
+        delegate.gameDrawn(rounds);
+    }
+
+}
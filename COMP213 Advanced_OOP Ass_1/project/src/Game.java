@@ -1,11 +1,13 @@
 
-import java.util.ArrayDeque;
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Game class implements the interactive game procedure by quite a few
- * global attributes and methods.
+ * attributes and methods of one game, i.e. one table of players.
  *
  * @author Yuhao Wu
  * @version 1.0
@@ -15,24 +17,93 @@ public class Game {
     private final static int ATTRIBUTES_IN_POKER = 4;
     private final static int ATTRIBUTES_IN_UNO = 3;
 
-    private static int decidedCardsNumber;
-    private static String deckType;
-    private static ArrayList<Player> players;
-    private static int humanNumber;
-    private static int computersNumber;
-    private static int gameRound;
-    private static Player loser;
-    private static Player nextAttributeMaker;
+    private int decidedCardsNumber;
+    private String deckType;
+    private final ActivePlayers players = new ActivePlayers();
+    private Player[] eliminated;
+    private int eliminatedNumber;
+    private int humanNumber;
+    private int computersNumber;
+    private int gameRound;
+    private Player loser;
+    private Player nextAttributeMaker;
+    private CardSource deck;
+    private DeckStore catalog;
+    private DeckGeneration deckGeneration = DeckGeneration.STREAMED;
+    private final LongHashSet dealtCards = new LongHashSet();
+    private final RoundResolver resolver = new RoundResolver();
+    private Player[] seats;
+    private int[] seatNumbers;
+    private PrintStream console;
+    private InputSource input = DataInput.keyboard();
+    private GameEventListener listener;
+    private long seed;
+    private SplittableRandom random;
+    private RepetitionPolicy repetitionPolicy = RepetitionPolicy.IGNORE;
+    private final LongHashSet seenStates = new LongHashSet();
+    private boolean repeated;
+    private Player adjudicatedWinner;
+    private int maxRounds = Integer.MAX_VALUE;
+
+    /**
+     * Class constructor. Constructs a Game printing all the messages to the
+     * standard output.
+     */
+    public Game() {
+        this(System.out);
+    }
+
+    /**
+     * Class constructor. Constructs a Game printing all the messages to the
+     * console stream. Each Game keeps its own players, deck and rounds, so
+     * many games can be played at the same time.
+     *
+     * @param console the stream the game messages are printed to
+     */
+    public Game(PrintStream console) {
+        this(console, new ConsoleGameListener(console));
+    }
+
+    /**
+     * Class constructor. Constructs a Game asking the user on the console
+     * stream and sending the events of the playing to the listener, with a
+     * random seed.
+     *
+     * @param console the stream the setup questions are printed to
+     * @param listener the listener of the game events
+     */
+    public Game(PrintStream console, GameEventListener listener) {
+        this(console, listener, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Class constructor. Constructs a Game asking the user on the console
+     * stream and sending the events of the playing to the listener. All the
+     * random cards and choices of the game come from the seed, so the game can
+     * be played again exactly.
+     *
+     * @param console the stream the setup questions are printed to
+     * @param listener the listener of the game events
+     * @param seed the seed of the random stream of the game
+     */
+    public Game(PrintStream console, GameEventListener listener, long seed) {
+        setSeed(seed);
+        this.console = console;
+        this.listener = listener;
+        this.eliminated = new Player[0];
+        this.seats = new Player[0];
+        this.seatNumbers = new int[0];
+    }
 
     /**
      * Runs the whole game procedure, from setup, then start to fianl over
      * stages.
      */
-    public static void runGame() {
-        System.out.println("===================================================Setup===================================================");
-        System.out.println("[System] Welcome to the Top Trumps Card game");
+    public void runGame() {
+        getConsole().println("===================================================Setup===================================================");
+        getConsole().println("[System] Welcome to the Top Trumps Card game");
         //when initialize, add the user in the game
-        players = new ArrayList<>();
+        reset();
         initializeUser();
 
         //ask user to add more players
@@ -41,70 +112,264 @@ public class Game {
             boolean answerNo = false;
             while (!answerNo) {
                 enoughPlayers = (getHumanNumber() >= 1 && getComputersNumber() >= 1);//Here to be changed as time goes by
-                Game.showPlayersNumber();
-                System.out.println("[System] Would you need more players? y/n");
+                showPlayersNumber();
+                getConsole().println("[System] Would you need more players? y/n");
                 if (enoughPlayers) {
-                    System.out.println("[Note] (Enough players, you can start now by entering \"n\")");
+                    getConsole().println("[Note] (Enough players, you can start now by entering \"n\")");
                 }
-                String answer = DataInput.inputString();
+                String answer = DataInput.inputString(getInput(), getConsole());
                 switch (answer) {
                     case "y":
                         //add a new player
-                        Game.addOnePlayer();
+                        addOnePlayer();
                         break;
                     case "n":
                         if (enoughPlayers) {
                             answerNo = true;
                         } else {
-                            System.out.println("[Warning] Sorry, at least 1 human + 1 computer players, you need more players...");
+                            getConsole().println("[Warning] Sorry, at least 1 human + 1 computer players, you need more players...");
                         }
                         break;
                     default:
-                        System.out.println("[Warning] Invalid, please input again");
+                        getConsole().println("[Warning] Invalid, please input again");
                         break;
                 }
             }
         } while (!enoughPlayers);
 
         //game starts
-        Game.startGame();
-        Game.gameRound = 1;
+        startGame();
+        playRounds();
+        if (isRepeated()) {
+            getConsole().println("[System] The cards are back to a position seen before, so the game is adjudicated");
+        }
+        finishGame();
+    }
+
+    /**
+     * Tells the listener how the game ended: the winner, or a draw if there
+     * is none.
+     */
+    public void finishGame() {
+        Player winner = getWinner();
+        if (winner != null) {
+            listener.gameOver(winner, winner.getCardsNumber());
+        } else {
+            listener.gameDrawn(gameRound - 1);
+        }
+    }
+
+    /**
+     * Plays rounds from the 1st one until there is only one player left.
+     */
+    public void playRounds() {
+        playRounds(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Plays rounds from the current one, or the 1st one of a new game, until
+     * there is only one player left, or the number of rounds are played.
+     *
+     * While every player in the game selects by the position alone, the hash
+     * of the position is kept after each round, and when a position comes back the repetition
+     * policy decides whether the game goes on, is a draw or is won by the
+     * player with the most cards.
+     *
+     * @param maxRounds the largest number of rounds to play
+     * @return <code>true</code> if there is a winner, see getWinner()
+     * <code>false</code> if the rounds run out or the game is a draw
+     */
+    public boolean playRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+        if (gameRound < 1) {
+            this.gameRound = 1;
+            clearRepetitions();
+        }
 
         //Until there is onl one player
         while (!(getPlayersNumber() == 1)) {
-            Game.startOneRoundRobin();
+            if (repeated) {
+                return adjudicatedWinner != null;
+            }
+            if (gameRound > maxRounds) {
+                return false;
+            }
+            startOneRoundRobin();
+            if (getAppliedRepetitionPolicy() != RepetitionPolicy.IGNORE && getPlayersNumber() > 1
+                    && !seenStates.add(getStateHash())) {
+                repeated = true;
+                if (repetitionPolicy == RepetitionPolicy.MOST_CARDS) {
+                    adjudicatedWinner = getMostCardsPlayer();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash of the position before the next round: the cards of
+     * each seat in the game in order and the next attribute-decider. The
+     * hands keep their hashes as cards move, so this is O(players).
+     *
+     * @return the hash of the position
+     */
+    public long getStateHash() {
+        int makerSeat = (nextAttributeMaker == null) ? -1 : nextAttributeMaker.getSeat();
+        long hash = Hand.mix(makerSeat + 0x5851F42D4C957F2DL);
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+            hash += Hand.mix(players.get(seat).getCards().getStateHash() + Hand.cardKey(seat));
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the player in the game with the most cards, the first seat of
+     * them if there are ties.
+     *
+     * @return the player with the most cards
+     */
+    private Player getMostCardsPlayer() {
+        Player most = null;
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+            Player player = players.get(seat);
+            if (most == null || player.getCardsNumber() > most.getCardsNumber()) {
+                most = player;
+            }
+        }
+        return most;
+    }
+
+    /**
+     * Forgets the positions seen and any adjudication.
+     */
+    private void clearRepetitions() {
+        seenStates.clear();
+        repeated = false;
+        adjudicatedWinner = null;
+    }
+
+    /**
+     * Returns the winner of the game: the only player left, or the player
+     * adjudicated the winner when a position came back.
+     *
+     * @return the winner, or null if there is none (yet) or it is a draw
+     */
+    public Player getWinner() {
+        if (getPlayersNumber() == 1) {
+            return players.getFirst();
+        }
+        return adjudicatedWinner;
+    }
+
+    /**
+     * Returns <code>true</code> if the game stopped because a position came
+     * back.
+     *
+     * @return <code>true</code> if the game was ended by a repetition
+     * <code>false</code> otherwise
+     */
+    public boolean isRepeated() {
+        return repeated;
+    }
+
+    /**
+     * Gets what the game does when a position comes back.
+     *
+     * @return the repetitionPolicy
+     */
+    public RepetitionPolicy getRepetitionPolicy() {
+        return repetitionPolicy;
+    }
+
+    /**
+     * Returns the number of rounds the game may still play, the current one
+     * included, before playRounds() stops it without a winner.
+     *
+     * @return the rounds left, Integer.MAX_VALUE if there is no limit
+     */
+    public int getRoundsLeft() {
+        if (maxRounds == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
         }
-        System.out.println("===================================================End===================================================");
-        System.out.format("\n[System] Winner is %s, with totally %d cards, Congratulations !\n\n",
-                getPlayers().get(0).getPlayerName(), getPlayers().get(0).getCards().size());
+        return Math.max(0, maxRounds - Math.max(gameRound, 1) + 1);
+    }
+
+    /**
+     * Sets what the game does when a position comes back. A game is made
+     * with IGNORE, and any policy is only applied while every player in the
+     * game is positional: a Human or a RandomComp may select another
+     * attribute when a position comes back, so a repetition does not prove a
+     * cycle.
+     *
+     * @param repetitionPolicy the repetitionPolicy to set
+     */
+    public void setRepetitionPolicy(RepetitionPolicy repetitionPolicy) {
+        this.repetitionPolicy = repetitionPolicy;
+    }
+
+    /**
+     * Returns the repetition policy the game applies now: the one set while
+     * every player in the game selects by the position alone, and IGNORE
+     * otherwise, as a repetition then does not prove a cycle.
+     *
+     * @return the policy applied
+     */
+    public RepetitionPolicy getAppliedRepetitionPolicy() {
+        if (repetitionPolicy == RepetitionPolicy.IGNORE) {
+            return RepetitionPolicy.IGNORE;
+        }
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+            if (!players.get(seat).isPositional()) {
+                return RepetitionPolicy.IGNORE;
+            }
+        }
+        return repetitionPolicy;
+    }
+
+    /**
+     * Clears the players, counters and round of the last game, so that a new
+     * game can be set up without restarting the program.
+     */
+    public void reset() {
+        players.clear();
+        eliminatedNumber = 0;
+        humanNumber = 0;
+        computersNumber = 0;
+        gameRound = 0;
+        maxRounds = Integer.MAX_VALUE;
+        loser = null;
+        nextAttributeMaker = null;
+        deck = null;
+        dealtCards.clear();
+        clearRepetitions();
     }
 
     /**
      * Initializes the user as a player including deciding the unified players'
      * cards number, and deck type in this game.
      */
-    public static void initializeUser() {
+    public void initializeUser() {
 
-        String userName = DataInput.inputName();
+        String userName = DataInput.inputName(getInput(), getConsole());
         //set cards number
         decideCardsNumber();
 
         //ask choosing deck type
         decideDeck();
-        getPlayers().add(new Human(userName, deal()));
+        addPlayer(new Human(userName, deal()));
         increaseHumanNumber();
     }
 
     /**
      * Sets the number of cards in the game.
      */
-    public static void decideCardsNumber() {
-        System.out.println("[System] How many cards per player would you like to deal? (better LESS than 10)");
+    public void decideCardsNumber() {
+        getConsole().println("[System] How many cards per player would you like to deal?");
         boolean valid = false;
         do {
-            int cardNumber = DataInput.inputInteger();
-            if (cardNumber > 10) {
-                System.out.println("[Warning] The card number is too large, please make sure less than 10 !");
+            int cardNumber = DataInput.inputInteger(getInput(), getConsole());
+            if (cardNumber <= 0) {
+                getConsole().println("[Warning] The card number must be positive, please input again !");
             } else {
                 setDecidedCardsNumber(cardNumber);
                 valid = true;
@@ -113,52 +378,119 @@ public class Game {
     }
 
     /**
-     * Deals the cards to each player.
+     * Deals the cards to each player. The cards are added into the deck of
+     * this game, which is created at the first deal, with the values from a
+     * random stream split for this deal. With a catalog, the cards are drawn
+     * from it instead, none of them twice in a game. The procedural cards
+     * are the next ones of the deck of the seed of the game.
      *
      * @return the cards dealt
+     * @throws IllegalStateException if the catalog has fewer cards left than
+     * the cards number
      */
-    public static ArrayDeque<Card> deal() {
-        ArrayDeque<Card> fullDeck = new ArrayDeque<>(getDecidedCardsNumber());
-        int attriNumber = (getDeckType().equals("poker")) ? ATTRIBUTES_IN_POKER : ATTRIBUTES_IN_UNO;
+    public Hand deal() {
+        Hand fullDeck = new Hand(getDeck(), getDecidedCardsNumber());
+        SplittableRandom dealRandom = getRandom().split();
+        if (catalog != null) {
+            dealCatalog(fullDeck, dealRandom);
+            return fullDeck;
+        }
+        if (deckGeneration != DeckGeneration.STREAMED) {
+            long deckSeed = getDeckSeed();
+            for (int i = 0; i < getDecidedCardsNumber(); i++) {
+                fullDeck.offerLast(addProceduralCard(deckSeed));
+            }
+            return fullDeck;
+        }
         for (int i = 0; i < getDecidedCardsNumber(); i++) {
-            Card card = new Card("Player" + (getPlayersNumber() + 1) + "_Card_" + String.valueOf(i + 1), attriNumber);
-            fullDeck.offer(card);
+            int card = getStore().addCard("Player" + (getPlayersNumber() + 1) + "_Card_" + String.valueOf(i + 1),
+                    dealRandom);
+            fullDeck.offerLast(card);
         }
         return fullDeck;
     }
 
+    /**
+     * Draws the cards number of catalog cards not dealt yet in this game, and
+     * adds them into the deck of this game.
+     *
+     * @param fullDeck the cards dealt
+     * @param dealRandom the random stream of this deal
+     */
+    private void dealCatalog(Hand fullDeck, SplittableRandom dealRandom) {
+        if (catalog.size() - dealtCards.size() < getDecidedCardsNumber()) {
+            throw new IllegalStateException("The catalog has " + (catalog.size() - dealtCards.size())
+                    + " cards left, fewer than " + getDecidedCardsNumber());
+        }
+        int[] row = new int[catalog.getAttributesNumber()];
+        for (int i = 0; i < getDecidedCardsNumber(); i++) {
+            int id;
+            do {
+                id = dealRandom.nextInt(catalog.size());
+            } while (!dealtCards.add(id));
+            for (int attribute = 0; attribute < row.length; attribute++) {
+                row[attribute] = catalog.getValue(id, attribute);
+            }
+            fullDeck.offerLast(getStore().addCard(catalog.getCardName(id), row));
+        }
+    }
+
+    /**
+     * Adds the next procedural card of the seed into the deck of this game, a
+     * lazy deck making it on access or a store keeping its values.
+     *
+     * @param deckSeed the seed of the deck
+     * @return the id of the card
+     */
+    private int addProceduralCard(long deckSeed) {
+        if (getDeck() instanceof ProceduralDeck) {
+            return ((ProceduralDeck) getDeck()).addCard();
+        }
+        return getStore().addProceduralCard(deckSeed);
+    }
+
+    /**
+     * Gets the deck of this game as the store keeping its cards, the deck of
+     * every generation but the lazy one.
+     *
+     * @return the deck
+     */
+    private DeckStore getStore() {
+        return (DeckStore) getDeck();
+    }
+
     /**
      * Choose the deck type out of the existing two cards.
      */
-    public static void decideDeck() {
+    public void decideDeck() {
 
         boolean validDeckType = false;
         int choice;
         while (!validDeckType) {
-            System.out.println("[System] Which following deck of Card do you want to play ? Here are:\n"
+            getConsole().println("[System] Which following deck of Card do you want to play ? Here are:\n"
                     + "1 = Poker with 4 attributes,\n"
                     + "2 = Uno with 3 attributes,\n"
                     + "enter the index:");
 
-            choice = DataInput.inputInteger();
+            choice = DataInput.inputInteger(getInput(), getConsole());
             if (choice == 1 || choice == 2) {
                 switch (choice) {
                     //set cards type
                     case 1:
                         setDeckType("poker");
-                        System.out.format("[System] For this game, you choose the deck of <%s> with 4 attributes per card.\n", getDeckType());
+                        getConsole().format("[System] For this game, you choose the deck of <%s> with 4 attributes per card.\n", getDeckType());
                         validDeckType = true;
                         break;
                     case 2:
                         setDeckType("uno");
-                        System.out.format("[System] For this game, you choose the deck of <%s> with 3 attributes per card.\n", getDeckType());
+                        getConsole().format("[System] For this game, you choose the deck of <%s> with 3 attributes per card.\n", getDeckType());
                         validDeckType = true;
                         break;
                     default:
-                        System.out.println("[Warning] Invalid, please input again");
+                        getConsole().println("[Warning] Invalid, please input again");
                 }
             } else {
-                System.out.println("[Warning] Not found that type, please try again");
+                getConsole().println("[Warning] Not found that type, please try again");
             }
         }
 
@@ -167,52 +499,53 @@ public class Game {
     /**
      * Starts the playing cards after the setup stage.
      */
-    public static void startGame() {
+    public void startGame() {
 
-        System.out.println("===================================================Start===================================================");
-        System.out.format("[System] We will play <%s>\n", getDeckType());
-        //show the players and their name
-        System.out.format("[System] We have %d players: \n", getPlayersNumber());
-        showPlayerStates();
-        System.out.println("\n[Rules] \n"
-                + "1. In the 1st round, the 1st player would be the default Attribute-decider;\n"
-                + "while in later rounds, the winner of last round will be so.\n"
-                + "2. If there are ties in a round, simply choose as the winner\n"
-                + "the player who is closest to the first player that was entered in the game");
+        //all the cards are dealt, so index them once for the players
+        if (getDeck() instanceof DeckStore) {
+            getStore().getIndex();
+        }
+        int playersNumber = fillSeats();
+        listener.gameStarted(getDeckType(), seats, seatNumbers, playersNumber);
     }
 
     /**
-     * Shows the real-time player decks' states every round.
+     * Copies the players in order into the seats, with their numbers of cards,
+     * for the events showing the players' states.
+     *
+     * @return the number of players
      */
-    public static void showPlayerStates() {
-        System.out.println("\n        ------------------Now, Players-----------------");
-        int num = 1;
-        for (Player player : Game.getPlayers()) {
-            System.out.format("        Player %d: %-20s ", num, player.getPlayerName());
-            System.out.print(" | ");
-            System.out.format("has %d card(s) ", player.getCardsNumber());
-            System.out.println("| ");
-            System.out.println("        ------------------------------------------------");
-            num++;
+    private int fillSeats() {
+        int playersNumber = players.size();
+        if (seats.length < playersNumber) {
+            seats = new Player[playersNumber];
+            seatNumbers = new int[playersNumber];
+        }
+        int i = 0;
+        for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+            seats[i] = players.get(seat);
+            seatNumbers[i] = seats[i].getCardsNumber();
+            i++;
         }
+        return playersNumber;
     }
 
     /**
      * Starts one round, changing the states of each players.
      */
-    public static void startOneRoundRobin() {
+    public void startOneRoundRobin() {
 
-        String roundAttribute;
+        int roundAttribute;
 
-        System.out.format("\n================================================Round %d===================================================\n", gameRound);
+        listener.roundStarted(gameRound);
         if (gameRound == 1) {
-            Human firstPlayer = (Human) Game.getPlayers().get(0);
+            Player firstPlayer = players.getFirst();
             setNextAttributeMaker(firstPlayer);
-            roundAttribute = decideAttribute();
+            roundAttribute = decideAttributeIndex();
             getRoundWinner(roundAttribute);
         } else {
             //After the 1st round, the winner decide the attribute
-            roundAttribute = decideAttribute();
+            roundAttribute = decideAttributeIndex();
             getRoundWinner(roundAttribute);
         }
         increaseRound();
@@ -224,16 +557,22 @@ public class Game {
      *
      * @return the attribute to be selected
      */
-    public static String decideAttribute() {
-        System.out.println("[System]<" + getDeckType() + "> has following attributes:\n"
-                + getNextAttributeMaker().getTopCard().showAllAttri());
-        System.out.format("[Nominated Player] The attribute-decider is the Player: \n!!! %s !!!\n",
-                getNextAttributeMaker().getPlayerName());
+    public String decideAttribute() {
+        return Card.attributeName(decideAttributeIndex());
+    }
+
+    /**
+     * Returns the index of the attribute selected every round.
+     *
+     * @return the attribute index to be selected, starting from 0
+     */
+    public int decideAttributeIndex() {
+        Player decider = getNextAttributeMaker();
+        listener.attributeDeciding(getDeckType(), decider, getDeck().getAttributesNumber());
 
         //start to choose and search for the attribute
-        System.out.println("[System] Choose an attribute from as above in this round, enter its Index: ");
-        String decidedAttribute = getNextAttributeMaker().selectAttribute();
-        System.out.format("\n[Attribute] " + decidedAttribute + " to be played with!\n");
+        int decidedAttribute = decider.selectAttributeIndex();
+        listener.attributeDecided(decider, decidedAttribute);
         return decidedAttribute;
     }
 
@@ -244,31 +583,62 @@ public class Game {
      * @param chosenAttribute the attribute selected by nominated player
      * @return the winner player of this round
      */
-    public static Player getRoundWinner(String chosenAttribute) {
+    public Player getRoundWinner(String chosenAttribute) {
+        int attributeIndex = Card.attributeIndex(chosenAttribute);
+        if (attributeIndex < 0) {
+            throw new IllegalArgumentException("Not found that attribute: " + chosenAttribute);
+        }
+        return getRoundWinner(attributeIndex);
+    }
+
+    /**
+     * Returns the winner of the round depending the comparison of all card
+     * values of the attribute at the index. No object is created for a round
+     * once the buffers of the game and the hands are large enough.
+     *
+     * @param attributeIndex the attribute index selected, starting from 0
+     * @return the winner player of this round
+     */
+    public Player getRoundWinner(int attributeIndex) {
+        if (attributeIndex < 0 || attributeIndex >= getDeck().getAttributesNumber()) {
+            throw new IllegalArgumentException("Not found that attribute: " + Card.attributeName(attributeIndex));
+        }
 
         //make something on players lists, so copy first
-        Player winner = getPlayers().get(0);
-        ArrayDeque<Card> cardCollection = new ArrayDeque<>();
-
-        //start comparison 
-        Player.showTopCards(getPlayers());
-        System.out.println("[System] Comparing....");
-        for (int num = 1; num < getPlayersNumber(); num++) {
-            Player attackedPlayer = getPlayers().get(num);
-
-            Player.showTwoCards(winner, attackedPlayer, chosenAttribute);
-            //compare by pair           
-            winner = Player.hasBiggerValue(winner, attackedPlayer, chosenAttribute);
-            System.out.println("[Result] " + winner.getPlayerName() + "'s is bigger");
-            Card lostCard = getLoser().getTopCard();
-            cardCollection.offer(lostCard);
-            getLoser().loseTopCard();
-        }
-        cardCollection.offer(winner.getCards().poll());
-        System.out.format("\n================================================Round Winner: %s=============================================\n",
-                winner.getPlayerName());
-        winner.putAtBottom(cardCollection);
-        showPlayerStates();
+        int playersNumber = fillSeats();
+        for (int i = 0; i < playersNumber; i++) {
+            seatNumbers[i] = seats[i].getCards().peek();
+        }
+        listener.topCardsRevealed(seats, seatNumbers, playersNumber, getDeck());
+
+        //find the winner in one pass, then tell the comparisons by pair
+        int winnerSeat = resolver.findWinner(seats, playersNumber, attributeIndex);
+        Player winner = seats[0];
+        int winnerValue = resolver.getValue(0);
+        for (int num = 1; num < playersNumber; num++) {
+            Player attackedPlayer = seats[num];
+            int attackedValue = resolver.getValue(num);
+            Player lastWinner = winner;
+            int lastValue = winnerValue;
+            if (attackedValue > winnerValue) {
+                setLoser(winner);
+                winner = attackedPlayer;
+                winnerValue = attackedValue;
+            } else {
+                setLoser(attackedPlayer);
+            }
+            listener.cardsCompared(lastWinner, attackedPlayer, attributeIndex, lastValue, attackedValue, winner);
+            listener.cardLost(getLoser(), getLoser().getCards().peek());
+        }
+        resolver.collect(seats, playersNumber, winnerSeat);
+        for (int i = 0; i < playersNumber; i++) {
+            seats[i].roundPlayed(winner, attributeIndex, seats, seatNumbers, playersNumber);
+        }
+        //the players out in this round are still shown, with no card
+        for (int i = 0; i < playersNumber; i++) {
+            seatNumbers[i] = seats[i].getCardsNumber();
+        }
+        listener.roundWon(winner, seats, seatNumbers, playersNumber);
         setNextAttributeMaker(winner);//modify the next maker
         return winner;
     }
@@ -276,16 +646,16 @@ public class Game {
     /**
      * Adds a new Player into the game.
      */
-    public static void addOnePlayer() {
+    public void addOnePlayer() {
 
         Player player = null;
         boolean validIndex = false;
         do {
-            System.out.println("[System] Which type of players would you like?\n"
+            getConsole().println("[System] Which type of players would you like?\n"
                     + "Human = h,\n"
                     + "Computer =c,\n"
                     + "enter h/c");
-            String choice = DataInput.inputString();
+            String choice = DataInput.inputString(getInput(), getConsole());
             switch (choice) {
                 case "h":
                     player = generatOneHumanPlayer();
@@ -296,10 +666,21 @@ public class Game {
                     validIndex = true;
                     break;
                 default:
-                    System.out.println("[Warning] Invalid, please input again");
+                    getConsole().println("[Warning] Invalid, please input again");
             }
         } while (!validIndex);
-        Game.getPlayers().add(player);
+        addPlayer(player);
+    }
+
+    /**
+     * Joins the Player into this game, after the players joining before.
+     *
+     * @param player the player to join
+     */
+    public void addPlayer(Player player) {
+        player.join(this);
+        player.setSeat(players.add(player));
+        listener.playerJoined(player);
     }
 
     /**
@@ -307,8 +688,8 @@ public class Game {
      *
      * @return the Human player initialized
      */
-    public static Human generatOneHumanPlayer() {
-        String playerName = DataInput.inputName();
+    public Human generatOneHumanPlayer() {
+        String playerName = DataInput.inputName(getInput(), getConsole());
         increaseHumanNumber();
         return new Human(playerName, deal());
     }
@@ -316,18 +697,21 @@ public class Game {
     /**
      * Constructs a Computer player by its name and dealing cards.
      *
-     * @return the one of two types of Computer player initialized
+     * @return the one of the types of Computer player initialized
      */
-    public static Player generateOneComputerPlayer() {
-        String playerName = DataInput.inputName();
+    public Player generateOneComputerPlayer() {
+        String playerName = DataInput.inputName(getInput(), getConsole());
         Player player = null;
         boolean generated = false;
         do {
-            System.out.println("[System] Which type of Computer player would you like ?\n"
+            getConsole().println("[System] Which type of Computer player would you like ?\n"
                     + "1 = Predictable, always selects the 1st attribute on their card\n"
                     + "2 = Random, always radomly selects one of attributes on their card\n"
-                    + "3 = Smart,[Intelligent !!!] always selects the highest valued attribute on their card, be careful !");
-            int choice = DataInput.inputInteger();
+                    + "3 = Smart,[Intelligent !!!] always selects the highest valued attribute on their card, be careful !\n"
+                    + "4 = Counting, remembers the cards shown and selects the attribute most likely to win\n"
+                    + "5 = Searching, simulates the next rounds thousands of times before selecting\n"
+                    + "6 = Endgame, solves the possible deals of the hidden cards once few are left");
+            int choice = DataInput.inputInteger(getInput(), getConsole());
             switch (choice) {
                 case 1:
                     player = new PredictableComp(playerName, deal());
@@ -341,8 +725,20 @@ public class Game {
                     player = new SmartComp(playerName, deal());
                     generated = true;
                     break;
+                case 4:
+                    player = new CountingComp(playerName, deal());
+                    generated = true;
+                    break;
+                case 5:
+                    player = new MctsComp(playerName, deal());
+                    generated = true;
+                    break;
+                case 6:
+                    player = new EndgameComp(playerName, deal());
+                    generated = true;
+                    break;
                 default:
-                    System.out.println("[Warning] Invalid, please input again");
+                    getConsole().println("[Warning] Invalid, please input again");
             }
         } while (!generated);
         increaseComputersNumber();
@@ -350,32 +746,122 @@ public class Game {
     }
 
     /**
-     * Removes the player(s) with no cards every round.
+     * Returns the state of the game before the next round. The hands are
+     * shared with the snapshot until either side puts a card in them, so it
+     * is cheap to take one before every move of a search.
+     *
+     * @return the snapshot of the game
      */
-    public static void removeLoser() {
-        System.out.println("");
-        for (Iterator<Player> iterator = getPlayers().iterator(); iterator.hasNext();) {
-            Player next = iterator.next();
-            if (next.lost()) {
-                if (next instanceof Human) {
-                    humanNumber--;
-                } else {
-                    computersNumber--;
-                }
-                iterator.remove();
+    public GameSnapshot snapshot() {
+        Hand[] hands = new Hand[players.getSeatsNumber()];
+        for (int seat = 0; seat < hands.length; seat++) {
+            hands[seat] = players.get(seat).getCards().fork();
+        }
+        int makerSeat = (nextAttributeMaker == null) ? -1 : nextAttributeMaker.getSeat();
+        return new GameSnapshot(getDeck(), hands, players.copyActive(), makerSeat, gameRound,
+                humanNumber, computersNumber);
+    }
+
+    /**
+     * Puts the game back in the state of the snapshot, which must be of a
+     * game with the same seats. The snapshot is left unchanged, so it can be
+     * restored again.
+     *
+     * @param snapshot the snapshot to restore
+     */
+    public void restore(GameSnapshot snapshot) {
+        putBack(snapshot, false);
+    }
+
+    /**
+     * Puts the game back in the state of the snapshot as restore() does, but
+     * copies the cards into the players' own hands instead of forking the
+     * snapshot's ones. It takes O(cards) instead of O(seats), and no object is
+     * created once the hands are large enough, so a game can be played from
+     * the same start again and again without garbage.
+     *
+     * @param snapshot the snapshot to rewind to
+     */
+    public void rewind(GameSnapshot snapshot) {
+        putBack(snapshot, true);
+    }
+
+    /**
+     * Puts the game back in the state of the snapshot, which must be of a
+     * game with the same seats.
+     *
+     * @param snapshot the snapshot to put back
+     * @param copy whether the cards are copied into the players' hands
+     */
+    private void putBack(GameSnapshot snapshot, boolean copy) {
+        if (snapshot.getSeatsNumber() != players.getSeatsNumber()) {
+            throw new IllegalArgumentException("The snapshot has " + snapshot.getSeatsNumber()
+                    + " seats, not " + players.getSeatsNumber());
+        }
+        deck = snapshot.getDeck();
+        for (int seat = 0; seat < snapshot.getSeatsNumber(); seat++) {
+            Player player = players.get(seat);
+            if (copy && player.getCards().getDeck() == deck) {
+                player.getCards().copyFrom(snapshot.getHand(seat));
+            } else {
+                player.setCards(snapshot.forkHand(seat));
+            }
+        }
+        players.restore(snapshot.getActive());
+        eliminatedNumber = 0;
+        loser = null;
+        int makerSeat = snapshot.getNextMakerSeat();
+        nextAttributeMaker = (makerSeat < 0) ? null : players.get(makerSeat);
+        gameRound = snapshot.getGameRound();
+        clearRepetitions();
+        humanNumber = snapshot.getHumanNumber();
+        computersNumber = snapshot.getComputersNumber();
+        for (int seat = 0; seat < snapshot.getSeatsNumber(); seat++) {
+            players.get(seat).restored();
+        }
+    }
+
+    /**
+     * Takes the player out of the game when it loses its last card. The
+     * player is told out and counted by removeLoser() after the round.
+     *
+     * @param player the player with no card
+     */
+    public void eliminate(Player player) {
+        if (!players.contains(player.getSeat())) {
+            return;
+        }
+        players.remove(player.getSeat());
+        if (eliminatedNumber == eliminated.length) {
+            eliminated = Arrays.copyOf(eliminated, Math.max(8, eliminatedNumber * 2));
+        }
+        eliminated[eliminatedNumber++] = player;
+    }
+
+    /**
+     * Tells and counts the player(s) out of the game in the round, without
+     * going through the players still in the game.
+     */
+    public void removeLoser() {
+        for (int i = 0; i < eliminatedNumber; i++) {
+            Player next = eliminated[i];
+            listener.playerOut(next);
+            if (next.isHuman()) {
+                humanNumber--;
+            } else {
+                computersNumber--;
             }
+            eliminated[i] = null;
         }
+        eliminatedNumber = 0;
         showPlayersNumber();
     }
 
     /**
      * Shows the real-time players'number in the game.
      */
-    public static void showPlayersNumber() {
-        System.out.print("\n**********************************************************************");
-        System.out.format("\n[Existing Players] Now there are %d player(s): %d human and %d computer(s)\n",
-                getPlayersNumber(), getHumanNumber(), getComputersNumber());
-        System.out.print("**********************************************************************\n");
+    public void showPlayersNumber() {
+        listener.playersCounted(getPlayersNumber(), getHumanNumber(), getComputersNumber());
     }
 
     /**
@@ -383,7 +869,7 @@ public class Game {
      *
      * @return the playersNumber the real-time number of players
      */
-    public static int getPlayersNumber() {
+    public int getPlayersNumber() {
         return getComputersNumber() + getHumanNumber();
     }
 
@@ -392,15 +878,15 @@ public class Game {
      *
      * @return the humanNumber the real-time number of the Human players
      */
-    public static int getHumanNumber() {
+    public int getHumanNumber() {
         return humanNumber;
     }
 
     /**
      * Increases the total number of players in the game.
      */
-    public static void increaseHumanNumber() {
-        Game.humanNumber++;
+    public void increaseHumanNumber() {
+        this.humanNumber++;
     }
 
     /**
@@ -408,15 +894,15 @@ public class Game {
      *
      * @return the computersNumber
      */
-    public static int getComputersNumber() {
+    public int getComputersNumber() {
         return computersNumber;
     }
 
     /**
      * Increases the total number of Computer players in the game.
      */
-    public static void increaseComputersNumber() {
-        Game.computersNumber++;
+    public void increaseComputersNumber() {
+        this.computersNumber++;
     }
 
     /**
@@ -424,7 +910,7 @@ public class Game {
      *
      * @return the deckType the deck user selected
      */
-    public static String getDeckType() {
+    public String getDeckType() {
         return deckType;
     }
 
@@ -433,16 +919,69 @@ public class Game {
      *
      * @param aDeckType the deckType to set
      */
-    public static void setDeckType(String aDeckType) {
+    public void setDeckType(String aDeckType) {
         deckType = aDeckType;
     }
 
+    /**
+     * Gets how the values of the cards dealt are made up.
+     *
+     * @return the deckGeneration
+     */
+    public DeckGeneration getDeckGeneration() {
+        return deckGeneration;
+    }
+
+    /**
+     * Sets how the values of the cards dealt are made up, from the next deal.
+     * The deck of the last deal is dropped.
+     *
+     * @param deckGeneration the deckGeneration to set
+     */
+    public void setDeckGeneration(DeckGeneration deckGeneration) {
+        this.deckGeneration = deckGeneration;
+        deck = null;
+    }
+
+    /**
+     * Returns the seed of the procedural cards of this game, a hash of the
+     * seed of the game.
+     *
+     * @return the seed of the deck
+     */
+    private long getDeckSeed() {
+        return Hand.mix(seed);
+    }
+
+    /**
+     * Gets the catalog the cards are dealt from.
+     *
+     * @return the catalog, or null if the cards are made up
+     */
+    public DeckStore getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Deals the cards of this game from the catalog, named as the deck type,
+     * from the next deal. The deck of the last deal is dropped.
+     *
+     * @param deckName the name of the deck type
+     * @param catalog the catalog of the cards, or null to make them up
+     */
+    public void setCatalog(String deckName, DeckStore catalog) {
+        setDeckType(deckName);
+        this.catalog = catalog;
+        deck = null;
+        dealtCards.clear();
+    }
+
     /**
      * Gets the player deciding the attribute next round.
      *
      * @return the nextAttributeMaker
      */
-    public static Player getNextAttributeMaker() {
+    public Player getNextAttributeMaker() {
         return nextAttributeMaker;
     }
 
@@ -451,8 +990,8 @@ public class Game {
      *
      * @param nextAttributeMaker the nextAttributeMaker to set
      */
-    public static void setNextAttributeMaker(Player nextAttributeMaker) {
-        Game.nextAttributeMaker = nextAttributeMaker;
+    public void setNextAttributeMaker(Player nextAttributeMaker) {
+        this.nextAttributeMaker = nextAttributeMaker;
     }
 
     /**
@@ -460,8 +999,8 @@ public class Game {
      *
      * @return the decidedCardsNumber
      */
-    public static int getDecidedCardsNumber() {
-        return Game.decidedCardsNumber;
+    public int getDecidedCardsNumber() {
+        return this.decidedCardsNumber;
     }
 
     /**
@@ -469,24 +1008,64 @@ public class Game {
      *
      * @param decidedCardsNumber the decidedCardsNumber to set
      */
-    public static void setDecidedCardsNumber(int decidedCardsNumber) {
-        Game.decidedCardsNumber = decidedCardsNumber;
+    public void setDecidedCardsNumber(int decidedCardsNumber) {
+        this.decidedCardsNumber = decidedCardsNumber;
+    }
+
+    /**
+     * Gets the source of all the cards dealt in this game, created for the
+     * deck type, or with the attributes of the catalog, at the first call. It
+     * is a DeckStore keeping the cards, or a ProceduralDeck for a lazy deck,
+     * which keeps no card but makes them from the seed of the game.
+     *
+     * @return the deck
+     */
+    public CardSource getDeck() {
+        if (deck == null && catalog != null) {
+            deck = new DeckStore(catalog.getSchema(), 16);
+        } else if (deck == null) {
+            int attriNumber = (getDeckType().equals("poker")) ? ATTRIBUTES_IN_POKER : ATTRIBUTES_IN_UNO;
+            deck = (deckGeneration == DeckGeneration.LAZY)
+                    ? new ProceduralDeck(AttributeSchema.generic(attriNumber), getDeckSeed())
+                    : new DeckStore(attriNumber);
+        }
+        return deck;
     }
 
     /**
-     * Gets the list of players.
+     * Gets the list of the players still in the game, in the order of their
+     * seats.
      *
-     * @return the players
+     * @return a new list of the players
      */
-    public static ArrayList<Player> getPlayers() {
+    public ArrayList<Player> getPlayers() {
+        return players.toList();
+    }
+
+    /**
+     * Gets the players of the game by their seats, going through the ones
+     * still in the game only.
+     *
+     * @return the active players
+     */
+    public ActivePlayers getActivePlayers() {
         return players;
     }
 
+    /**
+     * Gets the number of the current round.
+     *
+     * @return the gameRound
+     */
+    public int getGameRound() {
+        return gameRound;
+    }
+
     /**
      * Increases the number of the round.
      */
-    public static void increaseRound() {
-        Game.gameRound++;
+    public void increaseRound() {
+        this.gameRound++;
     }
 
     /**
@@ -494,7 +1073,7 @@ public class Game {
      *
      * @return the loser the player who loses in the comparison
      */
-    public static Player getLoser() {
+    public Player getLoser() {
         return loser;
     }
 
@@ -503,8 +1082,97 @@ public class Game {
      *
      * @param loser the player who loses in the comparison
      */
-    public static void setLoser(Player loser) {
-        Game.loser = loser;
+    public void setLoser(Player loser) {
+        this.loser = loser;
+    }
+
+    /**
+     * Gets the stream the setup questions and warnings are printed to.
+     *
+     * @return the console stream
+     */
+    public PrintStream getConsole() {
+        return console;
+    }
+
+    /**
+     * Gets the source the answers of the setup questions and the Human
+     * players are read from.
+     *
+     * @return the input source
+     */
+    public InputSource getInput() {
+        return input;
+    }
+
+    /**
+     * Sets the source the answers of the setup questions and the Human
+     * players are read from, e.g. a BufferedInputSource of a file or a
+     * ScriptedInputSource, so the interactive game can be played by a test
+     * harness or a bot.
+     *
+     * @param input the input source to set
+     */
+    public void setInput(InputSource input) {
+        this.input = input;
+    }
+
+    /**
+     * Gets the seed of the random stream of this game.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of the random stream of this game, which restarts the
+     * stream. The deals and players after this are decided by the seed.
+     *
+     * @param seed the seed to set
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gets the random stream of this game, which the deals and the players
+     * split their own streams from.
+     *
+     * @return the random stream
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the listener of the game events.
+     *
+     * @return the listener
+     */
+    public GameEventListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener of the game events, e.g. a NoOpGameListener for the
+     * games nobody watches.
+     *
+     * @param listener the listener to set
+     */
+    public void setListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the stream the setup questions and warnings are printed to.
+     *
+     * @param console the console stream to set
+     */
+    public void setConsole(PrintStream console) {
+        this.console = console;
     }
 
 }
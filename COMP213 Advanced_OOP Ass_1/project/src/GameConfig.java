@@ -0,0 +1,251 @@
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The GameConfig class contains everything decided in the setup stage of a
+ * game, i.e. the deck type, the cards number per player and the strategies of
+ * the players, so that a game can be played without asking the user. The
+ * cards are made up for the deck type, or dealt from a catalog of real cards.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class GameConfig {
+
+    /**
+     * the default largest number of rounds before a game is a draw
+     */
+    public static final int DEFAULT_MAX_ROUNDS = 10000;
+
+    /**
+     * the default policy when a position comes back, going on until the max
+     * rounds
+     */
+    public static final RepetitionPolicy DEFAULT_REPETITION_POLICY = RepetitionPolicy.IGNORE;
+
+    /**
+     * the deck type, "poker" or "uno", or the name of the catalog
+     */
+    private final String deckType;
+
+    /**
+     * the catalog the cards are dealt from, or null to make them up
+     */
+    private final DeckStore catalog;
+
+    /**
+     * how the values of the cards are made up without a catalog
+     */
+    private final DeckGeneration deckGeneration;
+
+    /**
+     * the number of cards dealt to each player
+     */
+    private final int cardsNumber;
+
+    /**
+     * the strategies of the players, in the order they join the game
+     */
+    private final List<PlayerFactory> strategies;
+
+    /**
+     * the largest number of rounds before the game is a draw
+     */
+    private final int maxRounds;
+
+    /**
+     * what the game does when a position comes back
+     */
+    private final RepetitionPolicy repetitionPolicy;
+
+    /**
+     * Class constructor. Constructs a GameConfig with the deck type, the cards
+     * number per player and the strategies of the players, which is a draw
+     * after DEFAULT_MAX_ROUNDS rounds.
+     *
+     * @param deckType the deck type, "poker" or "uno"
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     */
+    public GameConfig(String deckType, int cardsNumber, List<PlayerFactory> strategies) {
+        this(deckType, cardsNumber, strategies, DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * Class constructor. Constructs a GameConfig with the deck type, the cards
+     * number per player, the strategies of the players and the largest number
+     * of rounds, as some deals never end. A position coming back is played
+     * on, by DEFAULT_REPETITION_POLICY.
+     *
+     * @param deckType the deck type, "poker" or "uno"
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     * @param maxRounds the largest number of rounds before the game is a draw
+     */
+    public GameConfig(String deckType, int cardsNumber, List<PlayerFactory> strategies, int maxRounds) {
+        this(deckType, cardsNumber, strategies, maxRounds, DEFAULT_REPETITION_POLICY);
+    }
+
+    /**
+     * Class constructor. Constructs a GameConfig with the deck type, the cards
+     * number per player, the strategies of the players, the largest number of
+     * rounds and what the game does when a position comes back.
+     *
+     * @param deckType the deck type, "poker" or "uno"
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     * @param maxRounds the largest number of rounds before the game is a draw
+     * @param repetitionPolicy the policy when a position comes back
+     */
+    public GameConfig(String deckType, int cardsNumber, List<PlayerFactory> strategies, int maxRounds,
+            RepetitionPolicy repetitionPolicy) {
+        this(deckType, null, DeckGeneration.STREAMED, cardsNumber, strategies, maxRounds, repetitionPolicy);
+    }
+
+    /**
+     * Class constructor. Constructs a GameConfig making up the values of the
+     * cards the way given, with the deck type, the cards number per player,
+     * the strategies of the players, the largest number of rounds and what
+     * the game does when a position comes back.
+     *
+     * @param deckType the deck type, "poker" or "uno"
+     * @param deckGeneration how the values of the cards are made up
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     * @param maxRounds the largest number of rounds before the game is a draw
+     * @param repetitionPolicy the policy when a position comes back
+     */
+    public GameConfig(String deckType, DeckGeneration deckGeneration, int cardsNumber,
+            List<PlayerFactory> strategies, int maxRounds, RepetitionPolicy repetitionPolicy) {
+        this(deckType, null, deckGeneration, cardsNumber, strategies, maxRounds, repetitionPolicy);
+    }
+
+    /**
+     * Class constructor. Constructs a GameConfig dealing the cards from the
+     * catalog, with the cards number per player, the strategies of the
+     * players, the largest number of rounds and what the game does when a
+     * position comes back. No card of the catalog is dealt twice in a game.
+     *
+     * @param deckType the name of the catalog, or "poker" or "uno" without one
+     * @param catalog the catalog of the cards, or null to make them up
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     * @param maxRounds the largest number of rounds before the game is a draw
+     * @param repetitionPolicy the policy when a position comes back
+     */
+    public GameConfig(String deckType, DeckStore catalog, int cardsNumber, List<PlayerFactory> strategies,
+            int maxRounds, RepetitionPolicy repetitionPolicy) {
+        this(deckType, catalog, DeckGeneration.STREAMED, cardsNumber, strategies, maxRounds, repetitionPolicy);
+    }
+
+    /**
+     * Class constructor. Constructs a GameConfig of every setting.
+     *
+     * @param deckType the name of the catalog, or "poker" or "uno" without one
+     * @param catalog the catalog of the cards, or null to make them up
+     * @param deckGeneration how the values of the cards are made up without a
+     * catalog
+     * @param cardsNumber the number of cards dealt to each player
+     * @param strategies the strategies of the players in the joining order
+     * @param maxRounds the largest number of rounds before the game is a draw
+     * @param repetitionPolicy the policy when a position comes back
+     */
+    private GameConfig(String deckType, DeckStore catalog, DeckGeneration deckGeneration, int cardsNumber,
+            List<PlayerFactory> strategies, int maxRounds, RepetitionPolicy repetitionPolicy) {
+        if (deckGeneration == null) {
+            throw new IllegalArgumentException("No deck generation");
+        }
+        if (catalog == null && !deckType.equals("poker") && !deckType.equals("uno")) {
+            throw new IllegalArgumentException("Not found that deck type: " + deckType);
+        }
+        if (catalog != null && (long) cardsNumber * strategies.size() > catalog.size()) {
+            throw new IllegalArgumentException("The catalog has " + catalog.size() + " cards, fewer than "
+                    + strategies.size() + " players of " + cardsNumber);
+        }
+        if (cardsNumber <= 0) {
+            throw new IllegalArgumentException("The cards number is not a positive Integer: " + cardsNumber);
+        }
+        if (strategies.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players are needed in a game");
+        }
+        if (repetitionPolicy == null) {
+            throw new IllegalArgumentException("No repetition policy");
+        }
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("The max rounds is not a positive Integer: " + maxRounds);
+        }
+        this.deckType = deckType;
+        this.catalog = catalog;
+        this.deckGeneration = deckGeneration;
+        this.cardsNumber = cardsNumber;
+        this.strategies = Collections.unmodifiableList(new ArrayList<>(strategies));
+        this.maxRounds = maxRounds;
+        this.repetitionPolicy = repetitionPolicy;
+    }
+
+    /**
+     * Gets the deck type.
+     *
+     * @return the deckType
+     */
+    public String getDeckType() {
+        return deckType;
+    }
+
+    /**
+     * Gets the catalog the cards are dealt from.
+     *
+     * @return the catalog, or null if the cards are made up
+     */
+    public DeckStore getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Gets how the values of the cards are made up without a catalog.
+     *
+     * @return the deckGeneration
+     */
+    public DeckGeneration getDeckGeneration() {
+        return deckGeneration;
+    }
+
+    /**
+     * Gets the number of cards dealt to each player.
+     *
+     * @return the cardsNumber
+     */
+    public int getCardsNumber() {
+        return cardsNumber;
+    }
+
+    /**
+     * Gets the strategies of the players.
+     *
+     * @return the strategies in the joining order
+     */
+    public List<PlayerFactory> getStrategies() {
+        return strategies;
+    }
+
+    /**
+     * Gets the largest number of rounds before the game is a draw.
+     *
+     * @return the maxRounds
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Gets what the game does when a position comes back.
+     *
+     * @return the repetitionPolicy
+     */
+    public RepetitionPolicy getRepetitionPolicy() {
+        return repetitionPolicy;
+    }
+
+}
@@ -0,0 +1,130 @@
+
+/**
+ * The GameEventListener interface receives the events of a game instead of
+ * the game printing them, so the messages can be shown on the console, shown
+ * later by another thread, or skipped when nobody reads them.
+ *
+ * The arrays given to a listener are reused by the game for the next events,
+ * so a listener keeping them must copy them during the call. The ids of the
+ * cards are in the CardSource of the game.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when a player joins the game.
+     *
+     * @param player the player joined
+     */
+    void playerJoined(Player player);
+
+    /**
+     * Called when the playing starts after the setup stage.
+     *
+     * @param deckType the deck type of the game
+     * @param players the players, in the first playersNumber elements
+     * @param cardsNumbers the number of cards of each player
+     * @param playersNumber the number of players
+     */
+    void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber);
+
+    /**
+     * Called when a round starts.
+     *
+     * @param round the number of the round, starting from 1
+     */
+    void roundStarted(int round);
+
+    /**
+     * Called before the attribute-decider selects the attribute.
+     *
+     * @param deckType the deck type of the game
+     * @param decider the player deciding the attribute
+     * @param attributesNumber the number of attributes to select from
+     */
+    void attributeDeciding(String deckType, Player decider, int attributesNumber);
+
+    /**
+     * Called after the attribute-decider selects the attribute.
+     *
+     * @param decider the player deciding the attribute
+     * @param attributeIndex the index of the attribute selected
+     */
+    void attributeDecided(Player decider, int attributeIndex);
+
+    /**
+     * Called when all the top cards are shown before the comparison.
+     *
+     * @param players the players, in the first playersNumber elements
+     * @param topCards the id of the top card of each player
+     * @param playersNumber the number of players
+     * @param deck the source of the cards
+     */
+    void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck);
+
+    /**
+     * Called when the top cards of two players are compared.
+     *
+     * @param first the last winner player
+     * @param second the player challenged by the winner player
+     * @param attributeIndex the index of the attribute of the round
+     * @param firstValue the value of the first player
+     * @param secondValue the value of the second player
+     * @param winner the player with bigger value
+     */
+    void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner);
+
+    /**
+     * Called when a player loses the top card.
+     *
+     * @param player the player losing the card
+     * @param card the id of the card lost
+     */
+    void cardLost(Player player, int card);
+
+    /**
+     * Called when the winner of a round takes the cards.
+     *
+     * @param winner the winner of the round
+     * @param players the players, in the first playersNumber elements
+     * @param cardsNumbers the number of cards of each player
+     * @param playersNumber the number of players
+     */
+    void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber);
+
+    /**
+     * Called when a player has no card and is out.
+     *
+     * @param player the player out
+     */
+    void playerOut(Player player);
+
+    /**
+     * Called when the number of players are shown.
+     *
+     * @param playersNumber the number of players
+     * @param humanNumber the number of Human players
+     * @param computersNumber the number of Computer players
+     */
+    void playersCounted(int playersNumber, int humanNumber, int computersNumber);
+
+    /**
+     * Called when there is only one player left.
+     *
+     * @param winner the winner of the game
+     * @param cardsNumber the number of cards of the winner
+     */
+    void gameOver(Player winner, int cardsNumber);
+
+    /**
+     * Called when the game ends without a winner, as the rounds run out or a
+     * position comes back.
+     *
+     * @param rounds the number of rounds played
+     */
+    void gameDrawn(int rounds);
+
+}
@@ -0,0 +1,173 @@
+
+import java.util.Arrays;
+
+/**
+ * The GameRecord class keeps the outcome of one game to export: its seed,
+ * the strategy of each player in the joining order, the winner and, for each
+ * round, its number, the attribute-decider, the attribute decided and the
+ * winner of the round. The players are numbered from 0 in the joining order.
+ *
+ * A record is reused for the next game by start(), so the arrays of the
+ * rounds only grow to the longest game.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class GameRecord {
+
+    private long seed;
+    private String[] strategies = new String[0];
+    private int playersNumber;
+    private int winner = -1;
+    private int roundsNumber;
+    private int[] roundNumbers = new int[16];
+    private int[] deciders = new int[16];
+    private int[] attributes = new int[16];
+    private int[] roundWinners = new int[16];
+
+    /**
+     * Starts the record of a game with no round and no winner.
+     *
+     * @param seed the seed of the game
+     * @param playersNumber the number of players
+     */
+    public void start(long seed, int playersNumber) {
+        this.seed = seed;
+        this.playersNumber = playersNumber;
+        if (strategies.length < playersNumber) {
+            strategies = new String[playersNumber];
+        }
+        winner = -1;
+        roundsNumber = 0;
+    }
+
+    /**
+     * Sets the strategy of the player.
+     *
+     * @param player the number of the player
+     * @param strategy the name of the strategy, the simple name of the
+     * Player class
+     */
+    public void setStrategy(int player, String strategy) {
+        strategies[player] = strategy;
+    }
+
+    /**
+     * Adds a round after the ones added.
+     *
+     * @param round the number of the round
+     * @param decider the number of the attribute-decider
+     * @param attribute the index of the attribute decided
+     * @param roundWinner the number of the winner of the round
+     */
+    public void addRound(int round, int decider, int attribute, int roundWinner) {
+        if (roundsNumber == roundNumbers.length) {
+            int capacity = roundsNumber * 2;
+            roundNumbers = Arrays.copyOf(roundNumbers, capacity);
+            deciders = Arrays.copyOf(deciders, capacity);
+            attributes = Arrays.copyOf(attributes, capacity);
+            roundWinners = Arrays.copyOf(roundWinners, capacity);
+        }
+        roundNumbers[roundsNumber] = round;
+        deciders[roundsNumber] = decider;
+        attributes[roundsNumber] = attribute;
+        roundWinners[roundsNumber] = roundWinner;
+        roundsNumber++;
+    }
+
+    /**
+     * Sets the winner of the game.
+     *
+     * @param winner the number of the winner, or -1 if the game is a draw
+     */
+    public void setWinner(int winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Gets the seed of the game.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the playersNumber
+     */
+    public int getPlayersNumber() {
+        return playersNumber;
+    }
+
+    /**
+     * Gets the strategy of the player.
+     *
+     * @param player the number of the player
+     * @return the name of the strategy
+     */
+    public String getStrategy(int player) {
+        return strategies[player];
+    }
+
+    /**
+     * Gets the winner of the game.
+     *
+     * @return the number of the winner, or -1 if the game is a draw
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the number of rounds added.
+     *
+     * @return the roundsNumber
+     */
+    public int getRoundsNumber() {
+        return roundsNumber;
+    }
+
+    /**
+     * Gets the number of the round added i-th.
+     *
+     * @param i the index of the round added, starting from 0
+     * @return the number of the round
+     */
+    public int getRound(int i) {
+        return roundNumbers[i];
+    }
+
+    /**
+     * Gets the attribute-decider of the round added i-th.
+     *
+     * @param i the index of the round added, starting from 0
+     * @return the number of the decider
+     */
+    public int getDecider(int i) {
+        return deciders[i];
+    }
+
+    /**
+     * Gets the attribute decided in the round added i-th.
+     *
+     * @param i the index of the round added, starting from 0
+     * @return the index of the attribute
+     */
+    public int getAttribute(int i) {
+        return attributes[i];
+    }
+
+    /**
+     * Gets the winner of the round added i-th.
+     *
+     * @param i the index of the round added, starting from 0
+     * @return the number of the winner of the round
+     */
+    public int getRoundWinner(int i) {
+        return roundWinners[i];
+    }
+
+}
@@ -0,0 +1,107 @@
+
+/**
+ * The GameResult class is the compact outcome of a game played to completion,
+ * containing the winner and how long the game lasted.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class GameResult {
+
+    /**
+     * the index of the winner in the joining order, starting from 0, or -1 if
+     * the game is a draw
+     */
+    private final int winnerIndex;
+
+    /**
+     * the name of the winner, or <code>null</code> if the game is a draw
+     */
+    private final String winnerName;
+
+    /**
+     * the number of rounds played
+     */
+    private final int rounds;
+
+    /**
+     * the seed the game was played with
+     */
+    private final long seed;
+
+    /**
+     * Class sole constructor. Constructs a GameResult with the winner and the
+     * rounds played.
+     *
+     * @param winnerIndex the index of the winner in the joining order
+     * @param winnerName the name of the winner
+     * @param rounds the number of rounds played
+     * @param seed the seed the game was played with
+     */
+    public GameResult(int winnerIndex, String winnerName, int rounds, long seed) {
+        this.winnerIndex = winnerIndex;
+        this.winnerName = winnerName;
+        this.rounds = rounds;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns <code>true</code> if the game ran out of rounds without a winner.
+     *
+     * @return <code>true</code> if the game is a draw <code>false</code>
+     * otherwise
+     */
+    public boolean isDraw() {
+        return winnerIndex < 0;
+    }
+
+    /**
+     * Gets the index of the winner in the joining order, starting from 0.
+     *
+     * @return the winnerIndex
+     */
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    /**
+     * Gets the name of the winner.
+     *
+     * @return the winnerName
+     */
+    public String getWinnerName() {
+        return winnerName;
+    }
+
+    /**
+     * Gets the number of rounds played.
+     *
+     * @return the rounds
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Gets the seed the game was played with, to play it again.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the result as a String.
+     *
+     * @return a String about the winner and the rounds
+     */
+    @Override
+    public String toString() {
+        if (isDraw()) {
+            return "Draw, rounds: " + rounds + ", seed: " + seed;
+        }
+        return "Winner: " + winnerName + " (player " + (winnerIndex + 1) + "), rounds: " + rounds + ", seed: " + seed;
+    }
+
+}
@@ -0,0 +1,322 @@
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+/**
+ * The GameSnapshot class keeps the state of a game at the start of a round:
+ * the cards of every seat in order, the seats still in the game, the next
+ * attribute-decider, the round and the numbers of Human and Computer
+ * players. It is taken by Game.snapshot() and put back by Game.restore().
+ *
+ * The hands are forks sharing the buffers of the game's hands, so a snapshot
+ * costs O(seats) however many cards there are, and a hand is copied only
+ * when the game or a restored copy puts a card in it.
+ *
+ * A snapshot is written to a checkpoint as compact binary: the card ids,
+ * values and numbers as VarInts, and the deck with the names
+ * of its attributes with it. A lazy ProceduralDeck is written as its seed and
+ * number of cards instead of its cards, so the checkpoint of a game of it
+ * stays O(hands). Checkpoints of version 1, without the names, are read with
+ * the generic ones.
+ *
+ * The random streams of the game and of the players are not in a snapshot,
+ * so a game restored continues with the streams its players have then: a
+ * game of players selecting at random, e.g. the RandomComp, does not continue
+ * as the game the snapshot was taken of did. To play a restored game the same
+ * way again, give the game the same seed and join its players again before
+ * restoring it, as the StrategyOptimizer does.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class GameSnapshot {
+
+    private static final int MAGIC = 0x54544753;
+    private static final int VERSION = 3;
+
+    /**
+     * the kinds of the deck written in a checkpoint
+     */
+    private static final int CARDS_DECK = 0;
+    private static final int PROCEDURAL_DECK = 1;
+
+    private final CardSource deck;
+    private final Hand[] hands;
+    private final long[] active;
+    private final int nextMakerSeat;
+    private final int gameRound;
+    private final int humanNumber;
+    private final int computersNumber;
+
+    /**
+     * Class constructor. Constructs a GameSnapshot of the state given, which
+     * it keeps without copying.
+     *
+     * @param deck the source of the cards
+     * @param hands the hands of the seats
+     * @param active the bits of the seats still in the game
+     * @param nextMakerSeat the seat of the next attribute-decider, or -1
+     * @param gameRound the number of the round
+     * @param humanNumber the number of Human players
+     * @param computersNumber the number of Computer players
+     */
+    GameSnapshot(CardSource deck, Hand[] hands, long[] active, int nextMakerSeat, int gameRound,
+            int humanNumber, int computersNumber) {
+        this.deck = deck;
+        this.hands = hands;
+        this.active = active;
+        this.nextMakerSeat = nextMakerSeat;
+        this.gameRound = gameRound;
+        this.humanNumber = humanNumber;
+        this.computersNumber = computersNumber;
+    }
+
+    /**
+     * Writes this snapshot to the output as a checkpoint.
+     *
+     * @param output the output to write to
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        VarInt.write(out, gameRound);
+        VarInt.write(out, nextMakerSeat + 1);
+        VarInt.write(out, humanNumber);
+        VarInt.write(out, computersNumber);
+
+        VarInt.write(out, deck.getAttributesNumber());
+        for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+            out.writeUTF(deck.getSchema().getName(attribute));
+        }
+        if (deck instanceof ProceduralDeck) {
+            out.writeByte(PROCEDURAL_DECK);
+            out.writeLong(((ProceduralDeck) deck).getDeckSeed());
+            VarInt.write(out, deck.size());
+        } else {
+            out.writeByte(CARDS_DECK);
+            VarInt.write(out, deck.size());
+            for (int card = 0; card < deck.size(); card++) {
+                out.writeUTF(deck.getCardName(card));
+                for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+                    int value = deck.getValue(card, attribute);
+                    VarInt.write(out, (value << 1) ^ (value >> 31));
+                }
+            }
+        }
+
+        VarInt.write(out, hands.length);
+        for (int seat = 0; seat < hands.length; seat++) {
+            out.writeBoolean(isActive(seat));
+            VarInt.write(out, hands[seat].size());
+            for (int i = 0; i < hands[seat].size(); i++) {
+                VarInt.write(out, hands[seat].get(i));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a snapshot from a checkpoint written by writeTo().
+     *
+     * @param input the input to read from
+     * @return the snapshot read, with a deck of its own
+     * @throws IOException if the input cannot be read or is not a checkpoint
+     */
+    public static GameSnapshot readFrom(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game checkpoint");
+        }
+        int version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Not a game checkpoint of a known version: " + version);
+        }
+        int gameRound = VarInt.read(in);
+        int nextMakerSeat = VarInt.read(in) - 1;
+        int humanNumber = VarInt.read(in);
+        int computersNumber = VarInt.read(in);
+
+        int attributesNumber = VarInt.read(in);
+        if (attributesNumber <= 0) {
+            throw new IOException("The attributes number is not a positive Integer: " + attributesNumber);
+        }
+        AttributeSchema schema = AttributeSchema.generic(attributesNumber);
+        if (version >= 2) {
+            ArrayList<String> names = new ArrayList<>(attributesNumber);
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                names.add(in.readUTF());
+            }
+            try {
+                schema = new AttributeSchema(names);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage());
+            }
+        }
+        int kind = (version >= 3) ? in.readByte() : CARDS_DECK;
+        CardSource deck;
+        int cardsNumber;
+        if (kind == PROCEDURAL_DECK) {
+            long deckSeed = in.readLong();
+            cardsNumber = readCount(in, "cards");
+            deck = new ProceduralDeck(schema, deckSeed, cardsNumber);
+        } else if (kind == CARDS_DECK) {
+            cardsNumber = readCount(in, "cards");
+            DeckStore store = new DeckStore(schema, cardsNumber);
+            int[] values = new int[attributesNumber];
+            for (int card = 0; card < cardsNumber; card++) {
+                String cardName = in.readUTF();
+                for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                    int zigzag = VarInt.read(in);
+                    values[attribute] = (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+                store.addCard(cardName, values);
+            }
+            deck = store;
+        } else {
+            throw new IOException("Not a kind of deck: " + kind);
+        }
+
+        int seatsNumber = readCount(in, "seats");
+        if (nextMakerSeat < -1 || nextMakerSeat >= seatsNumber) {
+            throw new IOException("The next attribute-decider is not a seat: " + nextMakerSeat);
+        }
+        Hand[] hands = new Hand[seatsNumber];
+        long[] active = new long[(seatsNumber + 63) >>> 6];
+        for (int seat = 0; seat < seatsNumber; seat++) {
+            if (in.readBoolean()) {
+                active[seat >>> 6] |= 1L << seat;
+            }
+            int size = readCount(in, "cards of a hand");
+            hands[seat] = new Hand(deck, size);
+            for (int i = 0; i < size; i++) {
+                int card = VarInt.read(in);
+                if (card < 0 || card >= cardsNumber) {
+                    throw new IOException("No card " + card + " in the checkpoint");
+                }
+                hands[seat].offerLast(card);
+            }
+        }
+        return new GameSnapshot(deck, hands, active, nextMakerSeat, gameRound, humanNumber, computersNumber);
+    }
+
+    /**
+     * Reads a number of things written by VarInt.write(), which cannot be
+     * negative.
+     *
+     * @param in the input to read from
+     * @param things the things counted, for the message
+     * @return the number read
+     * @throws IOException if the input cannot be read or the number is
+     * negative
+     */
+    private static int readCount(DataInputStream in, String things) throws IOException {
+        int count = VarInt.read(in);
+        if (count < 0) {
+            throw new IOException("The number of " + things + " is negative: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the source of the cards of the snapshot.
+     *
+     * @return the deck
+     */
+    public CardSource getDeck() {
+        return deck;
+    }
+
+    /**
+     * Returns the number of seats, including the ones out.
+     *
+     * @return the number of seats
+     */
+    public int getSeatsNumber() {
+        return hands.length;
+    }
+
+    /**
+     * Returns a fork of the hand of the seat, leaving the snapshot unchanged
+     * whatever is done with it.
+     *
+     * @param seat the seat
+     * @return the fork of the hand
+     */
+    public Hand forkHand(int seat) {
+        return hands[seat].fork();
+    }
+
+    /**
+     * Returns <code>true</code> if the seat is still in the game.
+     *
+     * @param seat the seat
+     * @return <code>true</code> if the seat is in the game <code>false</code>
+     * otherwise
+     */
+    public boolean isActive(int seat) {
+        return (active[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Returns the hand of the seat itself, which must not be changed.
+     *
+     * @param seat the seat
+     * @return the hand
+     */
+    Hand getHand(int seat) {
+        return hands[seat];
+    }
+
+    /**
+     * Returns the bits of the seats still in the game themselves, which must
+     * not be changed.
+     *
+     * @return the bits
+     */
+    long[] getActive() {
+        return active;
+    }
+
+    /**
+     * Returns the seat of the next attribute-decider.
+     *
+     * @return the seat, or -1 if there is none yet
+     */
+    public int getNextMakerSeat() {
+        return nextMakerSeat;
+    }
+
+    /**
+     * Returns the number of the round.
+     *
+     * @return the gameRound
+     */
+    public int getGameRound() {
+        return gameRound;
+    }
+
+    /**
+     * Returns the number of Human players.
+     *
+     * @return the humanNumber
+     */
+    public int getHumanNumber() {
+        return humanNumber;
+    }
+
+    /**
+     * Returns the number of Computer players.
+     *
+     * @return the computersNumber
+     */
+    public int getComputersNumber() {
+        return computersNumber;
+    }
+
+}
@@ -0,0 +1,385 @@
+
+import java.util.NoSuchElementException;
+
+/**
+ * The Hand class is the queue of cards of a player, kept as a ring buffer of
+ * the card ids of a CardSource. The top card is the first one and won cards are
+ * put at the bottom.
+ *
+ * A hand can be forked in O(1): the fork shares the buffer, and whichever of
+ * the two hands first puts a card copies it (copy-on-write). Taking cards
+ * from the top only moves the head, so it never copies.
+ *
+ * A hand keeps a hash of its cards in order, a polynomial of the card keys in
+ * the powers of an odd base modulo 2^64, so putting or taking a card updates
+ * it in O(1). The powers count from the first card ever put, and the hash is
+ * shifted back by the cards taken when it is asked for, so the same cards in
+ * the same order always have the same hash.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class Hand {
+
+    /**
+     * the base of the hash polynomial, odd so that it has an inverse
+     */
+    private static final long BASE = 0x9E3779B97F4A7C15L;
+
+    /**
+     * the inverse of the base modulo 2^64
+     */
+    private static final long INVERSE_BASE = inverse(BASE);
+
+    /**
+     * the source of the cards in this hand
+     */
+    private final CardSource deck;
+
+    /**
+     * the ring buffer of the card ids, its length is a power of 2
+     */
+    private int[] cards;
+
+    /**
+     * the position of the top card in the buffer
+     */
+    private int head;
+
+    /**
+     * the number of cards in this hand
+     */
+    private int size;
+
+    /**
+     * whether the buffer may be shared with a fork
+     */
+    private boolean shared;
+
+    /**
+     * the sum of the key of each card times the base to the power of the
+     * number of cards put before it
+     */
+    private long hash;
+
+    /**
+     * the base to the power of the number of cards taken
+     */
+    private long headPower = 1;
+
+    /**
+     * the inverse base to the power of the number of cards taken
+     */
+    private long inverseHeadPower = 1;
+
+    /**
+     * the base to the power of the number of cards put
+     */
+    private long tailPower = 1;
+
+    /**
+     * Class constructor. Constructs an empty Hand of the cards in the deck.
+     *
+     * @param deck the source of the cards
+     */
+    public Hand(CardSource deck) {
+        this(deck, 8);
+    }
+
+    /**
+     * Class constructor. Constructs an empty Hand of the cards in the deck,
+     * able to hold the number of cards before growing.
+     *
+     * @param deck the source of the cards
+     * @param capacity the initial number of cards to hold
+     */
+    public Hand(CardSource deck, int capacity) {
+        this.deck = deck;
+        int length = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.cards = new int[length];
+    }
+
+    /**
+     * Class constructor. Constructs a Hand sharing the buffer of another.
+     *
+     * @param other the hand to fork
+     */
+    private Hand(Hand other) {
+        this.deck = other.deck;
+        this.cards = other.cards;
+        this.head = other.head;
+        this.size = other.size;
+        this.shared = true;
+        this.hash = other.hash;
+        this.headPower = other.headPower;
+        this.inverseHeadPower = other.inverseHeadPower;
+        this.tailPower = other.tailPower;
+    }
+
+    /**
+     * Returns a copy of this hand sharing its buffer until either of them
+     * puts a card.
+     *
+     * @return the fork of this hand
+     */
+    public Hand fork() {
+        shared = true;
+        return new Hand(this);
+    }
+
+    /**
+     * Replaces the cards of this hand with the cards of the other one, in
+     * their order, reusing the buffer of this hand if it is large enough and
+     * not shared. The other hand is left unchanged.
+     *
+     * @param other the hand whose cards to copy
+     */
+    public void copyFrom(Hand other) {
+        if (other == this) {
+            return;
+        }
+        if (shared || cards.length < other.size) {
+            int length = cards.length;
+            while (length < other.size) {
+                length <<= 1;
+            }
+            cards = new int[length];
+            shared = false;
+        }
+        for (int i = 0; i < other.size; i++) {
+            cards[i] = other.get(i);
+        }
+        head = 0;
+        size = other.size;
+        hash = other.hash;
+        headPower = other.headPower;
+        inverseHeadPower = other.inverseHeadPower;
+        tailPower = other.tailPower;
+    }
+
+    /**
+     * Copies the buffer if it may be shared, before putting cards in it.
+     */
+    private void own() {
+        if (shared) {
+            cards = cards.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * Puts the card at the bottom of this hand.
+     *
+     * @param card the id of the card
+     */
+    public void offerLast(int card) {
+        own();
+        if (size == cards.length) {
+            grow(size + 1);
+        }
+        cards[(head + size) & (cards.length - 1)] = card;
+        size++;
+        hashLast(card);
+    }
+
+    /**
+     * Puts all the cards of the other hand at the bottom of this hand, in their
+     * order, and empties the other hand.
+     *
+     * @param other the hand whose cards to move
+     */
+    public void moveAllFrom(Hand other) {
+        own();
+        if (size + other.size > cards.length) {
+            grow(size + other.size);
+        }
+        for (int i = 0; i < other.size; i++) {
+            int card = other.get(i);
+            cards[(head + size + i) & (cards.length - 1)] = card;
+            hashLast(card);
+        }
+        size += other.size;
+        other.clear();
+    }
+
+    /**
+     * Puts the first number of cards of the array at the bottom of this hand,
+     * in their order.
+     *
+     * @param newCards the ids of the cards
+     * @param number the number of cards to put
+     */
+    public void offerAll(int[] newCards, int number) {
+        own();
+        if (size + number > cards.length) {
+            grow(size + number);
+        }
+        int tail = (head + size) & (cards.length - 1);
+        int firstPart = Math.min(number, cards.length - tail);
+        System.arraycopy(newCards, 0, cards, tail, firstPart);
+        System.arraycopy(newCards, firstPart, cards, 0, number - firstPart);
+        size += number;
+        for (int i = 0; i < number; i++) {
+            hashLast(newCards[i]);
+        }
+    }
+
+    /**
+     * Returns the id of the top card without removing it.
+     *
+     * @return the top card id, or -1 if there is no card
+     */
+    public int peek() {
+        return (size == 0) ? -1 : cards[head];
+    }
+
+    /**
+     * Removes and returns the id of the top card.
+     *
+     * @return the top card id
+     * @throws NoSuchElementException if there is no card
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("No card in the hand");
+        }
+        int card = cards[head];
+        head = (head + 1) & (cards.length - 1);
+        size--;
+        hash -= cardKey(card) * headPower;
+        headPower *= BASE;
+        inverseHeadPower *= INVERSE_BASE;
+        return card;
+    }
+
+    /**
+     * Returns the id of the card at the position from the top.
+     *
+     * @param position the position, 0 for the top card
+     * @return the card id
+     */
+    public int get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+        }
+        return cards[(head + position) & (cards.length - 1)];
+    }
+
+    /**
+     * Removes all the cards.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        hash = 0;
+        headPower = 1;
+        inverseHeadPower = 1;
+        tailPower = 1;
+    }
+
+    /**
+     * Returns the hash of the cards in order, the same for any hand with the
+     * same cards in the same order however they came in.
+     *
+     * @return the hash of the cards
+     */
+    public long getStateHash() {
+        return hash * inverseHeadPower;
+    }
+
+    /**
+     * Adds the card put at the bottom to the hash.
+     *
+     * @param card the id of the card
+     */
+    private void hashLast(int card) {
+        hash += cardKey(card) * tailPower;
+        tailPower *= BASE;
+    }
+
+    /**
+     * Returns the key of the card in the hash, its id mixed by SplitMix64.
+     *
+     * @param card the id of the card
+     * @return the key of the card
+     */
+    static long cardKey(int card) {
+        return mix(card + 1L);
+    }
+
+    /**
+     * Mixes the bits of the number by the SplitMix64 finalizer.
+     *
+     * @param number the number to mix
+     * @return the mixed number
+     */
+    static long mix(long number) {
+        long z = number * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the inverse of the odd number modulo 2^64 by Newton's method,
+     * each step doubling the correct low bits.
+     *
+     * @param odd the odd number
+     * @return the inverse
+     */
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    /**
+     * Returns the number of cards.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <code>true</code> if there is no card.
+     *
+     * @return <code>true</code> if the hand is empty <code>false</code>
+     * otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the source of the cards in this hand.
+     *
+     * @return the deck
+     */
+    public CardSource getDeck() {
+        return deck;
+    }
+
+    /**
+     * Moves the cards to a larger buffer, from the top one at position 0.
+     *
+     * @param minCapacity the number of cards to hold at least
+     */
+    private void grow(int minCapacity) {
+        int length = cards.length;
+        while (length < minCapacity) {
+            length <<= 1;
+        }
+        int[] newCards = new int[length];
+        for (int i = 0; i < size; i++) {
+            newCards[i] = cards[(head + i) & (cards.length - 1)];
+        }
+        cards = newCards;
+        head = 0;
+        shared = false;
+    }
+
+}
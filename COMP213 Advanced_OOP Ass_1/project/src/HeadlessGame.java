@@ -0,0 +1,170 @@
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The HeadlessGame class plays a whole game from a GameConfig without any
+ * console input or output, by the same rules of the interactive game.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class HeadlessGame {
+
+    /**
+     * the stream discarding all the game messages
+     */
+    static final PrintStream SILENT = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    /**
+     * Plays a game set up by the config with a random seed, until there is
+     * only one player or it is a draw after the max rounds, and returns its
+     * result. Each call plays its own Game, so many games can be played at the
+     * same time from different threads.
+     *
+     * @param config the setup of the game
+     * @return the result of the game
+     */
+    public static GameResult play(GameConfig config) {
+        return play(config, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Plays a game set up by the config with the seed, until there is only
+     * one player, a position comes back under the repetition policy of the
+     * config or it is a draw after the max rounds, and returns its result.
+     * The same config and seed always play the same game.
+     *
+     * @param config the setup of the game
+     * @param seed the seed of the game
+     * @return the result of the game
+     */
+    public static GameResult play(GameConfig config, long seed) {
+        return play(config, seed, new NoOpGameListener());
+    }
+
+    /**
+     * Plays a game set up by the config with the seed as play(config, seed),
+     * telling the listener the events from the start of the game to its end,
+     * e.g. to record metrics of the games.
+     *
+     * @param config the setup of the game
+     * @param seed the seed of the game
+     * @param listener the listener of the game events
+     * @return the result of the game
+     */
+    public static GameResult play(GameConfig config, long seed, GameEventListener listener) {
+        Game game = setUp(config, seed);
+        ArrayList<Player> joined = new ArrayList<>(game.getPlayers());
+        game.setListener(listener);
+        game.startGame();
+        boolean won = game.playRounds(config.getMaxRounds());
+        game.finishGame();
+        if (!won) {
+            return new GameResult(-1, null, game.getGameRound() - 1, seed);
+        }
+        Player winner = game.getWinner();
+        int winnerIndex = 0;
+        while (joined.get(winnerIndex) != winner) {
+            winnerIndex++;
+        }
+        return new GameResult(winnerIndex, winner.getPlayerName(), game.getGameRound() - 1, seed);
+    }
+
+    /**
+     * Returns a Game set up by the config with a random seed, without console
+     * output, with all the players joined in the order of the config and
+     * ready to play.
+     *
+     * @param config the setup of the game
+     * @return the game set up
+     */
+    public static Game setUp(GameConfig config) {
+        return setUp(config, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Returns a Game set up by the config with the seed, without console
+     * output, with all the players joined in the order of the config and
+     * ready to play.
+     *
+     * @param config the setup of the game
+     * @param seed the seed of the game
+     * @return the game set up
+     */
+    public static Game setUp(GameConfig config, long seed) {
+        Game game = new Game(SILENT, new NoOpGameListener(), seed);
+        configure(game, config);
+
+        //join the players in the order of the config, as in the setup stage
+        for (PlayerFactory strategy : config.getStrategies()) {
+            Player player = strategy.create(String.valueOf(game.getPlayersNumber() + 1), game.deal());
+            join(game, player);
+        }
+        return game;
+    }
+
+    /**
+     * Sets up the game again by the config with the seed, with the players
+     * given instead of the strategies of the config, reusing the Game and the
+     * players of an earlier game. The players are dealt in their order, so
+     * the same config, seed and strategies deal the same cards as setUp().
+     *
+     * @param game the game to set up again, which is reset
+     * @param config the setup of the game
+     * @param seed the seed of the game
+     * @param players the players, joined in their order
+     */
+    public static void setUp(Game game, GameConfig config, long seed, Player... players) {
+        game.reset();
+        game.setSeed(seed);
+        configure(game, config);
+        for (Player player : players) {
+            player.setCards(game.deal());
+            player.restored();
+            join(game, player);
+        }
+    }
+
+    /**
+     * Sets the deck and the rules of the config in the game.
+     *
+     * @param game the game
+     * @param config the setup of the game
+     */
+    private static void configure(Game game, GameConfig config) {
+        game.setDeckType(config.getDeckType());
+        game.setDeckGeneration(config.getDeckGeneration());
+        if (config.getCatalog() != null) {
+            game.setCatalog(config.getDeckType(), config.getCatalog());
+        }
+        game.setDecidedCardsNumber(config.getCardsNumber());
+        game.setRepetitionPolicy(config.getRepetitionPolicy());
+    }
+
+    /**
+     * Joins the Computer player in the game.
+     *
+     * @param game the game
+     * @param player the player dealt
+     * @throws IllegalArgumentException if the player is a Human player
+     */
+    private static void join(Game game, Player player) {
+        if (player.isHuman()) {
+            throw new IllegalArgumentException("A Human player cannot play without console");
+        }
+        game.addPlayer(player);
+        game.increaseComputersNumber();
+    }
+
+}
@@ -0,0 +1,107 @@
+
+/**
+ * The HistogramSnapshot class is the counts of a LogLinearHistogram at one
+ * time, giving the count, mean and percentiles of the values recorded. A
+ * percentile is the highest value of its bucket, so it is never below the
+ * real one and at most about 3% above it.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class HistogramSnapshot {
+
+    /**
+     * the counts of the buckets
+     */
+    private final long[] counts;
+
+    /**
+     * the number of values
+     */
+    private final long count;
+
+    /**
+     * the sum of the values
+     */
+    private final long sum;
+
+    /**
+     * the highest value
+     */
+    private final long max;
+
+    /**
+     * Class constructor. Constructs a HistogramSnapshot of the counts, which
+     * it keeps without copying.
+     *
+     * @param counts the counts of the buckets
+     * @param sum the sum of the values
+     * @param max the highest value
+     */
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or 0 if there is no value
+     */
+    public double getMean() {
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the highest value.
+     *
+     * @return the max, or 0 if there is no value
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the value the percentage of the values are at or below.
+     *
+     * @param percentile the percentage, from 0 to 100
+     * @return the value of the percentile, or 0 if there is no value
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(LogLinearHistogram.highestOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count %d, mean %.2f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d", count, getMean(),
+                getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99),
+                getValueAtPercentile(99.9), max);
+    }
+
+}
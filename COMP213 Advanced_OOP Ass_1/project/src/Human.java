@@ -1,5 +1,4 @@
 
-import java.util.ArrayDeque;
 
 /**
  * The Human class inherits from the Player class, and implements the abstract
@@ -17,10 +16,29 @@ public class Human extends Player {
      * @param playerName the name of this player
      * @param cards the cards of this player
      */
-    public Human(String playerName, ArrayDeque<Card> cards) {
+    public Human(String playerName, Hand cards) {
 
         super("Human_" + playerName, cards);
-        System.out.format("\n[System] A Human player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns <code>true</code> as this player is a human one.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isHuman() {
+        return true;
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("\n[System] A Human player: %s, joins...... ", getPlayerName());
     }
 
     /**
@@ -30,16 +48,26 @@ public class Human extends Player {
      */
     @Override
     public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns the index of the Attribute this Human player chooses.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
         int index;
-        String chosenAttribute = null;
+        int chosenAttribute = -1;
         boolean validInput = false;
         while (!validInput) {
-            index = DataInput.inputInteger();
-            if ((index - 1) < this.getTopCard().getAttributes().size()) {
-                chosenAttribute = "Attribute_" + index;
+            index = DataInput.inputInteger(getGame().getInput(), getConsole());
+            if (index >= 1 && (index - 1) < getCards().getDeck().getAttributesNumber()) {
+                chosenAttribute = index - 1;
                 validInput = true;
             } else {
-                System.out.println("[Warning] The index is out of bound, input again");
+                getConsole().println("[Warning] The index is out of bound, input again");
             }
         }
         return chosenAttribute;
@@ -0,0 +1,20 @@
+
+/**
+ * The InputSource interface is where the answers of the user come from, one
+ * line each: the keyboard, a file or pipe, or a script of a test harness or a
+ * bot, so the interactive game can be played without a person.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public interface InputSource {
+
+    /**
+     * Returns the next line, without the line terminator.
+     *
+     * @return the next line
+     * @throws java.util.NoSuchElementException if there is no more line
+     */
+    String readLine();
+
+}
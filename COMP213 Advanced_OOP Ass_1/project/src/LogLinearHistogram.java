@@ -0,0 +1,146 @@
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LogLinearHistogram class counts non-negative long values in buckets
+ * growing by powers of 2, each cut into 32 linear sub-buckets, so a value is
+ * kept within about 3% of itself from 0 to Long.MAX_VALUE in a fixed array,
+ * as an HdrHistogram does.
+ *
+ * Recording is lock-free and creates no object. The counts are striped: each
+ * thread counts in the stripe of its id, so threads recording at the same
+ * time seldom touch the same memory. snapshot() adds the stripes up.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class LogLinearHistogram {
+
+    /**
+     * the number of bits of the sub-bucket of a value
+     */
+    static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * the number of sub-buckets of each power of 2
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * the number of buckets: the exact values below SUB_BUCKETS, then the
+     * sub-buckets of each power of 2 up to 2^62
+     */
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * the largest number of stripes
+     */
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * the counts of the buckets, one run of BUCKETS per stripe
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * the number of stripes minus 1
+     */
+    private final int stripeMask;
+
+    /**
+     * the sum of the values recorded
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * the highest value recorded
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Class constructor. Constructs an empty LogLinearHistogram with a stripe
+     * per processor, up to MAX_STRIPES.
+     */
+    public LogLinearHistogram() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(processors, 1) * 2 - 1));
+        this.counts = new AtomicLongArray(stripes * BUCKETS);
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Records the value, or 0 for a negative one.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counts.getAndIncrement(stripe * BUCKETS + bucketOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the counts recorded so far, added up over the stripes. Values
+     * recorded while it is taken may or may not be in it.
+     *
+     * @return the snapshot of this histogram
+     */
+    public HistogramSnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                buckets[bucket] += counts.get(stripe * BUCKETS + bucket);
+            }
+        }
+        return new HistogramSnapshot(buckets, sum.sum(), max.get());
+    }
+
+    /**
+     * Returns the bucket of the value.
+     *
+     * @param value the non-negative value
+     * @return the bucket
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the lowest value of the bucket.
+     *
+     * @param bucket the bucket
+     * @return the lowest value
+     */
+    static long lowestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    /**
+     * Returns the highest value of the bucket.
+     *
+     * @param bucket the bucket
+     * @return the highest value
+     */
+    static long highestOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return lowestOf(bucket) + (1L << shift) - 1;
+    }
+
+}
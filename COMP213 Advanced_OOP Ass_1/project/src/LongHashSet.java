@@ -0,0 +1,148 @@
+
+import java.util.Arrays;
+
+/**
+ * The LongHashSet class is a set of long numbers kept in one array by open
+ * addressing with linear probing, so adding a number creates no object. It
+ * keeps the hashes of the positions a game has been in.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class LongHashSet {
+
+    /**
+     * the numbers, 0 for an empty slot; the length is a power of 2
+     */
+    private long[] slots;
+
+    /**
+     * whether 0 is in the set, as it marks the empty slots
+     */
+    private boolean hasZero;
+
+    /**
+     * the number of numbers in the set
+     */
+    private int size;
+
+    /**
+     * Class constructor. Constructs an empty LongHashSet.
+     */
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * Class constructor. Constructs an empty LongHashSet able to hold the
+     * number of numbers before growing.
+     *
+     * @param capacity the initial number of numbers to hold
+     */
+    public LongHashSet(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1) << 1;
+        this.slots = new long[length];
+    }
+
+    /**
+     * Adds the number to the set.
+     *
+     * @param number the number to add
+     * @return <code>true</code> if the number was not in the set
+     * <code>false</code> otherwise
+     */
+    public boolean add(long number) {
+        if (number == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int i = slot(number, mask);
+        while (slots[i] != 0) {
+            if (slots[i] == number) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = number;
+        size++;
+        //at most half of the slots are used
+        if (size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if the number is in the set.
+     *
+     * @param number the number
+     * @return <code>true</code> if the number is in the set <code>false</code>
+     * otherwise
+     */
+    public boolean contains(long number) {
+        if (number == 0) {
+            return hasZero;
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(number, mask); slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == number) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of numbers in the set.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all the numbers, keeping the array.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * Returns the first slot to look for the number in.
+     *
+     * @param number the number, not 0
+     * @param mask the length of the slots minus 1
+     * @return the slot
+     */
+    private static int slot(long number, int mask) {
+        long mixed = number * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    /**
+     * Doubles the slots and puts the numbers in again.
+     */
+    private void grow() {
+        long[] oldSlots = slots;
+        slots = new long[oldSlots.length * 2];
+        int mask = slots.length - 1;
+        for (long number : oldSlots) {
+            if (number != 0) {
+                int i = slot(number, mask);
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = number;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+
+import java.util.Arrays;
+
+/**
+ * The LongIntHashMap class maps long numbers to non-negative int numbers in
+ * two arrays by open addressing with linear probing, so putting a number
+ * creates no object. It numbers the positions an EndgameSolver reaches.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class LongIntHashMap {
+
+    /**
+     * the keys; the length is a power of 2
+     */
+    private long[] keys;
+
+    /**
+     * the values plus 1, 0 for an empty slot
+     */
+    private int[] values;
+
+    /**
+     * the number of keys in the map
+     */
+    private int size;
+
+    /**
+     * Class constructor. Constructs an empty LongIntHashMap.
+     */
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Class constructor. Constructs an empty LongIntHashMap able to hold the
+     * number of keys before growing.
+     *
+     * @param capacity the initial number of keys to hold
+     */
+    public LongIntHashMap(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 4) * 2 - 1) << 1;
+        this.keys = new long[length];
+        this.values = new int[length];
+    }
+
+    /**
+     * Returns the value of the key.
+     *
+     * @param key the key
+     * @return the value, or -1 if the key is not in the map
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Puts the value of the key in the map, replacing the last one.
+     *
+     * @param key the key
+     * @param value the value, not negative
+     */
+    public void put(long key, int value) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        size++;
+        //at most half of the slots are used
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all the keys, keeping the arrays.
+     */
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns the first slot to look for the key in.
+     *
+     * @param key the key
+     * @param mask the length of the slots minus 1
+     * @return the slot
+     */
+    private static int slot(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    /**
+     * Doubles the slots and puts the keys in again.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != 0) {
+                int i = slot(oldKeys[j], mask);
+                while (values[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+}
@@ -1,4 +1,6 @@
 
+import java.io.IOException;
+
 /**
  * The Main class is to instantiate the game.
  * 
@@ -8,13 +10,19 @@
 public class Main {
 
     /**
-     * Instantiates the game from the main method.
+     * Instantiates the game from the main method. If a file is given, the
+     * answers are read from it instead of the keyboard.
      *
-     * @param args user input from console
+     * @param args user input from console, or the path of a file of answers
+     * @throws IOException if the file of answers cannot be opened
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
-        Game.runGame();
+        Game game = new Game();
+        if (args.length > 0) {
+            game.setInput(BufferedInputSource.fromFile(args[0]));
+        }
+        game.runGame();
     }
 
 }
@@ -0,0 +1,1007 @@
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The MctsComp class inherits from the Player class, and implements the
+ * abstract method selectAttribute() by a Monte Carlo Tree Search.
+ *
+ * The player follows the cards revealed in every round: the cards a player
+ * wins go under its hand in the order they are collected, so the bottom of
+ * each hand is seen, and only the cards dealt to it are not. Each iteration
+ * first deals the cards not seen at random on the top of the other players'
+ * hands, over the cards seen, and plays that deal on a small copy of the
+ * hands. The tree has a node per decision of the player, reached by its
+ * attributes selected before, as the cards not seen are not known (a single
+ * observer information set tree). An iteration selects the attributes down
+ * the tree by UCB1, with the other players selecting the attribute of their
+ * top card most likely to win by the DeckIndex in the rounds they decide,
+ * and adds the first decision reached which is not in the tree yet. From
+ * there it plays HORIZON rounds with every player selecting that way, and
+ * the reward, 1 for a win, 0 for a loss or else the share of the chances to
+ * win of the cards in its hand, is backed up the selected path.
+ *
+ * The search runs on several searchers at the same time, each with its own
+ * tree, whose root statistics are merged at the end (root parallelization),
+ * until the time budget of the decision runs out. The searchers run on the
+ * executor given, or else on a pool of daemon threads of the MctsComp class,
+ * so they do not take the workers of the common ForkJoinPool, which the
+ * tournaments play on. A searcher not started by the deadline is cancelled,
+ * so a busy executor does not hold up the decision.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class MctsComp extends Player {
+
+    /**
+     * the default time budget of a decision in nanoseconds
+     */
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000L;
+
+    /**
+     * the most rounds played from a decision to the next one of the player,
+     * and by a rollout from a node added
+     */
+    private static final int HORIZON = 12;
+
+    /**
+     * the most nodes of the tree of a searcher, after which the iterations
+     * add no node
+     */
+    private static final int MAX_NODES = 1 << 14;
+
+    /**
+     * the most decisions on the path of an iteration
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * the executor of the searchers of the players created without one,
+     * created on the first search needing it
+     */
+    private static ExecutorService sharedExecutor;
+
+    /**
+     * the exploration constant of UCB1
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * the time budget of a decision in nanoseconds
+     */
+    private final long budgetNanos;
+
+    /**
+     * the searchers run at the same time, created on the first decision
+     */
+    private Searcher[] searchers;
+
+    /**
+     * whether each searcher ran in the last decision, the ones cancelled
+     * before they started being left out of the results
+     */
+    private boolean[] searched;
+
+    /**
+     * the number of searchers
+     */
+    private final int parallelism;
+
+    /**
+     * the executor running the searchers but the first one, or null for the
+     * shared one
+     */
+    private final ExecutorService executor;
+
+    /**
+     * the deck of the game searched
+     */
+    private CardSource deck;
+
+    /**
+     * the index of the deck, read by the rollout policy and the rewards
+     */
+    private DeckIndex index;
+
+    /**
+     * the deck of the index, which is made by the player for a deck other
+     * than a DeckStore
+     */
+    private CardSource indexedDeck;
+
+    /**
+     * the number of cards on the top of the hand of each seat of the game
+     * not seen in the rounds followed, or -1 if the seat is not followed
+     */
+    private int[] unseenCards = new int[0];
+
+    /**
+     * the cards of each seat of the game seen in the rounds it won, in order
+     * under its cards not seen
+     */
+    private Hand[] seenCards = new Hand[0];
+
+    /**
+     * the round of the game followed last
+     */
+    private int followedRound;
+
+    /**
+     * the cards of a round followed, in the order they are collected
+     */
+    private int[] roundCards = new int[0];
+
+    /**
+     * the number of players of the position searched
+     */
+    private int playersNumber;
+
+    /**
+     * the seat of this player in the position searched
+     */
+    private int me;
+
+    /**
+     * the number of cards of each player in the position searched
+     */
+    private int[] handSizes = new int[0];
+
+    /**
+     * the number of cards not seen on the top of the hand of each player in
+     * the position searched
+     */
+    private int[] unseenSizes = new int[0];
+
+    /**
+     * the own cards in order in the position searched
+     */
+    private int[] ownCards = new int[0];
+
+    /**
+     * the other players' cards seen in the position searched, in order, the
+     * ones of each player after the ones of the player before
+     */
+    private int[] seenOrder = new int[0];
+
+    /**
+     * the other players' cards not seen in the position searched
+     */
+    private int[] hiddenCards = new int[0];
+
+    /**
+     * the number of the other players' cards not seen
+     */
+    private int hiddenNumber;
+
+    /**
+     * whether each card is one of the other players' cards not seen, while
+     * the position is taken
+     */
+    private boolean[] hidden = new boolean[0];
+
+    /**
+     * the sum of the chances to win of the best attributes of all the cards
+     * in the position searched
+     */
+    private double totalStrength;
+
+    /**
+     * the time the search of the decision stops
+     */
+    private long deadline;
+
+    /**
+     * the number of rollouts of the last decision
+     */
+    private long lastRollouts;
+
+    /**
+     * the number of rollouts of all the decisions
+     */
+    private long totalRollouts;
+
+    /**
+     * the time of all the decisions in nanoseconds
+     */
+    private long totalNanos;
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, searching for the default time budget on all the processors.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     */
+    public MctsComp(String playerName, Hand cards) {
+        this(playerName, cards, DEFAULT_BUDGET_NANOS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, searching for the time budget on the number of searchers, which
+     * run on the shared pool of the MctsComp class.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     * @param budgetNanos the time budget of a decision in nanoseconds
+     * @param parallelism the number of searchers run at the same time
+     */
+    public MctsComp(String playerName, Hand cards, long budgetNanos, int parallelism) {
+        this(playerName, cards, budgetNanos, parallelism, null);
+    }
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, searching for the time budget on the number of searchers. The
+     * first searcher runs on the thread of the game and the others on the
+     * executor, which should have a thread for each of them, as the ones not
+     * started by the deadline are left out.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     * @param budgetNanos the time budget of a decision in nanoseconds
+     * @param parallelism the number of searchers run at the same time
+     * @param executor the executor of the searchers, or null for the shared
+     * pool of the MctsComp class
+     */
+    public MctsComp(String playerName, Hand cards, long budgetNanos, int parallelism, ExecutorService executor) {
+        super("MctsC_" + playerName, cards);
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("The time budget is not positive: " + budgetNanos);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism is not a positive Integer: " + parallelism);
+        }
+        this.budgetNanos = budgetNanos;
+        this.parallelism = parallelism;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the shared executor of the searchers, a pool of a daemon thread
+     * per processor, creating it the first time.
+     *
+     * @return the shared executor
+     */
+    private static synchronized ExecutorService getSharedExecutor() {
+        if (sharedExecutor == null) {
+            sharedExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task, "mcts-searcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Searching-Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return String.format("[Simulating]...%d games played, %.0f per second", lastRollouts,
+                getRolloutsPerSecond());
+    }
+
+    /**
+     * Returns the Attribute visited most by the search, searching until the
+     * time budget runs out.
+     *
+     * @return the attribute this player selects
+     */
+    @Override
+    public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns the index of the Attribute visited most at the roots of the
+     * searchers, the one of the best rewards if there are ties, searching
+     * until the time budget runs out.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        long start = System.nanoTime();
+        deadline = start + budgetNanos;
+        takePosition();
+        if (searchers == null) {
+            searchers = new Searcher[parallelism];
+            searched = new boolean[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                searchers[i] = new Searcher(getRandomStream().split());
+            }
+        }
+
+        Future<?>[] tasks = new Future<?>[parallelism - 1];
+        ExecutorService searcherExecutor = (parallelism == 1) ? null
+                : (executor != null) ? executor : getSharedExecutor();
+        for (int i = 1; i < parallelism; i++) {
+            tasks[i - 1] = searcherExecutor.submit(searchers[i]);
+        }
+        searchers[0].run();
+        searched[0] = true;
+        boolean interrupted = false;
+        for (int i = 1; i < parallelism; i++) {
+            //a searcher not started yet is left out, the others stop by the deadline
+            searched[i] = !tasks[i - 1].cancel(false);
+            while (searched[i]) {
+                try {
+                    tasks[i - 1].get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A searcher failed", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        //merge the statistics of the searchers
+        int best = 0;
+        long bestVisits = -1;
+        double bestReward = -1;
+        lastRollouts = 0;
+        for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+            long visits = 0;
+            double reward = 0;
+            for (int i = 0; i < parallelism; i++) {
+                if (searched[i]) {
+                    visits += searchers[i].edgeVisits[attribute];
+                    reward += searchers[i].edgeRewards[attribute];
+                }
+            }
+            lastRollouts += visits;
+            if (visits > bestVisits || (visits == bestVisits && reward > bestReward)) {
+                best = attribute;
+                bestVisits = visits;
+                bestReward = reward;
+            }
+        }
+        totalRollouts += lastRollouts;
+        totalNanos += System.nanoTime() - start;
+        return best;
+    }
+
+    /**
+     * Copies the position of the game for the searchers: the numbers of
+     * cards of the players, its own cards, the other players' cards seen in
+     * order and the ones not seen. The cards followed of a player are not
+     * taken as seen unless they are the cards in its hand.
+     */
+    private void takePosition() {
+        deck = getCards().getDeck();
+        if (deck instanceof DeckStore) {
+            index = ((DeckStore) deck).getIndex();
+        } else if (deck != indexedDeck || index.size() != deck.size()) {
+            index = new DeckIndex(deck);
+        }
+        indexedDeck = deck;
+        ActivePlayers players = getGame().getActivePlayers();
+        playersNumber = players.size();
+        if (handSizes.length < playersNumber) {
+            handSizes = new int[playersNumber];
+            unseenSizes = new int[playersNumber];
+        }
+        if (hiddenCards.length < deck.size()) {
+            hiddenCards = new int[deck.size()];
+            ownCards = new int[deck.size()];
+            seenOrder = new int[deck.size()];
+            hidden = new boolean[deck.size()];
+        }
+        hiddenNumber = 0;
+        for (int active = players.first(); active >= 0; active = players.next(active)) {
+            Hand hand = players.get(active).getCards();
+            if (players.get(active) != this) {
+                for (int i = 0; i < hand.size(); i++) {
+                    hidden[hand.get(i)] = true;
+                    hiddenCards[hiddenNumber++] = hand.get(i);
+                }
+            }
+        }
+        int seenNumber = 0;
+        int seat = 0;
+        totalStrength = 0;
+        for (int active = players.first(); active >= 0; active = players.next(active), seat++) {
+            Player player = players.get(active);
+            Hand hand = player.getCards();
+            handSizes[seat] = hand.size();
+            if (player == this) {
+                me = seat;
+                unseenSizes[seat] = 0;
+                for (int i = 0; i < hand.size(); i++) {
+                    ownCards[i] = hand.get(i);
+                    totalStrength += strengthOf(hand.get(i));
+                }
+                continue;
+            }
+            int seen = takeSeen(active, hand.size(), seenNumber);
+            unseenSizes[seat] = hand.size() - seen;
+            for (int i = 0; i < hand.size(); i++) {
+                totalStrength += strengthOf(hand.get(i));
+            }
+            seenNumber += seen;
+        }
+        //the cards not seen are the ones still marked
+        int unseen = 0;
+        for (int i = 0; i < hiddenNumber; i++) {
+            if (hidden[hiddenCards[i]]) {
+                hidden[hiddenCards[i]] = false;
+                hiddenCards[unseen++] = hiddenCards[i];
+            }
+        }
+        hiddenNumber = unseen;
+    }
+
+    /**
+     * Copies the cards seen of the seat after the other ones seen, and
+     * unmarks them as not seen, if the seat is followed and they are the
+     * cards under its hand.
+     *
+     * @param seat the seat of the game
+     * @param size the number of cards of the seat
+     * @param seenNumber the number of cards seen copied before
+     * @return the number of cards seen of the seat, 0 if it is not followed
+     */
+    private int takeSeen(int seat, int size, int seenNumber) {
+        if (seat >= unseenCards.length || unseenCards[seat] < 0
+                || unseenCards[seat] + seenCards[seat].size() != size) {
+            return 0;
+        }
+        Hand seen = seenCards[seat];
+        for (int i = 0; i < seen.size(); i++) {
+            int card = seen.get(i);
+            if (card >= hidden.length || !hidden[card]) {
+                //not one of the other players' cards, so mark the ones taken back
+                for (int j = 0; j < i; j++) {
+                    hidden[seen.get(j)] = true;
+                }
+                return 0;
+            }
+            hidden[card] = false;
+            seenOrder[seenNumber + i] = card;
+        }
+        return seen.size();
+    }
+
+    /**
+     * Returns the chance to win of the best attribute of the card.
+     *
+     * @param card the id of the card
+     * @return the chance to win, between 0 and 1
+     */
+    private double strengthOf(int card) {
+        return index.getWinProbability(card, index.getBestIndex(card));
+    }
+
+    /**
+     * Follows the cards of the round: the top cards leave the hands, and go
+     * under the hand of the winner in the order they lost, then the card of
+     * the winner. A seat whose number of cards is not the one followed is
+     * followed again from then on, with all its cards not seen.
+     *
+     * @param winner the winner of the round
+     * @param attributeIndex the attribute of the round, starting from 0
+     * @param players the players, in the first playersNumber elements
+     * @param topCards the id of the top card of each player
+     * @param playersNumber the number of players
+     */
+    @Override
+    protected void roundPlayed(Player winner, int attributeIndex, Player[] players, int[] topCards,
+            int playersNumber) {
+        CardSource cardsDeck = getCards().getDeck();
+        int seats = getGame().getActivePlayers().getSeatsNumber();
+        if (getGame().getGameRound() < followedRound || unseenCards.length != seats
+                || (seats > 0 && seenCards[0].getDeck() != cardsDeck)) {
+            forget(seats, cardsDeck);
+        }
+        followedRound = getGame().getGameRound();
+        if (roundCards.length < playersNumber) {
+            roundCards = new int[playersNumber];
+        }
+        int leader = 0;
+        int lost = 0;
+        for (int i = 0; i < playersNumber; i++) {
+            int seat = players[i].getSeat();
+            int before = players[i].getCardsNumber() + 1 - ((players[i] == winner) ? playersNumber : 0);
+            if (unseenCards[seat] + seenCards[seat].size() != before) {
+                unseenCards[seat] = before;
+                seenCards[seat].clear();
+            }
+            if (unseenCards[seat] > 0) {
+                unseenCards[seat]--;
+            } else if (seenCards[seat].pop() != topCards[i]) {
+                unseenCards[seat] = seenCards[seat].size();
+                seenCards[seat].clear();
+            }
+            //the leader so far loses to a higher value, the others to the leader
+            if (i > 0) {
+                if (cardsDeck.getValue(topCards[i], attributeIndex)
+                        > cardsDeck.getValue(topCards[leader], attributeIndex)) {
+                    roundCards[lost++] = topCards[leader];
+                    leader = i;
+                } else {
+                    roundCards[lost++] = topCards[i];
+                }
+            }
+        }
+        roundCards[lost++] = topCards[leader];
+        Hand won = seenCards[winner.getSeat()];
+        for (int i = 0; i < lost; i++) {
+            won.offerLast(roundCards[i]);
+        }
+    }
+
+    /**
+     * Follows the cards again from the restored hands, with no card seen.
+     */
+    @Override
+    protected void restored() {
+        forget(unseenCards.length, getCards().getDeck());
+    }
+
+    /**
+     * Forgets the cards seen of every seat, and follows none of them.
+     *
+     * @param seats the number of seats of the game
+     * @param cardsDeck the deck of the cards followed
+     */
+    private void forget(int seats, CardSource cardsDeck) {
+        if (unseenCards.length != seats || (seats > 0 && seenCards[0].getDeck() != cardsDeck)) {
+            unseenCards = new int[seats];
+            seenCards = new Hand[seats];
+            for (int seat = 0; seat < seats; seat++) {
+                seenCards[seat] = new Hand(cardsDeck);
+            }
+        }
+        Arrays.fill(unseenCards, -1);
+        for (Hand seen : seenCards) {
+            seen.clear();
+        }
+        followedRound = 0;
+    }
+
+    /**
+     * Gets the number of rollouts of the last decision.
+     *
+     * @return the number of rollouts
+     */
+    public long getLastRollouts() {
+        return lastRollouts;
+    }
+
+    /**
+     * Gets the number of rollouts of all the decisions.
+     *
+     * @return the number of rollouts
+     */
+    public long getTotalRollouts() {
+        return totalRollouts;
+    }
+
+    /**
+     * Gets the number of rollouts per second of all the decisions.
+     *
+     * @return the rollouts per second
+     */
+    public double getRolloutsPerSecond() {
+        return totalNanos == 0 ? 0 : totalRollouts * 1e9 / totalNanos;
+    }
+
+    /**
+     * The Searcher class runs iterations of the search of the position taken
+     * by the player on its own copy of the hands and its own tree. The nodes
+     * are kept in arrays by their numbers, the root being 0, with an edge per
+     * attribute of each node, so no object is created per iteration. It is
+     * reused by all the decisions.
+     */
+    private final class Searcher implements Runnable {
+
+        /**
+         * the random stream of the searcher
+         */
+        private final SplittableRandom random;
+
+        /**
+         * the number of attributes of the deck searched
+         */
+        private int attributesNumber;
+
+        /**
+         * the number of nodes of the tree
+         */
+        private int nodesNumber;
+
+        /**
+         * the number of iterations through each node
+         */
+        private long[] nodeVisits = new long[0];
+
+        /**
+         * the node each edge leads to, or -1, a row of the attributes per node
+         */
+        private int[] children = new int[0];
+
+        /**
+         * the number of iterations through each edge
+         */
+        private long[] edgeVisits = new long[0];
+
+        /**
+         * the sum of the rewards of the iterations through each edge
+         */
+        private double[] edgeRewards = new double[0];
+
+        /**
+         * the edges selected by the iteration
+         */
+        private final int[] path = new int[MAX_DEPTH];
+
+        /**
+         * the hands, a ring of <code>capacity</code> per player
+         */
+        private int[] rings = new int[0];
+
+        /**
+         * the number of cards a ring holds, a power of two
+         */
+        private int capacity;
+
+        /**
+         * the position of the top card of each player in its ring
+         */
+        private int[] heads = new int[0];
+
+        /**
+         * the number of cards of each player
+         */
+        private int[] sizes = new int[0];
+
+        /**
+         * the number of players with cards
+         */
+        private int alive;
+
+        /**
+         * the seat of the player deciding the next round
+         */
+        private int maker;
+
+        /**
+         * the other players' cards, shuffled by each iteration
+         */
+        private int[] shuffled = new int[0];
+
+        /**
+         * the cards collected in a round
+         */
+        private int[] collection = new int[0];
+
+        /**
+         * Constructs a Searcher with its own random stream.
+         *
+         * @param random the random stream of the searcher
+         */
+        private Searcher(SplittableRandom random) {
+            this.random = random;
+        }
+
+        /**
+         * Runs iterations until the deadline, and at least one for each
+         * attribute.
+         */
+        @Override
+        public void run() {
+            prepare(deck.getAttributesNumber());
+            long iterations = 0;
+            while (iterations < attributesNumber || System.nanoTime() < deadline) {
+                iterate();
+                iterations++;
+            }
+        }
+
+        /**
+         * Clears the tree down to its root and makes the arrays large enough
+         * for the position.
+         *
+         * @param attributes the number of attributes
+         */
+        private void prepare(int attributes) {
+            if (attributesNumber != attributes) {
+                attributesNumber = attributes;
+                nodeVisits = new long[0];
+            }
+            nodesNumber = 0;
+            addNode();
+            int total = deck.size();
+            if (capacity < total || heads.length < playersNumber) {
+                capacity = Integer.highestOneBit(Math.max(total, 1) * 2 - 1);
+                rings = new int[Math.max(playersNumber, heads.length) * capacity];
+                heads = new int[Math.max(playersNumber, heads.length)];
+                sizes = new int[heads.length];
+                shuffled = new int[capacity];
+                collection = new int[Math.max(playersNumber, heads.length)];
+            }
+        }
+
+        /**
+         * Adds a node without visits or children, growing the arrays if they
+         * are full.
+         *
+         * @return the number of the node, or -1 if the tree has MAX_NODES
+         */
+        private int addNode() {
+            if (nodesNumber == MAX_NODES) {
+                return -1;
+            }
+            if (nodesNumber == nodeVisits.length) {
+                int nodes = Math.min(MAX_NODES, Math.max(64, nodesNumber * 2));
+                nodeVisits = Arrays.copyOf(nodeVisits, nodes);
+                children = Arrays.copyOf(children, nodes * attributesNumber);
+                edgeVisits = Arrays.copyOf(edgeVisits, nodes * attributesNumber);
+                edgeRewards = Arrays.copyOf(edgeRewards, nodes * attributesNumber);
+            }
+            int node = nodesNumber++;
+            nodeVisits[node] = 0;
+            int edges = node * attributesNumber;
+            Arrays.fill(children, edges, edges + attributesNumber, -1);
+            Arrays.fill(edgeVisits, edges, edges + attributesNumber, 0);
+            Arrays.fill(edgeRewards, edges, edges + attributesNumber, 0);
+            return node;
+        }
+
+        /**
+         * Runs one iteration on a new deal of the hidden cards: selects the
+         * attributes down the tree, adds the decision reached, plays a
+         * rollout from it and backs the reward up the path.
+         */
+        private void iterate() {
+            deal();
+            int node = 0;
+            int depth = 0;
+            double reward;
+            while (true) {
+                int edge = node * attributesNumber + select(node);
+                path[depth++] = edge;
+                if (!playToDecision(edge - node * attributesNumber)) {
+                    reward = reward();
+                    break;
+                }
+                int child = children[edge];
+                if (child < 0 || depth == MAX_DEPTH) {
+                    if (child < 0) {
+                        children[edge] = addNode();
+                    }
+                    reward = rollout();
+                    break;
+                }
+                node = child;
+            }
+            for (int i = 0; i < depth; i++) {
+                nodeVisits[path[i] / attributesNumber]++;
+                edgeVisits[path[i]]++;
+                edgeRewards[path[i]] += reward;
+            }
+        }
+
+        /**
+         * Returns the attribute of the node to select by UCB1, an attribute
+         * not tried yet first.
+         *
+         * @param node the number of the node
+         * @return the attribute index
+         */
+        private int select(int node) {
+            int edges = node * attributesNumber;
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(nodeVisits[node]);
+            for (int attribute = 0; attribute < attributesNumber; attribute++) {
+                long visits = edgeVisits[edges + attribute];
+                if (visits == 0) {
+                    return attribute;
+                }
+                double score = edgeRewards[edges + attribute] / visits
+                        + EXPLORATION * Math.sqrt(logVisits / visits);
+                if (score > bestScore) {
+                    best = attribute;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Deals the cards not seen at random on the top of the other players'
+         * hands, over their cards seen, and its own cards to the player,
+         * which decides the first round.
+         */
+        private void deal() {
+            System.arraycopy(hiddenCards, 0, shuffled, 0, hiddenNumber);
+            int next = 0;
+            int seen = 0;
+            for (int seat = 0; seat < playersNumber; seat++) {
+                heads[seat] = 0;
+                sizes[seat] = handSizes[seat];
+                int ring = seat * capacity;
+                if (seat == me) {
+                    System.arraycopy(ownCards, 0, rings, ring, handSizes[seat]);
+                    continue;
+                }
+                for (int i = 0; i < unseenSizes[seat]; i++) {
+                    //draw one of the cards not dealt yet
+                    int drawn = next + random.nextInt(hiddenNumber - next);
+                    int card = shuffled[drawn];
+                    shuffled[drawn] = shuffled[next];
+                    shuffled[next++] = card;
+                    rings[ring + i] = card;
+                }
+                int seenSize = handSizes[seat] - unseenSizes[seat];
+                System.arraycopy(seenOrder, seen, rings, ring + unseenSizes[seat], seenSize);
+                seen += seenSize;
+            }
+            alive = playersNumber;
+            maker = me;
+        }
+
+        /**
+         * Plays the round of the attribute selected by the player, then the
+         * rounds the other players decide, until the player decides again.
+         *
+         * @param attribute the attribute selected by the player
+         * @return <code>true</code> if the player decides the next round
+         * <code>false</code> if the game ends or HORIZON rounds are played
+         * first
+         */
+        private boolean playToDecision(int attribute) {
+            playRound(attribute);
+            for (int rounds = 1; !isOver(); rounds++) {
+                if (maker == me) {
+                    return true;
+                }
+                if (rounds == HORIZON) {
+                    return false;
+                }
+                playRound(bestOfMaker());
+            }
+            return false;
+        }
+
+        /**
+         * Plays HORIZON rounds from the decision of the player with every
+         * player selecting the attribute most likely to win, and returns the
+         * reward.
+         *
+         * @return the reward
+         */
+        private double rollout() {
+            for (int rounds = 0; rounds < HORIZON && !isOver(); rounds++) {
+                playRound(bestOfMaker());
+            }
+            return reward();
+        }
+
+        /**
+         * Returns the reward of the position of the iteration.
+         *
+         * @return 1 for a win, 0 for a loss, or the share of the chances to
+         * win of the cards of the player if the game is not over
+         */
+        private double reward() {
+            if (sizes[me] == 0) {
+                return 0;
+            }
+            if (alive == 1) {
+                return 1;
+            }
+            if (totalStrength == 0) {
+                return sizes[me] / (double) deck.size();
+            }
+            double strength = 0;
+            int ring = me * capacity;
+            for (int i = 0; i < sizes[me]; i++) {
+                strength += strengthOf(rings[ring + ((heads[me] + i) & (capacity - 1))]);
+            }
+            return strength / totalStrength;
+        }
+
+        /**
+         * Returns <code>true</code> if the player has lost or won.
+         *
+         * @return whether the game is over for the player
+         */
+        private boolean isOver() {
+            return sizes[me] == 0 || alive == 1;
+        }
+
+        /**
+         * Returns the attribute of the top card of the player deciding the
+         * round most likely to win, by the index of the deck.
+         *
+         * @return the attribute index
+         */
+        private int bestOfMaker() {
+            return index.getBestIndex(rings[maker * capacity + heads[maker]]);
+        }
+
+        /**
+         * Plays a round of the attribute: the player of the highest value,
+         * the first one if there are ties, collects the top cards in the
+         * order they lost, then its own, and decides the next round.
+         *
+         * @param attribute the attribute of the round
+         */
+        private void playRound(int attribute) {
+            int mask = capacity - 1;
+            int winner = -1;
+            int winnerValue = 0;
+            int collected = 0;
+            for (int seat = 0; seat < playersNumber; seat++) {
+                if (sizes[seat] > 0) {
+                    int value = deck.getValue(rings[seat * capacity + heads[seat]], attribute);
+                    if (winner >= 0 && value <= winnerValue) {
+                        collection[collected++] = seat;
+                    } else {
+                        if (winner >= 0) {
+                            collection[collected++] = winner;
+                        }
+                        winner = seat;
+                        winnerValue = value;
+                    }
+                }
+            }
+            //the seats of the losers become their cards
+            for (int i = 0; i < collected; i++) {
+                int seat = collection[i];
+                collection[i] = popTop(seat, mask);
+                if (sizes[seat] == 0) {
+                    alive--;
+                }
+            }
+            collection[collected++] = popTop(winner, mask);
+            int ring = winner * capacity;
+            for (int i = 0; i < collected; i++) {
+                rings[ring + ((heads[winner] + sizes[winner]) & mask)] = collection[i];
+                sizes[winner]++;
+            }
+            maker = winner;
+        }
+
+        /**
+         * Removes the top card of the player.
+         *
+         * @param seat the seat of the player
+         * @param mask the mask of a ring position
+         * @return the id of the card removed
+         */
+        private int popTop(int seat, int mask) {
+            int card = rings[seat * capacity + heads[seat]];
+            heads[seat] = (heads[seat] + 1) & mask;
+            sizes[seat]--;
+            return card;
+        }
+
+    }
+
+}
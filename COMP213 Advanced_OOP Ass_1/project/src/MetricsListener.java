@@ -0,0 +1,154 @@
+
+/**
+ * The MetricsListener class records the rounds and the end of one game in a
+ * SimulationMetrics, passing every event on to another listener. A listener
+ * is used by one game at a time, and any number of them may share the same
+ * metrics.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class MetricsListener implements GameEventListener {
+
+    /**
+     * the metrics the game is recorded in
+     */
+    private final SimulationMetrics metrics;
+
+    /**
+     * the listener the events are passed to
+     */
+    private final GameEventListener delegate;
+
+    /**
+     * the players of the game
+     */
+    private Player[] players = new Player[0];
+
+    /**
+     * the number of players of the game
+     */
+    private int playersNumber;
+
+    /**
+     * the number of rounds played in the game
+     */
+    private int rounds;
+
+    /**
+     * the time the round started
+     */
+    private long roundStartNanos;
+
+    /**
+     * the attribute-decider of the round
+     */
+    private Player decider;
+
+    /**
+     * the attribute decided for the round
+     */
+    private int attributeIndex;
+
+    /**
+     * Class constructor. Constructs a MetricsListener recording in the metrics
+     * without passing the events on.
+     *
+     * @param metrics the metrics the game is recorded in
+     */
+    public MetricsListener(SimulationMetrics metrics) {
+        this(metrics, new NoOpGameListener());
+    }
+
+    /**
+     * Class constructor. Constructs a MetricsListener recording in the metrics
+     * and passing the events to the delegate.
+     *
+     * @param metrics the metrics the game is recorded in
+     * @param delegate the listener the events are passed to
+     */
+    public MetricsListener(SimulationMetrics metrics, GameEventListener delegate) {
+        this.metrics = metrics;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void playerJoined(Player player) {
+        delegate.playerJoined(player);
+    }
+
+    @Override
+    public void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+        if (this.players.length < playersNumber) {
+            this.players = new Player[playersNumber];
+        }
+        System.arraycopy(players, 0, this.players, 0, playersNumber);
+        this.playersNumber = playersNumber;
+        this.rounds = 0;
+        delegate.gameStarted(deckType, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        roundStartNanos = System.nanoTime();
+        delegate.roundStarted(round);
+    }
+
+    @Override
+    public void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+        delegate.attributeDeciding(deckType, decider, attributesNumber);
+    }
+
+    @Override
+    public void attributeDecided(Player decider, int attributeIndex) {
+        this.decider = decider;
+        this.attributeIndex = attributeIndex;
+        delegate.attributeDecided(decider, attributeIndex);
+    }
+
+    @Override
+    public void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+        delegate.topCardsRevealed(players, topCards, playersNumber, deck);
+    }
+
+    @Override
+    public void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner) {
+        delegate.cardsCompared(first, second, attributeIndex, firstValue, secondValue, winner);
+    }
+
+    @Override
+    public void cardLost(Player player, int card) {
+        delegate.cardLost(player, card);
+    }
+
+    @Override
+    public void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+        rounds++;
+        metrics.recordRound(System.nanoTime() - roundStartNanos, attributeIndex, winner == decider);
+        delegate.roundWon(winner, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void playerOut(Player player) {
+        delegate.playerOut(player);
+    }
+
+    @Override
+    public void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+        delegate.playersCounted(playersNumber, humanNumber, computersNumber);
+    }
+
+    @Override
+    public void gameOver(Player winner, int cardsNumber) {
+        metrics.recordGame(rounds, winner, players, playersNumber);
+        delegate.gameOver(winner, cardsNumber);
+    }
+
+    @Override
+    public void gameDrawn(int rounds) {
+        metrics.recordGame(rounds, null, players, playersNumber);
+        delegate.gameDrawn(rounds);
+    }
+
+}
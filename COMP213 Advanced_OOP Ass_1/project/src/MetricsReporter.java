@@ -0,0 +1,90 @@
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MetricsReporter class prints a snapshot of a SimulationMetrics every
+ * period on a daemon thread of its own, as text or as one line of JSON, and
+ * a last one when it is closed.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    /**
+     * the metrics to print
+     */
+    private final SimulationMetrics metrics;
+
+    /**
+     * the stream the snapshots are printed to
+     */
+    private final PrintStream out;
+
+    /**
+     * whether the snapshots are printed as JSON
+     */
+    private final boolean json;
+
+    /**
+     * the thread printing the snapshots
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Class constructor. Constructs a MetricsReporter printing a snapshot of
+     * the metrics to the stream every period.
+     *
+     * @param metrics the metrics to print
+     * @param out the stream the snapshots are printed to
+     * @param periodMillis the milliseconds between two snapshots
+     * @param json whether the snapshots are printed as JSON
+     */
+    public MetricsReporter(SimulationMetrics metrics, PrintStream out, long periodMillis, boolean json) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("The period is not a positive Integer: " + periodMillis);
+        }
+        this.metrics = metrics;
+        this.out = out;
+        this.json = json;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Prints a snapshot of the metrics now.
+     */
+    public void report() {
+        MetricsSnapshot snapshot = metrics.snapshot();
+        synchronized (out) {
+            if (json) {
+                out.println(snapshot.toJson());
+            } else {
+                out.print(snapshot);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Stops printing every period and prints the last snapshot.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report();
+    }
+
+}
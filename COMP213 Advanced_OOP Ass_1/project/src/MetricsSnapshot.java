@@ -0,0 +1,227 @@
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The MetricsSnapshot class is the numbers of a SimulationMetrics at one
+ * time, with the games and rounds per second since the metrics started. It
+ * is written as text by toString() and as JSON by toJson().
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class MetricsSnapshot {
+
+    private final long elapsedNanos;
+    private final long games;
+    private final long draws;
+    private final long rounds;
+    private final HistogramSnapshot gameLengths;
+    private final HistogramSnapshot roundLatencies;
+    private final Map<String, long[]> strategyResults;
+    private final Map<Integer, long[]> attributeResults;
+
+    /**
+     * Class constructor. Constructs a MetricsSnapshot of the numbers given,
+     * which it keeps without copying.
+     *
+     * @param elapsedNanos the nanoseconds since the metrics started
+     * @param games the number of games played
+     * @param draws the number of games with no winner
+     * @param rounds the number of rounds played
+     * @param gameLengths the numbers of rounds of the games
+     * @param roundLatencies the nanoseconds each round took
+     * @param strategyResults the wins, losses and draws of each Player class
+     * @param attributeResults the rounds won and lost by the decider with
+     * each attribute
+     */
+    MetricsSnapshot(long elapsedNanos, long games, long draws, long rounds, HistogramSnapshot gameLengths,
+            HistogramSnapshot roundLatencies, Map<String, long[]> strategyResults,
+            Map<Integer, long[]> attributeResults) {
+        this.elapsedNanos = elapsedNanos;
+        this.games = games;
+        this.draws = draws;
+        this.rounds = rounds;
+        this.gameLengths = gameLengths;
+        this.roundLatencies = roundLatencies;
+        this.strategyResults = Collections.unmodifiableMap(strategyResults);
+        this.attributeResults = Collections.unmodifiableMap(attributeResults);
+    }
+
+    /**
+     * Returns the nanoseconds since the metrics started.
+     *
+     * @return the elapsedNanos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games played.
+     *
+     * @return the games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games with no winner.
+     *
+     * @return the draws
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the number of rounds played.
+     *
+     * @return the rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the games played per second since the metrics started.
+     *
+     * @return the games per second
+     */
+    public double getGamesPerSecond() {
+        return perSecond(games);
+    }
+
+    /**
+     * Returns the rounds played per second since the metrics started.
+     *
+     * @return the rounds per second
+     */
+    public double getRoundsPerSecond() {
+        return perSecond(rounds);
+    }
+
+    /**
+     * Returns the numbers of rounds of the games.
+     *
+     * @return the gameLengths
+     */
+    public HistogramSnapshot getGameLengths() {
+        return gameLengths;
+    }
+
+    /**
+     * Returns the nanoseconds each round took.
+     *
+     * @return the roundLatencies
+     */
+    public HistogramSnapshot getRoundLatencies() {
+        return roundLatencies;
+    }
+
+    /**
+     * Returns the wins, losses and draws of each Player class by its simple
+     * name, in the order of the names.
+     *
+     * @return the results of the strategies
+     */
+    public Map<String, long[]> getStrategyResults() {
+        return strategyResults;
+    }
+
+    /**
+     * Returns the rounds won and lost by the attribute-decider with each
+     * attribute index, in the order of the indexes.
+     *
+     * @return the results of the attributes
+     */
+    public Map<Integer, long[]> getAttributeResults() {
+        return attributeResults;
+    }
+
+    /**
+     * Returns the number per second since the metrics started.
+     *
+     * @param number the number
+     * @return the number per second
+     */
+    private double perSecond(long number) {
+        return (elapsedNanos <= 0) ? 0 : number * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the snapshot as JSON, the latencies in nanoseconds.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append(String.format(Locale.ROOT,
+                "{\"elapsedNanos\":%d,\"games\":%d,\"draws\":%d,\"rounds\":%d,"
+                + "\"gamesPerSecond\":%.3f,\"roundsPerSecond\":%.3f,",
+                elapsedNanos, games, draws, rounds, getGamesPerSecond(), getRoundsPerSecond()));
+        json.append("\"gameLengths\":");
+        appendJson(json, gameLengths);
+        json.append(",\"roundLatencies\":");
+        appendJson(json, roundLatencies);
+        json.append(",\"strategies\":{");
+        String separator = "";
+        for (Map.Entry<String, long[]> entry : strategyResults.entrySet()) {
+            long[] results = entry.getValue();
+            json.append(separator).append('"').append(entry.getKey()).append("\":")
+                    .append(String.format(Locale.ROOT, "{\"wins\":%d,\"losses\":%d,\"draws\":%d}",
+                            results[0], results[1], results[2]));
+            separator = ",";
+        }
+        json.append("},\"attributes\":{");
+        separator = "";
+        for (Map.Entry<Integer, long[]> entry : attributeResults.entrySet()) {
+            long[] results = entry.getValue();
+            json.append(separator).append('"').append(Card.attributeName(entry.getKey())).append("\":")
+                    .append(String.format(Locale.ROOT, "{\"won\":%d,\"lost\":%d}", results[0], results[1]));
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Appends the histogram as a JSON object.
+     *
+     * @param json the JSON text to append to
+     * @param histogram the histogram
+     */
+    private static void appendJson(StringBuilder json, HistogramSnapshot histogram) {
+        json.append(String.format(Locale.ROOT,
+                "{\"count\":%d,\"mean\":%.3f,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d}",
+                histogram.getCount(), histogram.getMean(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMax()));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("[Metrics] %.1f s, %d games (%.1f/s), %d draw(s), %d rounds (%.1f/s)%n",
+                elapsedNanos / 1e9, games, getGamesPerSecond(), draws, rounds, getRoundsPerSecond()));
+        text.append("| Game length (rounds): ").append(gameLengths).append(String.format("%n"));
+        text.append("| Round latency (ns): ").append(roundLatencies).append(String.format("%n"));
+        for (Map.Entry<String, long[]> entry : strategyResults.entrySet()) {
+            long[] results = entry.getValue();
+            long played = results[0] + results[1] + results[2];
+            text.append(String.format("| %-16s | wins: %8d | losses: %8d | draws: %6d | rate: %6.2f%%%n",
+                    entry.getKey(), results[0], results[1], results[2],
+                    (played == 0) ? 0 : 100.0 * results[0] / played));
+        }
+        for (Map.Entry<Integer, long[]> entry : attributeResults.entrySet()) {
+            long[] results = entry.getValue();
+            long decided = results[0] + results[1];
+            text.append(String.format("| %-16s | decider won: %8d | lost: %8d | rate: %6.2f%%%n",
+                    Card.attributeName(entry.getKey()), results[0], results[1],
+                    (decided == 0) ? 0 : 100.0 * results[0] / decided));
+        }
+        return text.toString();
+    }
+
+}
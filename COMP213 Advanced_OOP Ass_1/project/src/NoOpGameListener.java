@@ -0,0 +1,65 @@
+
+/**
+ * The NoOpGameListener class ignores all the events of a game. It is used by
+ * the games nobody watches, and can be extended by the listeners interested
+ * in a few events only.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class NoOpGameListener implements GameEventListener {
+
+    @Override
+    public void playerJoined(Player player) {
+    }
+
+    @Override
+    public void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+    }
+
+    @Override
+    public void roundStarted(int round) {
+    }
+
+    @Override
+    public void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+    }
+
+    @Override
+    public void attributeDecided(Player decider, int attributeIndex) {
+    }
+
+    @Override
+    public void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+    }
+
+    @Override
+    public void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner) {
+    }
+
+    @Override
+    public void cardLost(Player player, int card) {
+    }
+
+    @Override
+    public void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+    }
+
+    @Override
+    public void playerOut(Player player) {
+    }
+
+    @Override
+    public void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+    }
+
+    @Override
+    public void gameOver(Player winner, int cardsNumber) {
+    }
+
+    @Override
+    public void gameDrawn(int rounds) {
+    }
+
+}
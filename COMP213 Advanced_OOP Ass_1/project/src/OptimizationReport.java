@@ -0,0 +1,116 @@
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The OptimizationReport class keeps how each generation of a
+ * StrategyOptimizer did: the fitness of its best parameters, the mean
+ * fitness of the population and the best parameters themselves. The fitness
+ * is the share of the games won by the TunableComp, a draw counting as half.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class OptimizationReport {
+
+    private final List<TunableParameters> bests = new ArrayList<>();
+    private final List<Double> bestFitnesses = new ArrayList<>();
+    private final List<Double> meanFitnesses = new ArrayList<>();
+
+    /**
+     * the number of games played
+     */
+    private long games;
+
+    /**
+     * Adds a generation after the ones added.
+     *
+     * @param best the best parameters of the generation
+     * @param bestFitness the fitness of the best parameters
+     * @param meanFitness the mean fitness of the population
+     * @param generationGames the number of games played by the generation
+     */
+    void addGeneration(TunableParameters best, double bestFitness, double meanFitness, long generationGames) {
+        bests.add(best);
+        bestFitnesses.add(bestFitness);
+        meanFitnesses.add(meanFitness);
+        games += generationGames;
+    }
+
+    /**
+     * Gets the number of generations.
+     *
+     * @return the number of generations
+     */
+    public int getGenerationsNumber() {
+        return bests.size();
+    }
+
+    /**
+     * Gets the best parameters of the generation.
+     *
+     * @param generation the generation, starting from 0
+     * @return the best parameters
+     */
+    public TunableParameters getBest(int generation) {
+        return bests.get(generation);
+    }
+
+    /**
+     * Gets the fitness of the best parameters of the generation.
+     *
+     * @param generation the generation, starting from 0
+     * @return the best fitness
+     */
+    public double getBestFitness(int generation) {
+        return bestFitnesses.get(generation);
+    }
+
+    /**
+     * Gets the mean fitness of the population of the generation.
+     *
+     * @param generation the generation, starting from 0
+     * @return the mean fitness
+     */
+    public double getMeanFitness(int generation) {
+        return meanFitnesses.get(generation);
+    }
+
+    /**
+     * Gets the best parameters of the last generation.
+     *
+     * @return the best parameters
+     */
+    public TunableParameters getBest() {
+        return bests.get(bests.size() - 1);
+    }
+
+    /**
+     * Gets the number of games played by all the generations.
+     *
+     * @return the games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the fitness of each generation and the best parameters found.
+     *
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("[Optimization] %d generation(s), %d games\n", getGenerationsNumber(), games));
+        report.append("------------------------------------------------------------------------------------\n");
+        for (int generation = 0; generation < getGenerationsNumber(); generation++) {
+            report.append(String.format("| Generation %4d | best fitness: %6.2f%% | mean fitness: %6.2f%%\n",
+                    generation + 1, getBestFitness(generation) * 100, getMeanFitness(generation) * 100));
+        }
+        report.append("------------------------------------------------------------------------------------\n");
+        report.append("| Best: ").append(getBest()).append('\n');
+        return report.toString();
+    }
+
+}
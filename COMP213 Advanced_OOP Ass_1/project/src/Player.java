@@ -1,6 +1,6 @@
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
 
 /**
  * The abstract Player class represents general players, contains memebers of
@@ -20,7 +20,22 @@ abstract public class Player {
     /**
      * The cards of the player.
      */
-    protected ArrayDeque<Card> cards;
+    protected Hand cards;
+
+    /**
+     * The game this player joins.
+     */
+    protected Game game;
+
+    /**
+     * The random stream of this player, split from the game's one.
+     */
+    private SplittableRandom random;
+
+    /**
+     * The seat of this player in the game, or -1 before joining.
+     */
+    private int seat = -1;
 
     /**
      * Class constructor. Constructs a Player with player name and a list of
@@ -29,12 +44,44 @@ abstract public class Player {
      * @param playerName the name of Player
      * @param cards the cards list of Player
      */
-    public Player(String playerName, ArrayDeque<Card> cards) {
+    public Player(String playerName, Hand cards) {
 
         this.playerName = playerName;
         this.cards = cards;
     }
 
+    /**
+     * Joins this player in the game, taking a random stream split from the
+     * game's one.
+     *
+     * @param game the game to join
+     */
+    public void join(Game game) {
+
+        this.game = game;
+        this.random = game.getRandom().split();
+    }
+
+    /**
+     * Returns the message shown when this player joins the game. Subclasses
+     * show their own types of players.
+     *
+     * @return the joining message
+     */
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute, or
+     * <code>null</code> if there is nothing to show.
+     *
+     * @return the selection message
+     */
+    public String getSelectionNote() {
+        return null;
+    }
+
     /**
      * Returns a random number between max and min(both inclusively).
      *
@@ -45,64 +92,77 @@ abstract public class Player {
     public int getRandom(int max, int min) {
 
         int range = max - min + 1;
-        return (int) (Math.random() * range) + min - 1;
+        return (int) (getRandomStream().nextDouble() * range) + min - 1;
     }
 
     /**
-     * Shows two players' top cards information related to the attribute.
+     * Returns the random stream of this player, split from the game's one when
+     * joining it, so a game with the same seed makes the same choices.
      *
-     * @param players the players in the game
+     * @return the random stream
      */
-    public static void showTopCards(ArrayList<Player> players) {
-
-        System.out.println("[TOP cards] Here are all top cards: ");
-        System.out.println("------------------------------------------------------------------------------------");
-        for (Player player : players) {
-            Card topCard = player.getTopCard();
-            System.out.format("| %-17s| %-7s | %s\n", player.getPlayerName(), topCard.getCardName(),
-                    topCard.showAllValue());
+    protected SplittableRandom getRandomStream() {
+        if (random == null) {
+            random = new SplittableRandom();
         }
-        System.out.println("------------------------------------------------------------------------------------");
+        return random;
     }
 
     /**
-     * Shows the two cards to be compared.
+     * Compares two players' attribute values and returns the Player with bigger
+     * one. The other one is set as the loser of the game.
      *
-     * @param firstPlayer the last winner player
-     * @param secondPlayer the player to be challenged by winnner player
-     * @param chosenAttribute the attribute of the round
+     * @param game the game of the players
+     * @param firstPlayer the first player to be compared
+     * @param secondPlayer the second player to be compared
+     * @param attribute the attribute selected in the round
+     * @return the Player with bigger value
      */
-    public static void showTwoCards(Player firstPlayer, Player secondPlayer, String chosenAttribute) {
+    public static Player hasBiggerValue(Game game, Player firstPlayer, Player secondPlayer, String attribute) {
 
-        System.out.println("\n[System] Next two: ");
-        Card firstCard = firstPlayer.getTopCard();
-        Card secondCard = secondPlayer.getTopCard();
-        System.out.format("-- Player: %-17s| %s value: %d\n", firstPlayer.getPlayerName(),
-                chosenAttribute, firstCard.findAttributeValue(chosenAttribute));
-        System.out.format("-- Player: %-17s| %s value: %d\n", secondPlayer.getPlayerName(),
-                chosenAttribute, secondCard.findAttributeValue(chosenAttribute));
+        int firstCardValue = firstPlayer.getTopCard().findAttributeValue(attribute);
+        int secondCardValue = secondPlayer.getTopCard().findAttributeValue(attribute);
+        return hasBiggerValue(game, firstPlayer, secondPlayer, firstCardValue, secondCardValue);
     }
 
     /**
-     * Compares two players' attribute values and returns the Player with bigger
-     * one.
+     * Compares two players' values of the attribute at the index and returns
+     * the Player with bigger one. The other one is set as the loser of the
+     * game.
      *
+     * @param game the game of the players
      * @param firstPlayer the first player to be compared
      * @param secondPlayer the second player to be compared
-     * @param attribute the attribute selected in the round
+     * @param attributeIndex the index of the attribute selected in the round
      * @return the Player with bigger value
      */
-    public static Player hasBiggerValue(Player firstPlayer, Player secondPlayer, String attribute) {
+    public static Player hasBiggerValue(Game game, Player firstPlayer, Player secondPlayer, int attributeIndex) {
+
+        int firstCardValue = firstPlayer.getTopValue(attributeIndex);
+        int secondCardValue = secondPlayer.getTopValue(attributeIndex);
+        return hasBiggerValue(game, firstPlayer, secondPlayer, firstCardValue, secondCardValue);
+    }
+
+    /**
+     * Returns the Player with bigger value and sets the other one as the loser.
+     *
+     * @param game the game of the players
+     * @param firstPlayer the first player to be compared
+     * @param secondPlayer the second player to be compared
+     * @param firstCardValue the value of the first player
+     * @param secondCardValue the value of the second player
+     * @return the Player with bigger value
+     */
+    private static Player hasBiggerValue(Game game, Player firstPlayer, Player secondPlayer,
+            int firstCardValue, int secondCardValue) {
 
-        int firstCardValue = firstPlayer.getTopCard().findAttributeValue(attribute);
-        int secondCardValue = secondPlayer.getTopCard().findAttributeValue(attribute);
         //return winner, if they are ties, return the 1st one
         if (firstCardValue >= secondCardValue) {
-            Game.setLoser(secondPlayer);
-        } else {
-            Game.setLoser(firstPlayer);
+            game.setLoser(secondPlayer);
+            return firstPlayer;
         }
-        return (firstCardValue >= secondCardValue) ? firstPlayer : secondPlayer;
+        game.setLoser(firstPlayer);
+        return secondPlayer;
     }
 
     /**
@@ -128,15 +188,13 @@ abstract public class Player {
     }
 
     /**
-     * Collects all the cards in the list.
+     * Collects all the cards in the list, which becomes empty.
      *
      * @param cards the list of cards
      */
-    public void putAtBottom(ArrayDeque<Card> cards) {
+    public void putAtBottom(Hand cards) {
 
-        for (Card card : cards) {
-            getCards().offerLast(card);
-        }
+        getCards().moveAllFrom(cards);
     }
 
     /**
@@ -147,9 +205,6 @@ abstract public class Player {
      */
     public boolean lost() {
 
-        if (getCardsNumber() == 0) {
-            System.out.format("\n[Players Out] %s has no card and is out !!!!", getPlayerName());
-        }
         return (getCardsNumber() == 0);
     }
 
@@ -169,18 +224,91 @@ abstract public class Player {
      * @return the top card of the deck
      */
     public Card getTopCard() {
-        return this.getCards().peek();
+        return getCards().getDeck().getCard(getCards().peek());
     }
 
     /**
-     * Returns the top card of this player and loses it.
+     * Returns the value of the attribute at the index on the top card.
      *
-     * @return the top card of the deck
+     * @param attributeIndex the attribute index, starting from 0
+     * @return the value of the attribute
      */
-    public Card loseTopCard() {
+    public int getTopValue(int attributeIndex) {
+        return getCards().getDeck().getValue(getCards().peek(), attributeIndex);
+    }
 
-        System.out.format("[Card Lost] %s loses a card.\n", getPlayerName());
-        return this.getCards().pop();
+    /**
+     * Returns the top card of this player and loses it. The player is out of
+     * the game when the last card is lost.
+     *
+     * @return the id of the top card of the deck
+     */
+    public int loseTopCard() {
+
+        int card = this.getCards().pop();
+        if (getCards().isEmpty() && game != null) {
+            game.eliminate(this);
+        }
+        return card;
+    }
+
+    /**
+     * Returns <code>true</code> if this player is a human one.
+     *
+     * @return <code>true</code> if this player is a human one
+     * <code>false</code> otherwise
+     */
+    public boolean isHuman() {
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if this player selects by the position alone,
+     * the cards in each hand in order, so it selects the same attribute
+     * whenever a position comes back. A game of such players only ends a
+     * repetition by its repetition policy. Returns <code>false</code> by
+     * default.
+     *
+     * @return <code>true</code> if this player selects by the position alone
+     * <code>false</code> otherwise
+     */
+    public boolean isPositional() {
+        return false;
+    }
+
+    /**
+     * Called after the game is restored from a snapshot, so a player keeping
+     * track of the cards can start again from the restored hands. Does
+     * nothing by default.
+     */
+    protected void restored() {
+    }
+
+    /**
+     * Sets the cards of this player.
+     *
+     * @param cards the cards to set
+     */
+    void setCards(Hand cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * Gets the seat of this player in the game.
+     *
+     * @return the seat, or -1 before joining
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Sets the seat of this player in the game.
+     *
+     * @param seat the seat to set
+     */
+    void setSeat(int seat) {
+        this.seat = seat;
     }
 
     /**
@@ -191,6 +319,32 @@ abstract public class Player {
      */
     public abstract String selectAttribute();
 
+    /**
+     * Returns the index of the Attribute this player chooses, so a round needs
+     * no attribute name. It is the index of selectAttribute() by default; the
+     * Computer players choose the index and name it in selectAttribute().
+     *
+     * @return the attribute index, starting from 0
+     */
+    public int selectAttributeIndex() {
+        return Card.attributeIndex(selectAttribute());
+    }
+
+    /**
+     * Called on every player after the winner of a round takes the cards, so
+     * a player can follow the cards revealed. Does nothing by default.
+     *
+     * @param winner the winner of the round
+     * @param attributeIndex the attribute of the round, starting from 0
+     * @param players the players of the round, in the first playersNumber
+     * elements
+     * @param topCards the id of the top card of each player in the round
+     * @param playersNumber the number of players in the round
+     */
+    protected void roundPlayed(Player winner, int attributeIndex, Player[] players, int[] topCards,
+            int playersNumber) {
+    }
+
     /**
      * Gets the number of cards.
      *
@@ -218,12 +372,30 @@ abstract public class Player {
         this.playerName = playerName;
     }
 
+    /**
+     * Gets the game this player joins.
+     *
+     * @return the game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the stream the messages of this player are printed to.
+     *
+     * @return the console of the game
+     */
+    protected PrintStream getConsole() {
+        return game.getConsole();
+    }
+
     /**
      * Gets the cards list of this player.
      *
      * @return the cards list
      */
-    public ArrayDeque<Card> getCards() {
+    public Hand getCards() {
         return cards;
     }
 
@@ -0,0 +1,66 @@
+
+/**
+ * The PlayerFactory interface creates a Player of one strategy from its name
+ * and dealt cards, so that the constructors of the Player subclasses, e.g.
+ * <code>SmartComp::new</code>, can be used as strategies of a game.
+ *
+ * A factory may also tell the type of the Players it creates, e.g.
+ * <code>PlayerFactory.of(SmartComp.class, SmartComp::new)</code>, so that the
+ * strategy can be named and told apart without creating a Player.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public interface PlayerFactory {
+
+    /**
+     * Creates a Player with the name and the cards dealt.
+     *
+     * @param playerName the name of the Player
+     * @param cards the cards dealt to the Player
+     * @return the Player created
+     */
+    Player create(String playerName, Hand cards);
+
+    /**
+     * Gets the type of the Players created.
+     *
+     * @return the type, or null if it is not known
+     */
+    default Class<? extends Player> getType() {
+        return null;
+    }
+
+    /**
+     * Gets the name of the strategy, the simple name of the type of the
+     * Players created, e.g. "SmartComp".
+     *
+     * @return the name, or null if the type is not known
+     */
+    default String getName() {
+        Class<? extends Player> type = getType();
+        return (type == null) ? null : type.getSimpleName();
+    }
+
+    /**
+     * Returns a factory of the type creating its Players by the factory.
+     *
+     * @param type the type of the Players created
+     * @param factory the factory creating the Players, e.g. a constructor
+     * @return the factory of the type
+     */
+    static PlayerFactory of(Class<? extends Player> type, PlayerFactory factory) {
+        return new PlayerFactory() {
+
+            @Override
+            public Player create(String playerName, Hand cards) {
+                return factory.create(playerName, cards);
+            }
+
+            @Override
+            public Class<? extends Player> getType() {
+                return type;
+            }
+        };
+    }
+}
@@ -1,5 +1,4 @@
 
-import java.util.ArrayDeque;
 
 /**
  * The PredicatbleComp class inherits from the Player class, and implements the
@@ -11,9 +10,9 @@ import java.util.ArrayDeque;
 public class PredictableComp extends Player {
 
     /**
-     * the first attribute this computer selects
+     * the index of the first attribute this computer selects
      */
-    private final String fixedAttribute;
+    private final int fixedAttribute;
 
     /**
      * Class constructor. Constructs a Player with player name and a list of
@@ -22,12 +21,31 @@ public class PredictableComp extends Player {
      * @param playerName the name of Player
      * @param cards the cards list of Player
      */
-    public PredictableComp(String playerName, ArrayDeque<Card> cards) {
+    public PredictableComp(String playerName, Hand cards) {
         super("PredictableC_" + playerName, cards);
 
-        System.out.format("[New Player] A Predictable-Computer Player: %s, joins...... ", getPlayerName());
-        this.fixedAttribute = "Attribute_1";
-        System.out.print("Setting the 1st Attribute as default...");
+        this.fixedAttribute = 0;
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Predictable-Computer Player: %s, joins...... "
+                + "Setting the 1st Attribute as default...", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return "[Default] Attribute_1 as default...";
     }
 
     /**
@@ -37,7 +55,28 @@ public class PredictableComp extends Player {
      */
     @Override
     public String selectAttribute() {
-        System.out.println("[Default] Attribute_1 as default...");
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns <code>true</code> as this player selects the same attribute
+     * every time.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isPositional() {
+        return true;
+    }
+
+    /**
+     * Returns the index of the constant Attribute this Computer player
+     * selects.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
         return fixedAttribute;
     }
 }
@@ -0,0 +1,152 @@
+
+/**
+ * The ProceduralDeck class is a CardSource of virtual cards. The value of an
+ * attribute of a card is a hash of the seed of the deck, the card id and the
+ * attribute, made again whenever it is read, and the name of a card is made
+ * only when it is asked for. The deck keeps nothing but the number of cards,
+ * so a game of it takes the memory of the hands alone, whatever the number
+ * of cards.
+ *
+ * A DeckStore adding the cards by addProceduralCard() with the same seed has
+ * the same cards, kept in its columns.
+ *
+ * Cards of other values cannot be added, and the cards are not indexed, as a
+ * DeckIndex keeps facts of every card; the players read the values of the
+ * cards they need instead.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ProceduralDeck implements CardSource {
+
+    /**
+     * the names of the attributes of every card
+     */
+    private final AttributeSchema schema;
+
+    /**
+     * the seed of the values
+     */
+    private final long deckSeed;
+
+    /**
+     * the number of cards in the deck
+     */
+    private int size;
+
+    /**
+     * Class constructor. Constructs an empty ProceduralDeck of cards with the
+     * attributes of the schema and the values of the seed.
+     *
+     * @param schema the names of the attributes of every card
+     * @param deckSeed the seed of the values
+     */
+    public ProceduralDeck(AttributeSchema schema, long deckSeed) {
+        this(schema, deckSeed, 0);
+    }
+
+    /**
+     * Class constructor. Constructs a ProceduralDeck of the first cards of
+     * the seed, with the attributes of the schema, e.g. to read the deck of a
+     * checkpoint back.
+     *
+     * @param schema the names of the attributes of every card
+     * @param deckSeed the seed of the values
+     * @param size the number of cards in the deck
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public ProceduralDeck(AttributeSchema schema, long deckSeed, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("The cards number is negative: " + size);
+        }
+        this.schema = schema;
+        this.deckSeed = deckSeed;
+        this.size = size;
+    }
+
+    /**
+     * Returns the value of the attribute of the card of the procedural deck
+     * of the seed, between 0 and 9 (both inclusively).
+     *
+     * @param deckSeed the seed of the deck
+     * @param card the id of the card
+     * @param attribute the attribute index, starting from 0
+     * @return the value of the attribute
+     */
+    public static int valueOf(long deckSeed, int card, int attribute) {
+        long hash = Hand.mix(deckSeed ^ Hand.mix(((long) card << 16) + attribute));
+        return (int) (((hash >>> 32) * 10) >>> 32);
+    }
+
+    /**
+     * Returns the name of the card of a procedural deck.
+     *
+     * @param card the id of the card
+     * @return the card name
+     */
+    public static String nameOf(int card) {
+        return "Card_" + (card + 1);
+    }
+
+    /**
+     * Adds the next card of the seed to the deck.
+     *
+     * @return the id of the card added
+     * @throws IllegalStateException if the deck has Integer.MAX_VALUE cards
+     */
+    public int addCard() {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The deck is full");
+        }
+        return size++;
+    }
+
+    @Override
+    public int getValue(int card, int attribute) {
+        return valueOf(deckSeed, card, attribute);
+    }
+
+    @Override
+    public int getHighestIndex(int card) {
+        int highest = 0;
+        int highestValue = valueOf(deckSeed, card, 0);
+        for (int attribute = 1; attribute < getAttributesNumber(); attribute++) {
+            int value = valueOf(deckSeed, card, attribute);
+            if (value > highestValue) {
+                highest = attribute;
+                highestValue = value;
+            }
+        }
+        return highest;
+    }
+
+    @Override
+    public String getCardName(int card) {
+        return nameOf(card);
+    }
+
+    @Override
+    public int getAttributesNumber() {
+        return schema.size();
+    }
+
+    @Override
+    public AttributeSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the seed of the values.
+     *
+     * @return the deckSeed
+     */
+    public long getDeckSeed() {
+        return deckSeed;
+    }
+
+}
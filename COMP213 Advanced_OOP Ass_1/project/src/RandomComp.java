@@ -1,5 +1,4 @@
 
-import java.util.ArrayDeque;
 
 /**
  * The RandomComp class inherits from the Player class, and implements the
@@ -17,10 +16,28 @@ public class RandomComp extends Player {
      * @param playerName the name of this player
      * @param cards the cards of this player
      */
-    public RandomComp(String playerName, ArrayDeque<Card> cards) {
+    public RandomComp(String playerName, Hand cards) {
         super("RandomC_" + playerName, cards);
+    }
 
-        System.out.format("[System] A Random_Computer Player: %s, joins...... ", getPlayerName());
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[System] A Random_Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return "[Random]...Selects Attribute_" + getCards().getDeck().getAttributesNumber();
     }
 
     /**
@@ -30,8 +47,19 @@ public class RandomComp extends Player {
      */
     @Override
     public String selectAttribute() {
-        int attributesNumber = getTopCard().getAttributesNumber();
-        System.out.println("[Random]...Selects Attribute_" + attributesNumber);
-        return "Attribute_" + getRandom(1, attributesNumber);
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns the random index of Attribute this Computer player chooses,
+     * never below 0, which the limits of getRandom() give for a deck of one
+     * attribute.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        int attributesNumber = getCards().getDeck().getAttributesNumber();
+        return Math.max(0, getRandom(1, attributesNumber) - 1);
     }
 }
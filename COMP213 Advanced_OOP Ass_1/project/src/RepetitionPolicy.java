@@ -0,0 +1,32 @@
+
+/**
+ * The RepetitionPolicy enum is what a game does when the cards come back to a
+ * position seen before, the same cards in the same order in each hand with
+ * the same attribute-decider. Players deciding by the cards alone then play
+ * the same rounds again forever, so a game with repetitions is bounded by the
+ * number of different positions instead of going on. A policy other than
+ * IGNORE is only applied while every player in the game selects by the
+ * position alone, see Player.isPositional().
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public enum RepetitionPolicy {
+
+    /**
+     * goes on playing, so only the max rounds end the game
+     */
+    IGNORE,
+
+    /**
+     * ends the game as a draw
+     */
+    DRAW,
+
+    /**
+     * ends the game with the player having the most cards as the winner, the
+     * first seat of them if there are ties
+     */
+    MOST_CARDS
+
+}
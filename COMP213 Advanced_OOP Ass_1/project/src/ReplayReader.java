@@ -0,0 +1,331 @@
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The ReplayReader class reads a replay log written by the ReplayRecorder.
+ * The file is mapped into memory, and the records have the same size, so any
+ * record is read by its index without reading the ones before it. The records
+ * of zeros a crash leaves at the end of the log are not read.
+ *
+ * A round is found from the first record of its game, where the rounds are
+ * usually numbered from 1 one after another. A game restored from a snapshot
+ * starts at a later round, and a round is searched for in the records of its
+ * game if it is not where it is expected.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ReplayReader implements AutoCloseable {
+
+    /**
+     * the file of the log
+     */
+    private final FileChannel channel;
+
+    /**
+     * the number of player slots of a record
+     */
+    private final int slots;
+
+    /**
+     * the size of a record in bytes
+     */
+    private final int recordSize;
+
+    /**
+     * the number of records in the log
+     */
+    private final long recordsNumber;
+
+    /**
+     * the number of records in a mapped region
+     */
+    private final int recordsPerRegion;
+
+    /**
+     * the mapped regions of the records
+     */
+    private final MappedByteBuffer[] regions;
+
+    /**
+     * the number of the first game of the log
+     */
+    private int firstGame;
+
+    /**
+     * the index of the first record of each game, from the first game, or -1
+     * for a game without a record; built on the first seek
+     */
+    private long[] gameStarts;
+
+    /**
+     * Class constructor. Constructs a ReplayReader of the log file.
+     *
+     * @param file the file of the log
+     * @throws IOException if the file cannot be read or is not a log
+     */
+    public ReplayReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(ReplayRecorder.HEADER_SIZE);
+            if (channel.read(header, 0) < ReplayRecorder.HEADER_SIZE
+                    || header.getInt(0) != ReplayRecorder.MAGIC || header.getInt(4) != ReplayRecorder.VERSION) {
+                throw new IOException("Not a replay log: " + file);
+            }
+            this.slots = header.getInt(8);
+            this.recordSize = header.getInt(12);
+            this.recordsNumber = ReplayRecorder.countRecords(channel, recordSize);
+            this.recordsPerRegion = Integer.MAX_VALUE / recordSize;
+            this.regions = new MappedByteBuffer[(int) ((recordsNumber + recordsPerRegion - 1) / recordsPerRegion)];
+            for (int i = 0; i < regions.length; i++) {
+                long first = (long) i * recordsPerRegion;
+                long records = Math.min(recordsPerRegion, recordsNumber - first);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        ReplayRecorder.HEADER_SIZE + first * recordSize, records * recordSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of records in the log.
+     *
+     * @return the number of records
+     */
+    public long getRecordsNumber() {
+        return recordsNumber;
+    }
+
+    /**
+     * Gets the number of player slots of a record.
+     *
+     * @return the number of slots
+     */
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Returns a new record to read the log into.
+     *
+     * @return the new record
+     */
+    public ReplayRecord newRecord() {
+        return new ReplayRecord(slots);
+    }
+
+    /**
+     * Reads the record of the index into the record given.
+     *
+     * @param index the index of the record, starting from 0
+     * @param record the record to fill
+     * @return the record filled
+     */
+    public ReplayRecord read(long index, ReplayRecord record) {
+        if (index < 0 || index >= recordsNumber) {
+            throw new IndexOutOfBoundsException("No record: " + index);
+        }
+        MappedByteBuffer region = regions[(int) (index / recordsPerRegion)];
+        int start = (int) (index % recordsPerRegion) * recordSize;
+        record.gameNumber = region.getInt(start + ReplayRecorder.GAME_OFFSET);
+        record.round = region.getInt(start + ReplayRecorder.ROUND_OFFSET);
+        record.decider = region.getShort(start + ReplayRecorder.DECIDER_OFFSET);
+        record.winner = region.getShort(start + ReplayRecorder.WINNER_OFFSET);
+        record.attributeIndex = region.getShort(start + ReplayRecorder.ATTRIBUTE_OFFSET);
+        record.playersNumber = region.getShort(start + ReplayRecorder.PLAYERS_OFFSET);
+        for (int i = 0; i < slots; i++) {
+            record.values[i] = region.getInt(start + ReplayRecorder.VALUES_OFFSET + 4 * i);
+        }
+        int playingOffset = start + ReplayRecorder.VALUES_OFFSET + 4 * slots;
+        for (int i = 0; i < record.playing.length; i++) {
+            record.playing[i] = region.getInt(playingOffset + 4 * i);
+        }
+        return record;
+    }
+
+    /**
+     * Returns the index of the record of the round of the game, or -1 if the
+     * round is not in the log.
+     *
+     * @param gameNumber the number of the game
+     * @param round the number of the round, starting from 1
+     * @return the index of the record
+     */
+    public long seek(int gameNumber, int round) {
+        long first = firstIndexOf(gameNumber);
+        if (first < 0 || round < 1) {
+            return -1;
+        }
+        long index = first + ((long) round - roundAt(first));
+        if (index >= first && index < recordsNumber && gameAt(index) == gameNumber && roundAt(index) == round) {
+            return index;
+        }
+
+        //the rounds of the game are not one after another, so search them
+        long low = first;
+        long high = endIndexOf(gameNumber);
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            int middleRound = roundAt(middle);
+            if (middleRound < round) {
+                low = middle + 1;
+            } else if (middleRound > round) {
+                high = middle;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first record of the game.
+     *
+     * @param gameNumber the number of the game
+     * @return the index of the record, or -1 if the game is not in the log
+     */
+    private long firstIndexOf(int gameNumber) {
+        long[] starts = getGameStarts();
+        int game = gameNumber - firstGame;
+        if (game < 0 || game >= starts.length) {
+            return -1;
+        }
+        return starts[game];
+    }
+
+    /**
+     * Returns the index after the last record of the game, which is in the
+     * log.
+     *
+     * @param gameNumber the number of the game
+     * @return the index of the first record of the next game in the log, or
+     * the number of records if it is the last one
+     */
+    private long endIndexOf(int gameNumber) {
+        long[] starts = getGameStarts();
+        for (int game = gameNumber - firstGame + 1; game < starts.length; game++) {
+            if (starts[game] >= 0) {
+                return starts[game];
+            }
+        }
+        return recordsNumber;
+    }
+
+    /**
+     * Reads the round of the game into the record given.
+     *
+     * @param gameNumber the number of the game
+     * @param round the number of the round, starting from 1
+     * @param record the record to fill
+     * @return the record filled, or null if the round is not in the log
+     */
+    public ReplayRecord readRound(int gameNumber, int round, ReplayRecord record) {
+        long index = seek(gameNumber, round);
+        return index < 0 ? null : read(index, record);
+    }
+
+    /**
+     * Passes each round of the game in order to the action, in the same
+     * record filled again.
+     *
+     * @param gameNumber the number of the game
+     * @param action the action on each round
+     * @return the number of rounds of the game
+     */
+    public int replay(int gameNumber, Consumer<ReplayRecord> action) {
+        long index = firstIndexOf(gameNumber);
+        if (index < 0) {
+            return 0;
+        }
+        ReplayRecord record = newRecord();
+        int rounds = 0;
+        for (; index < recordsNumber && gameAt(index) == gameNumber; index++) {
+            action.accept(read(index, record));
+            rounds++;
+        }
+        return rounds;
+    }
+
+    /**
+     * Passes each record of the log in order to the action, in the same
+     * record filled again.
+     *
+     * @param action the action on each record
+     */
+    public void scan(Consumer<ReplayRecord> action) {
+        ReplayRecord record = newRecord();
+        for (long index = 0; index < recordsNumber; index++) {
+            action.accept(read(index, record));
+        }
+    }
+
+    /**
+     * Returns the number of the game of the record.
+     *
+     * @param index the index of the record
+     * @return the number of the game
+     */
+    private int gameAt(long index) {
+        MappedByteBuffer region = regions[(int) (index / recordsPerRegion)];
+        return region.getInt((int) (index % recordsPerRegion) * recordSize + ReplayRecorder.GAME_OFFSET);
+    }
+
+    /**
+     * Returns the number of the round of the record.
+     *
+     * @param index the index of the record
+     * @return the number of the round
+     */
+    private int roundAt(long index) {
+        MappedByteBuffer region = regions[(int) (index / recordsPerRegion)];
+        return region.getInt((int) (index % recordsPerRegion) * recordSize + ReplayRecorder.ROUND_OFFSET);
+    }
+
+    /**
+     * Gets the index of the first record of each game, building it by reading
+     * the game number of each record the first time.
+     *
+     * @return the index of the first record of each game
+     */
+    private long[] getGameStarts() {
+        if (gameStarts == null) {
+            if (recordsNumber == 0) {
+                gameStarts = new long[0];
+                return gameStarts;
+            }
+            firstGame = gameAt(0);
+            long[] starts = new long[16];
+            Arrays.fill(starts, -1);
+            int last = -1;
+            for (long index = 0; index < recordsNumber; index++) {
+                int game = gameAt(index) - firstGame;
+                if (game != last) {
+                    if (game >= starts.length) {
+                        int oldLength = starts.length;
+                        starts = Arrays.copyOf(starts, Math.max(game + 1, oldLength * 2));
+                        Arrays.fill(starts, oldLength, starts.length, -1);
+                    }
+                    starts[game] = index;
+                    last = game;
+                }
+            }
+            gameStarts = Arrays.copyOf(starts, last + 1);
+        }
+        return gameStarts;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,164 @@
+
+/**
+ * The ReplayRecord class holds one round read from a replay log. A reader
+ * fills the same record again for each round, so scanning a log creates no
+ * object per round.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ReplayRecord {
+
+    /**
+     * the number of the game
+     */
+    int gameNumber;
+
+    /**
+     * the number of the round, starting from 1
+     */
+    int round;
+
+    /**
+     * the number of the deciding player
+     */
+    int decider;
+
+    /**
+     * the number of the winner
+     */
+    int winner;
+
+    /**
+     * the index of the attribute of the round
+     */
+    int attributeIndex;
+
+    /**
+     * the number of players in the round
+     */
+    int playersNumber;
+
+    /**
+     * the value of the top card of each player slot
+     */
+    final int[] values;
+
+    /**
+     * the slots of the players in the round as bits
+     */
+    final int[] playing;
+
+    /**
+     * Class constructor. Constructs an empty ReplayRecord of the slots.
+     *
+     * @param slots the number of player slots
+     */
+    public ReplayRecord(int slots) {
+        this.values = new int[slots];
+        this.playing = new int[ReplayRecorder.playingInts(slots)];
+    }
+
+    /**
+     * Gets the number of the game.
+     *
+     * @return the number of the game
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Gets the number of the round, starting from 1.
+     *
+     * @return the number of the round
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Gets the number of the deciding player, in the order the players joined
+     * starting from 0.
+     *
+     * @return the number of the deciding player
+     */
+    public int getDecider() {
+        return decider;
+    }
+
+    /**
+     * Gets the number of the winner, in the order the players joined starting
+     * from 0.
+     *
+     * @return the number of the winner
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the index of the attribute of the round.
+     *
+     * @return the index of the attribute
+     */
+    public int getAttributeIndex() {
+        return attributeIndex;
+    }
+
+    /**
+     * Gets the number of players in the round.
+     *
+     * @return the number of players
+     */
+    public int getPlayersNumber() {
+        return playersNumber;
+    }
+
+    /**
+     * Returns <code>true</code> if the player was in the round.
+     *
+     * @param player the number of the player
+     * @return <code>true</code> if the player was in the round
+     * <code>false</code> if it was out of the game
+     */
+    public boolean isPlaying(int player) {
+        return (playing[player >>> 5] & (1 << player)) != 0;
+    }
+
+    /**
+     * Gets the value of the top card of the player in the round. Any value
+     * of a catalog may be read, so whether the player was in the round is
+     * told by isPlaying.
+     *
+     * @param player the number of the player
+     * @return the value, or 0 if the player was out of the game
+     */
+    public int getValue(int player) {
+        return values[player];
+    }
+
+    /**
+     * Gets the number of player slots.
+     *
+     * @return the number of slots
+     */
+    public int getSlots() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("[Game ").append(gameNumber).append("] Round ").append(round)
+                .append(": Player ").append(decider + 1).append(" selects ")
+                .append(Card.attributeName(attributeIndex)).append(", values:");
+        for (int i = 0; i < values.length; i++) {
+            if (isPlaying(i)) {
+                text.append(" Player ").append(i + 1).append('=').append(values[i]);
+            }
+        }
+        return text.append(", winner: Player ").append(winner + 1).toString();
+    }
+
+}
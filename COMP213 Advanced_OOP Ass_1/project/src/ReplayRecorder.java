@@ -0,0 +1,410 @@
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * The ReplayRecorder class listens to games and appends each round to a
+ * binary replay log, which is read by the ReplayReader.
+ *
+ * The log starts with a header of HEADER_SIZE bytes: the MAGIC number, the
+ * VERSION, the number of player slots and the size of a record. Then each
+ * round is one record of the same size: the number of the game, the number of
+ * the round, the deciding player, the winner, the attribute index and the
+ * number of players in the round, followed by the value of the top card of
+ * each player slot, 0 for a player out of the game, and then the slots of
+ * the players in the round as bits, 32 to an int. The players are numbered
+ * from 0 in their order when the game started.
+ *
+ * The log is written through a memory-mapped region of the file, which is
+ * mapped again further on when it is full, so a record is written without a
+ * system call. The events are also passed to another listener, so a game can
+ * be recorded and shown at the same time.
+ *
+ * Until the recorder is closed the file is as long as the mapped regions, so
+ * after a crash it ends with records of zeros never written. A record has a
+ * round and a players number of at least 1, so the log ends at its last
+ * record with both, for the reader and for a recorder continuing it.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ReplayRecorder implements GameEventListener, AutoCloseable {
+
+    static final int MAGIC = 0x54545250;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+
+    static final int GAME_OFFSET = 0;
+    static final int ROUND_OFFSET = 4;
+    static final int DECIDER_OFFSET = 8;
+    static final int WINNER_OFFSET = 10;
+    static final int ATTRIBUTE_OFFSET = 12;
+    static final int PLAYERS_OFFSET = 14;
+    static final int VALUES_OFFSET = 16;
+
+    /**
+     * the most records mapped at a time
+     */
+    private static final int RECORDS_PER_REGION = 1 << 16;
+
+    /**
+     * the listener the events are passed to
+     */
+    private final GameEventListener delegate;
+
+    /**
+     * the file of the log
+     */
+    private final FileChannel channel;
+
+    /**
+     * the number of player slots of a record
+     */
+    private final int slots;
+
+    /**
+     * the size of a record in bytes
+     */
+    private final int recordSize;
+
+    /**
+     * the number of records mapped at a time, at most RECORDS_PER_REGION and
+     * fewer when their bytes are more than a mapped region can hold
+     */
+    private final int recordsPerRegion;
+
+    /**
+     * the mapped region the next records are written into
+     */
+    private MappedByteBuffer region;
+
+    /**
+     * the position in the file of the next record
+     */
+    private long position;
+
+    /**
+     * the number of the game being recorded
+     */
+    private int gameNumber;
+
+    /**
+     * the number of each player of the game being recorded
+     */
+    private final IdentityHashMap<Player, Integer> playerNumbers = new IdentityHashMap<>();
+
+    /**
+     * the number of players of the game being recorded
+     */
+    private int gamePlayersNumber;
+
+    /**
+     * the number of the round being recorded
+     */
+    private int round;
+
+    /**
+     * the number of the deciding player of the round
+     */
+    private int decider;
+
+    /**
+     * the index of the attribute of the round
+     */
+    private int attributeIndex;
+
+    /**
+     * the number of players in the round
+     */
+    private int roundPlayersNumber;
+
+    /**
+     * the value of the top card of each player slot in the round
+     */
+    private final int[] values;
+
+    /**
+     * the slots of the players in the round as bits
+     */
+    private final int[] playing;
+
+    /**
+     * Class constructor. Constructs a ReplayRecorder appending to the log
+     * file, without passing the events to another listener.
+     *
+     * @param file the file of the log
+     * @param slots the most players of a game
+     * @throws IOException if the file cannot be opened
+     */
+    public ReplayRecorder(Path file, int slots) throws IOException {
+        this(file, slots, new NoOpGameListener());
+    }
+
+    /**
+     * Class constructor. Constructs a ReplayRecorder appending to the log
+     * file and passing the events to the delegate. A new file gets the header;
+     * an existing file must have the same number of slots, and its games are
+     * continued in number.
+     *
+     * @param file the file of the log
+     * @param slots the most players of a game
+     * @param delegate the listener the events are passed to
+     * @throws IOException if the file cannot be opened or is not a log of
+     * the same slots
+     */
+    public ReplayRecorder(Path file, int slots, GameEventListener delegate) throws IOException {
+        if (slots <= 0 || slots > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("The slots is not a valid number: " + slots);
+        }
+        this.delegate = delegate;
+        this.slots = slots;
+        this.recordSize = VALUES_OFFSET + 4 * slots + 4 * playingInts(slots);
+        this.recordsPerRegion = Math.max(1, Math.min(RECORDS_PER_REGION, Integer.MAX_VALUE / recordSize));
+        this.values = new int[slots];
+        this.playing = new int[playingInts(slots)];
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(slots).putInt(recordSize).flip();
+                channel.write(header, 0);
+                position = HEADER_SIZE;
+            } else {
+                continueLog(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of ints of the bits of the players in a round.
+     *
+     * @param slots the number of player slots
+     * @return the number of ints
+     */
+    static int playingInts(int slots) {
+        return (slots + 31) >>> 5;
+    }
+
+    /**
+     * Checks the header of the existing log and continues after its last
+     * complete record.
+     *
+     * @param file the file of the log
+     * @throws IOException if the file is not a log of the same slots
+     */
+    private void continueLog(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.read(header, 0) < HEADER_SIZE || header.getInt(0) != MAGIC
+                || header.getInt(4) != VERSION) {
+            throw new IOException("Not a replay log: " + file);
+        }
+        if (header.getInt(8) != slots) {
+            throw new IOException("The replay log has " + header.getInt(8) + " slots, not " + slots + ": " + file);
+        }
+        long records = countRecords(channel, recordSize);
+        position = HEADER_SIZE + records * recordSize;
+        if (records > 0) {
+            ByteBuffer last = ByteBuffer.allocate(4);
+            channel.read(last, position - recordSize + GAME_OFFSET);
+            gameNumber = last.getInt(0) + 1;
+        }
+    }
+
+    /**
+     * Returns the number of records of the log up to its last written one,
+     * skipping back over the records at the end which are not written, e.g.
+     * the zeros of a mapped region left by a crash.
+     *
+     * @param channel the file of the log
+     * @param recordSize the size of a record in bytes
+     * @return the number of records
+     * @throws IOException if the file cannot be read
+     */
+    static long countRecords(FileChannel channel, int recordSize) throws IOException {
+        long records = (channel.size() - HEADER_SIZE) / recordSize;
+        ByteBuffer fields = ByteBuffer.allocate(VALUES_OFFSET - ROUND_OFFSET);
+        while (records > 0) {
+            fields.clear();
+            channel.read(fields, HEADER_SIZE + (records - 1) * recordSize + ROUND_OFFSET);
+            if (fields.position() == fields.capacity() && fields.getInt(0) >= 1
+                    && fields.getShort(PLAYERS_OFFSET - ROUND_OFFSET) >= 1) {
+                break;
+            }
+            records--;
+        }
+        return records;
+    }
+
+    /**
+     * Writes the record of the round just won.
+     *
+     * @param winner the number of the winner
+     */
+    private void writeRecord(int winner) {
+        if (region == null || !region.hasRemaining()) {
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                        (long) recordSize * recordsPerRegion);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int start = region.position();
+        region.putInt(start + GAME_OFFSET, gameNumber);
+        region.putInt(start + ROUND_OFFSET, round);
+        region.putShort(start + DECIDER_OFFSET, (short) decider);
+        region.putShort(start + WINNER_OFFSET, (short) winner);
+        region.putShort(start + ATTRIBUTE_OFFSET, (short) attributeIndex);
+        region.putShort(start + PLAYERS_OFFSET, (short) roundPlayersNumber);
+        for (int i = 0; i < slots; i++) {
+            region.putInt(start + VALUES_OFFSET + 4 * i, values[i]);
+        }
+        int playingOffset = start + VALUES_OFFSET + 4 * slots;
+        for (int i = 0; i < playing.length; i++) {
+            region.putInt(playingOffset + 4 * i, playing[i]);
+        }
+        region.position(start + recordSize);
+        position += recordSize;
+    }
+
+    /**
+     * Returns the number of the player in the game being recorded.
+     *
+     * @param player the player
+     * @return the number of the player, or -1 if it is not in the game
+     */
+    private int numberOf(Player player) {
+        Integer number = playerNumbers.get(player);
+        return number == null ? -1 : number;
+    }
+
+    /**
+     * Gets the number of records written to the log.
+     *
+     * @return the number of records
+     */
+    public long getRecordsNumber() {
+        return (position - HEADER_SIZE) / recordSize;
+    }
+
+    @Override
+    public void playerJoined(Player player) {
+        delegate.playerJoined(player);
+    }
+
+    @Override
+    public void gameStarted(String deckType, Player[] players, int[] cardsNumbers, int playersNumber) {
+        if (playersNumber > slots) {
+            throw new IllegalStateException("The game has " + playersNumber + " players, more than "
+                    + slots + " slots");
+        }
+        if (gamePlayersNumber > 0) {
+            gameNumber++;
+        }
+        playerNumbers.clear();
+        for (int i = 0; i < playersNumber; i++) {
+            playerNumbers.put(players[i], i);
+        }
+        gamePlayersNumber = playersNumber;
+        delegate.gameStarted(deckType, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void roundStarted(int round) {
+        this.round = round;
+        delegate.roundStarted(round);
+    }
+
+    @Override
+    public void attributeDeciding(String deckType, Player decider, int attributesNumber) {
+        delegate.attributeDeciding(deckType, decider, attributesNumber);
+    }
+
+    @Override
+    public void attributeDecided(Player decider, int attributeIndex) {
+        this.decider = numberOf(decider);
+        this.attributeIndex = attributeIndex;
+        delegate.attributeDecided(decider, attributeIndex);
+    }
+
+    @Override
+    public void topCardsRevealed(Player[] players, int[] topCards, int playersNumber, CardSource deck) {
+        Arrays.fill(values, 0);
+        Arrays.fill(playing, 0);
+        for (int i = 0; i < playersNumber; i++) {
+            int number = numberOf(players[i]);
+            if (number >= 0) {
+                values[number] = deck.getValue(topCards[i], attributeIndex);
+                playing[number >>> 5] |= 1 << number;
+            }
+        }
+        roundPlayersNumber = playersNumber;
+        delegate.topCardsRevealed(players, topCards, playersNumber, deck);
+    }
+
+    @Override
+    public void cardsCompared(Player first, Player second, int attributeIndex, int firstValue, int secondValue,
+            Player winner) {
+        delegate.cardsCompared(first, second, attributeIndex, firstValue, secondValue, winner);
+    }
+
+    @Override
+    public void cardLost(Player player, int card) {
+        delegate.cardLost(player, card);
+    }
+
+    @Override
+    public void roundWon(Player winner, Player[] players, int[] cardsNumbers, int playersNumber) {
+        writeRecord(numberOf(winner));
+        delegate.roundWon(winner, players, cardsNumbers, playersNumber);
+    }
+
+    @Override
+    public void playerOut(Player player) {
+        delegate.playerOut(player);
+    }
+
+    @Override
+    public void playersCounted(int playersNumber, int humanNumber, int computersNumber) {
+        delegate.playersCounted(playersNumber, humanNumber, computersNumber);
+    }
+
+    @Override
+    public void gameOver(Player winner, int cardsNumber) {
+        delegate.gameOver(winner, cardsNumber);
+    }
+
+    @Override
+    public void gameDrawn(int rounds) {
+        delegate.gameDrawn(rounds);
+    }
+
+    /**
+     * Writes the mapped records to the file and cuts the unused end of the
+     * last mapped region.
+     */
+    @Override
+    public void close() {
+        try {
+            if (region != null) {
+                region.force();
+            }
+            channel.truncate(position);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
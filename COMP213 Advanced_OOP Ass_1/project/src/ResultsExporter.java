@@ -0,0 +1,37 @@
+
+/**
+ * The ResultsExporter interface writes the outcomes of the games played to
+ * disk as they end, so millions of games can be analysed later without
+ * keeping them on the heap. The games are given by ExportListeners, one per
+ * game, and any number of games may end at the same time on different
+ * threads.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public interface ResultsExporter extends AutoCloseable {
+
+    /**
+     * Writes the game, which the record keeps only during the call.
+     *
+     * @param record the record of the game
+     * @throws java.io.UncheckedIOException if the game cannot be written
+     */
+    void export(GameRecord record);
+
+    /**
+     * Returns the number of games written.
+     *
+     * @return the number of games
+     */
+    long getGamesNumber();
+
+    /**
+     * Writes the games not written yet and closes the files.
+     *
+     * @throws java.io.UncheckedIOException if the files cannot be written
+     */
+    @Override
+    void close();
+
+}
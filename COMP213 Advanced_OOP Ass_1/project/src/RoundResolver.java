@@ -0,0 +1,229 @@
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The RoundResolver class finds the winner of a round over the top cards of
+ * the players: their values of the attribute are read into one int column,
+ * and the first highest value is found in one pass over it, so a tie goes to
+ * the player sitting first, as in the pairwise comparison. Above
+ * PARALLEL_THRESHOLD players the work is split over the common ForkJoin pool.
+ *
+ * The values and the collected cards are kept in arrays reused by every
+ * round, so a round with thousands of players creates no object.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class RoundResolver {
+
+    /**
+     * the number of players from which a round is resolved in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * the value of the top card of each player in the last round resolved
+     */
+    private int[] values = new int[0];
+
+    /**
+     * the cards collected in the last round resolved
+     */
+    private int[] collection = new int[0];
+
+    /**
+     * Reads the value of the attribute of each player's top card and returns
+     * the seat of the first player with the highest value.
+     *
+     * @param players the players, in the first playersNumber elements
+     * @param playersNumber the number of players
+     * @param attributeIndex the index of the attribute of the round
+     * @return the seat of the winner
+     */
+    public int findWinner(Player[] players, int playersNumber, int attributeIndex) {
+        if (values.length < playersNumber) {
+            values = new int[players.length];
+        }
+        if (playersNumber >= PARALLEL_THRESHOLD) {
+            return ForkJoinPool.commonPool().invoke(
+                    new WinnerTask(players, values, attributeIndex, 0, playersNumber));
+        }
+        return findWinner(players, values, attributeIndex, 0, playersNumber);
+    }
+
+    /**
+     * Reads the values of the players from the start to the end into the
+     * column, and returns the seat of the first player with the highest value
+     * among them.
+     *
+     * @param players the players
+     * @param values the values to fill
+     * @param attributeIndex the index of the attribute of the round
+     * @param start the first seat, inclusive
+     * @param end the last seat, exclusive
+     * @return the seat of the winner among them
+     */
+    private static int findWinner(Player[] players, int[] values, int attributeIndex, int start, int end) {
+        for (int seat = start; seat < end; seat++) {
+            values[seat] = players[seat].getTopValue(attributeIndex);
+        }
+        return argmax(values, start, end);
+    }
+
+    /**
+     * Returns the position of the first highest value from the start to the
+     * end. The values are scanned by four positions at a time, each with its
+     * own highest value, so the comparisons do not wait for each other; the
+     * four are then joined keeping the first position of a tie.
+     *
+     * @param values the values
+     * @param start the first position, inclusive
+     * @param end the last position, exclusive
+     * @return the position of the first highest value
+     */
+    public static int argmax(int[] values, int start, int end) {
+        int best0 = start;
+        int best1 = start;
+        int best2 = start;
+        int best3 = start;
+        int max0 = Integer.MIN_VALUE;
+        int max1 = Integer.MIN_VALUE;
+        int max2 = Integer.MIN_VALUE;
+        int max3 = Integer.MIN_VALUE;
+        int i = start;
+        for (; i + 3 < end; i += 4) {
+            if (values[i] > max0) {
+                max0 = values[i];
+                best0 = i;
+            }
+            if (values[i + 1] > max1) {
+                max1 = values[i + 1];
+                best1 = i + 1;
+            }
+            if (values[i + 2] > max2) {
+                max2 = values[i + 2];
+                best2 = i + 2;
+            }
+            if (values[i + 3] > max3) {
+                max3 = values[i + 3];
+                best3 = i + 3;
+            }
+        }
+        for (; i < end; i++) {
+            if (values[i] > max0) {
+                max0 = values[i];
+                best0 = i;
+            }
+        }
+        int best = best0;
+        int max = max0;
+        if (max1 > max || (max1 == max && best1 < best)) {
+            max = max1;
+            best = best1;
+        }
+        if (max2 > max || (max2 == max && best2 < best)) {
+            max = max2;
+            best = best2;
+        }
+        if (max3 > max || (max3 == max && best3 < best)) {
+            best = best3;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the value of the top card of the player in the last round
+     * resolved.
+     *
+     * @param seat the seat of the player
+     * @return the value of the top card
+     */
+    public int getValue(int seat) {
+        return values[seat];
+    }
+
+    /**
+     * Takes the top cards of the losers in the order they lost and then the
+     * top card of the winner, and puts them all at the bottom of the winner's
+     * cards. The order is the one of the comparisons by pair: the player
+     * leading so far loses to a higher value, and any other player loses to
+     * the leader. The losers losing their last cards are out of the game, in
+     * seat order.
+     *
+     * @param players the players, in the first playersNumber elements
+     * @param playersNumber the number of players
+     * @param winner the seat of the winner
+     */
+    public void collect(Player[] players, int playersNumber, int winner) {
+        if (collection.length < playersNumber) {
+            collection = new int[players.length];
+        }
+        int collected = 0;
+        int leader = 0;
+        for (int seat = 1; seat < playersNumber; seat++) {
+            int loser = seat;
+            if (values[seat] > values[leader]) {
+                loser = leader;
+                leader = seat;
+            }
+            collection[collected++] = players[loser].getCards().peek();
+        }
+        for (int seat = 0; seat < playersNumber; seat++) {
+            if (seat != winner) {
+                players[seat].loseTopCard();
+            }
+        }
+        Hand winnerCards = players[winner].getCards();
+        collection[collected++] = winnerCards.pop();
+        winnerCards.offerAll(collection, collected);
+    }
+
+    /**
+     * The WinnerTask class finds the winner among a range of seats, splitting
+     * the range in halves until it is below the threshold.
+     */
+    private static final class WinnerTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Player[] players;
+        private final int[] values;
+        private final int attributeIndex;
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructs a WinnerTask of the seats from the start to the end.
+         *
+         * @param players the players
+         * @param values the values to fill
+         * @param attributeIndex the index of the attribute of the round
+         * @param start the first seat, inclusive
+         * @param end the last seat, exclusive
+         */
+        private WinnerTask(Player[] players, int[] values, int attributeIndex, int start, int end) {
+            this.players = players;
+            this.values = values;
+            this.attributeIndex = attributeIndex;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start < PARALLEL_THRESHOLD) {
+                return findWinner(players, values, attributeIndex, start, end);
+            }
+            int middle = (start + end) >>> 1;
+            WinnerTask right = new WinnerTask(players, values, attributeIndex, middle, end);
+            right.fork();
+            int leftWinner = new WinnerTask(players, values, attributeIndex, start, middle).compute();
+            int rightWinner = right.join();
+            //the left one sits first, so it keeps a tie
+            return values[rightWinner] > values[leftWinner] ? rightWinner : leftWinner;
+        }
+
+    }
+
+}
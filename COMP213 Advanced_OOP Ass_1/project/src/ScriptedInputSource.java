@@ -0,0 +1,84 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The ScriptedInputSource class gives the lines of a script kept in memory,
+ * in order. More lines can be added while it is read, so a bot can answer a
+ * question after seeing it.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class ScriptedInputSource implements InputSource {
+
+    /**
+     * the lines of the script
+     */
+    private final ArrayList<String> lines;
+
+    /**
+     * the position of the next line
+     */
+    private int next;
+
+    /**
+     * Class constructor. Constructs a ScriptedInputSource of the lines.
+     *
+     * @param lines the lines in order
+     */
+    public ScriptedInputSource(String... lines) {
+        this(Arrays.asList(lines));
+    }
+
+    /**
+     * Class constructor. Constructs a ScriptedInputSource of the lines.
+     *
+     * @param lines the lines in order
+     */
+    public ScriptedInputSource(List<String> lines) {
+        this.lines = new ArrayList<>(lines);
+    }
+
+    /**
+     * Adds the line at the end of the script.
+     *
+     * @param line the line to add
+     */
+    public void add(String line) {
+        lines.add(line);
+    }
+
+    /**
+     * Adds the line at the end of the script the number of times, e.g. the
+     * same attribute for all the rounds of a Human player.
+     *
+     * @param line the line to add
+     * @param times the number of times
+     */
+    public void add(String line, int times) {
+        for (int i = 0; i < times; i++) {
+            lines.add(line);
+        }
+    }
+
+    /**
+     * Returns the number of lines not read yet.
+     *
+     * @return the number of lines left
+     */
+    public int remaining() {
+        return lines.size() - next;
+    }
+
+    @Override
+    public String readLine() {
+        if (next == lines.size()) {
+            throw new NoSuchElementException("No more line in the script");
+        }
+        return lines.get(next++);
+    }
+
+}
@@ -0,0 +1,148 @@
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SimulationMetrics class counts what happens in the games played by any
+ * number of threads: the games, draws and rounds, the lengths of the games
+ * and the time each round takes, the wins, losses and draws of each Player
+ * class, and how often the attribute-decider wins with each attribute.
+ *
+ * The counters are LongAdders and the histograms are striped, so threads
+ * playing games in parallel do not wait for each other. The games tell it
+ * their events through a MetricsListener each, and snapshot() gives the
+ * numbers so far with the rates since it was constructed.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class SimulationMetrics {
+
+    /**
+     * the time the metrics start from
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * the number of games played
+     */
+    private final LongAdder games = new LongAdder();
+
+    /**
+     * the number of games with no winner
+     */
+    private final LongAdder draws = new LongAdder();
+
+    /**
+     * the number of rounds played
+     */
+    private final LongAdder rounds = new LongAdder();
+
+    /**
+     * the numbers of rounds of the games
+     */
+    private final LogLinearHistogram gameLengths = new LogLinearHistogram();
+
+    /**
+     * the nanoseconds each round takes
+     */
+    private final LogLinearHistogram roundLatencies = new LogLinearHistogram();
+
+    /**
+     * the wins, losses and draws of each Player class by its simple name
+     */
+    private final ConcurrentHashMap<String, LongAdder[]> strategyResults = new ConcurrentHashMap<>();
+
+    /**
+     * the rounds won and lost by the attribute-decider with each attribute
+     */
+    private final ConcurrentHashMap<Integer, LongAdder[]> attributeResults = new ConcurrentHashMap<>();
+
+    /**
+     * Records a round played.
+     *
+     * @param latencyNanos the nanoseconds the round took
+     * @param attributeIndex the attribute decided for the round
+     * @param deciderWon whether the attribute-decider won the round
+     */
+    public void recordRound(long latencyNanos, int attributeIndex, boolean deciderWon) {
+        rounds.increment();
+        roundLatencies.record(latencyNanos);
+        counters(attributeResults, attributeIndex, 2)[deciderWon ? 0 : 1].increment();
+    }
+
+    /**
+     * Records a game played.
+     *
+     * @param gameRounds the number of rounds of the game
+     * @param winner the winner, or null if the game is a draw
+     * @param players the players of the game, in the first playersNumber
+     * elements
+     * @param playersNumber the number of players
+     */
+    public void recordGame(int gameRounds, Player winner, Player[] players, int playersNumber) {
+        games.increment();
+        if (winner == null) {
+            draws.increment();
+        }
+        gameLengths.record(gameRounds);
+        for (int i = 0; i < playersNumber; i++) {
+            int result = (winner == null) ? 2 : (players[i] == winner) ? 0 : 1;
+            counters(strategyResults, players[i].getClass().getSimpleName(), 3)[result].increment();
+        }
+    }
+
+    /**
+     * Returns the numbers recorded so far.
+     *
+     * @return the snapshot of the metrics
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(System.nanoTime() - startNanos, games.sum(), draws.sum(), rounds.sum(),
+                gameLengths.snapshot(), roundLatencies.snapshot(), sums(strategyResults), sums(attributeResults));
+    }
+
+    /**
+     * Returns the counters of the key, putting new ones in the map the first
+     * time.
+     *
+     * @param map the counters by their keys
+     * @param key the key
+     * @param number the number of counters of a key
+     * @return the counters of the key
+     */
+    private static <K> LongAdder[] counters(ConcurrentHashMap<K, LongAdder[]> map, K key, int number) {
+        LongAdder[] counters = map.get(key);
+        if (counters == null) {
+            counters = map.computeIfAbsent(key, newKey -> {
+                LongAdder[] newCounters = new LongAdder[number];
+                for (int i = 0; i < number; i++) {
+                    newCounters[i] = new LongAdder();
+                }
+                return newCounters;
+            });
+        }
+        return counters;
+    }
+
+    /**
+     * Returns the sums of the counters, ordered by their keys.
+     *
+     * @param map the counters by their keys
+     * @return the sums by the keys
+     */
+    private static <K> Map<K, long[]> sums(ConcurrentHashMap<K, LongAdder[]> map) {
+        TreeMap<K, long[]> sums = new TreeMap<>();
+        for (Map.Entry<K, LongAdder[]> entry : map.entrySet()) {
+            long[] values = new long[entry.getValue().length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = entry.getValue()[i].sum();
+            }
+            sums.put(entry.getKey(), values);
+        }
+        return sums;
+    }
+
+}
@@ -1,7 +1,4 @@
 
-import java.util.ArrayDeque;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * The SmartComp class inherits from the Player class, and implements the
@@ -21,10 +18,28 @@ public class SmartComp extends Player {
      * @param playerName the name of Player
      * @param cards the cards list of Player
      */
-    public SmartComp(String playerName, ArrayDeque<Card> cards) {
+    public SmartComp(String playerName, Hand cards) {
         super("SmartC_" + playerName, cards);
+    }
 
-        System.out.format("[New Player] A Smart-Computer Player: %s, joins...... ", getPlayerName());
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Smart-Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return "[Searching]...Searching the one with highest value";
     }
 
     /**
@@ -34,19 +49,28 @@ public class SmartComp extends Player {
      */
     @Override
     public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
 
-        HashMap<String, Integer> attributes = this.getTopCard().getAttributes();
-        int max = 0;
-        String maxAttribute = null;
-        for (Map.Entry<String, Integer> attribute : attributes.entrySet()) {
-            int value = attribute.getValue();
-            if (value >= max) {
-                max = value;
-                maxAttribute = attribute.getKey();
-            }
-        }
-        System.out.println("[Searching]...Searching the one with highest value");
-        return maxAttribute;
+    /**
+     * Returns <code>true</code> as this player selects by its top card alone.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isPositional() {
+        return true;
+    }
+
+    /**
+     * Returns the index of the Attribute with the highest value on the top
+     * card.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        return getCards().getDeck().getHighestIndex(getCards().peek());
     }
 
     /**
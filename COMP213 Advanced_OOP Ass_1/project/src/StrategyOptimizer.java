@@ -0,0 +1,384 @@
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The StrategyOptimizer class evolves the TunableParameters of a TunableComp
+ * by a genetic algorithm, playing headless games set up by a GameConfig: the
+ * first of its strategies of the type TunableComp is tuned, and the others are
+ * its opponents, e.g.
+ * <code>PlayerFactory.of(TunableComp.class, TunableComp::new), SmartComp::new</code>.
+ *
+ * In each generation every parameters of the population play the same
+ * deals, the TunableComp taking each seat in turn, and its fitness is the
+ * share of the games it wins, a draw counting as half. The best ones are
+ * kept, and the rest of the next population are children of parents chosen
+ * by tournament selection, crossed over and mutated. The deals of each
+ * generation are new, so the parameters are not fitted to a few deals.
+ *
+ * The deals are spread over a ForkJoinPool. A task sets up each of its deals
+ * once in a Game it reuses with the same players, takes a snapshot, and
+ * rewinds the game to it for every parameters, so the Game, the players and
+ * their hands are made once per task instead of once per game. The deals and
+ * the random streams of the players come from the seed, so the same
+ * optimization gives the same report however the deals are spread over the
+ * threads.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class StrategyOptimizer {
+
+    /**
+     * the number of deals a task plays without splitting
+     */
+    private static final int DEALS_PER_TASK = 8;
+
+    /**
+     * the setup of the games
+     */
+    private final GameConfig config;
+
+    /**
+     * the index of the strategy tuned in the config
+     */
+    private final int tunedIndex;
+
+    /**
+     * the number of parameters in a generation
+     */
+    private final int populationSize;
+
+    /**
+     * the number of deals every parameters play in a generation
+     */
+    private final int gamesPerEvaluation;
+
+    /**
+     * the seed the deals and the evolution come from
+     */
+    private final long seed;
+
+    /**
+     * the number of attributes of the deck
+     */
+    private final int attributesNumber;
+
+    /**
+     * the number of the best parameters kept in the next generation
+     */
+    private int eliteNumber;
+
+    /**
+     * the number of parameters a parent is the best of
+     */
+    private int tournamentSize = 3;
+
+    /**
+     * the chance of a gene to mutate and the standard deviation of a step
+     */
+    private double mutationRate = 0.25;
+    private double mutationSigma = 0.1;
+
+    /**
+     * Class constructor. Constructs a StrategyOptimizer of the TunableComp of
+     * the config against the other strategies of the config.
+     *
+     * @param config the setup of the games, with a strategy of a TunableComp
+     * @param populationSize the number of parameters in a generation
+     * @param gamesPerEvaluation the number of games every parameters play in
+     * a generation
+     * @param seed the seed of the optimization
+     * @throws IllegalArgumentException if a number is not positive, or no
+     * strategy is of the type TunableComp
+     */
+    public StrategyOptimizer(GameConfig config, int populationSize, int gamesPerEvaluation, long seed) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("The population size is less than 2: " + populationSize);
+        }
+        if (gamesPerEvaluation <= 0) {
+            throw new IllegalArgumentException("The games number is not a positive Integer: " + gamesPerEvaluation);
+        }
+        this.config = config;
+        this.tunedIndex = findTuned(config.getStrategies());
+        this.populationSize = populationSize;
+        this.gamesPerEvaluation = gamesPerEvaluation;
+        this.seed = seed;
+        this.eliteNumber = Math.max(1, populationSize / 10);
+        this.attributesNumber = HeadlessGame.setUp(config, seed).getDeck().getAttributesNumber();
+    }
+
+    /**
+     * Returns the index of the first strategy of the type TunableComp.
+     *
+     * @param strategies the strategies of the config
+     * @return the index of the strategy
+     * @throws IllegalArgumentException if no strategy is of the type
+     * TunableComp
+     */
+    private static int findTuned(List<PlayerFactory> strategies) {
+        for (int i = 0; i < strategies.size(); i++) {
+            Class<? extends Player> type = strategies.get(i).getType();
+            if (type != null && TunableComp.class.isAssignableFrom(type)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No strategy of the config is of the type TunableComp");
+    }
+
+    /**
+     * Sets the number of the best parameters kept in the next generation.
+     *
+     * @param eliteNumber the eliteNumber to set, less than the population
+     */
+    public void setEliteNumber(int eliteNumber) {
+        if (eliteNumber < 0 || eliteNumber >= populationSize) {
+            throw new IllegalArgumentException("The elite number is not below the population: " + eliteNumber);
+        }
+        this.eliteNumber = eliteNumber;
+    }
+
+    /**
+     * Sets the number of parameters a parent is chosen as the best of.
+     *
+     * @param tournamentSize the tournamentSize to set
+     */
+    public void setTournamentSize(int tournamentSize) {
+        if (tournamentSize <= 0) {
+            throw new IllegalArgumentException("The tournament size is not a positive Integer: " + tournamentSize);
+        }
+        this.tournamentSize = tournamentSize;
+    }
+
+    /**
+     * Sets the mutation of the children.
+     *
+     * @param rate the chance of a gene to mutate
+     * @param sigma the standard deviation of a step of a gene
+     */
+    public void setMutation(double rate, double sigma) {
+        this.mutationRate = rate;
+        this.mutationSigma = sigma;
+    }
+
+    /**
+     * Evolves the parameters for the generations on the common ForkJoinPool.
+     *
+     * @param generations the number of generations
+     * @return the report of the generations
+     */
+    public OptimizationReport run(int generations) {
+        return run(generations, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evolves the parameters for the generations on the pool. The first
+     * population has the parameters of the highest rank and random ones.
+     *
+     * @param generations the number of generations
+     * @param pool the pool playing the games
+     * @return the report of the generations
+     */
+    public OptimizationReport run(int generations, ForkJoinPool pool) {
+        if (generations <= 0) {
+            throw new IllegalArgumentException("The generations number is not a positive Integer: " + generations);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        TunableParameters[] population = new TunableParameters[populationSize];
+        population[0] = TunableParameters.ranked(attributesNumber);
+        for (int i = 1; i < populationSize; i++) {
+            population[i] = TunableParameters.random(attributesNumber, random);
+        }
+
+        OptimizationReport report = new OptimizationReport();
+        for (int generation = 0; generation < generations; generation++) {
+            double[] fitness = pool.invoke(new EvaluationTask(population, generation, 0, gamesPerEvaluation));
+            double sum = 0;
+            for (int i = 0; i < populationSize; i++) {
+                fitness[i] /= gamesPerEvaluation;
+                sum += fitness[i];
+            }
+            Integer[] order = rank(fitness);
+            report.addGeneration(population[order[0]], fitness[order[0]], sum / populationSize,
+                    (long) populationSize * gamesPerEvaluation);
+            if (generation < generations - 1) {
+                population = breed(population, fitness, order, random);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Returns the indexes of the parameters from the fittest, the first one
+     * if there are ties.
+     *
+     * @param fitness the fitness of each parameters
+     * @return the indexes in order
+     */
+    private static Integer[] rank(double[] fitness) {
+        Integer[] order = new Integer[fitness.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+        return order;
+    }
+
+    /**
+     * Returns the next population: the elite, then the children of parents
+     * chosen by tournament selection.
+     *
+     * @param population the population
+     * @param fitness the fitness of each parameters
+     * @param order the indexes of the parameters from the fittest
+     * @param random the random stream of the evolution
+     * @return the next population
+     */
+    private TunableParameters[] breed(TunableParameters[] population, double[] fitness, Integer[] order,
+            SplittableRandom random) {
+        TunableParameters[] next = new TunableParameters[populationSize];
+        for (int i = 0; i < eliteNumber; i++) {
+            next[i] = population[order[i]];
+        }
+        for (int i = eliteNumber; i < populationSize; i++) {
+            TunableParameters first = population[select(fitness, random)];
+            TunableParameters second = population[select(fitness, random)];
+            next[i] = first.crossover(second, random).mutate(mutationRate, mutationSigma, random);
+        }
+        return next;
+    }
+
+    /**
+     * Returns the fittest of tournamentSize random parameters.
+     *
+     * @param fitness the fitness of each parameters
+     * @param random the random stream of the evolution
+     * @return the index of the parameters chosen
+     */
+    private int select(double[] fitness, SplittableRandom random) {
+        int best = random.nextInt(fitness.length);
+        for (int i = 1; i < tournamentSize; i++) {
+            int other = random.nextInt(fitness.length);
+            if (fitness[other] > fitness[best]) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the seed of the deal of the generation, by the SplitMix64
+     * mixing of the optimization seed and the numbers.
+     *
+     * @param generation the generation, starting from 0
+     * @param deal the number of the deal, starting from 0
+     * @return the seed of the deal
+     */
+    public long getDealSeed(int generation, int deal) {
+        long z = seed + ((long) generation * gamesPerEvaluation + deal + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The EvaluationTask class plays a range of deals with every parameters
+     * of the population, splitting it into two tasks while it is large.
+     */
+    private class EvaluationTask extends RecursiveTask<double[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TunableParameters[] population;
+        private final int generation;
+        private final int from;
+        private final int to;
+
+        /**
+         * Class sole constructor. Constructs a task playing the deals from
+         * (inclusively) and to (exclusively) the numbers.
+         *
+         * @param population the parameters to play
+         * @param generation the generation of the deals
+         * @param from the number of the first deal
+         * @param to the number after the last deal
+         */
+        EvaluationTask(TunableParameters[] population, int generation, int from, int to) {
+            this.population = population;
+            this.generation = generation;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the range of deals and returns the score of each parameters,
+         * 1 per win and 0.5 per draw.
+         *
+         * @return the scores
+         */
+        @Override
+        protected double[] compute() {
+            if (to - from <= DEALS_PER_TASK) {
+                return play();
+            }
+            int middle = (from + to) >>> 1;
+            EvaluationTask left = new EvaluationTask(population, generation, from, middle);
+            left.fork();
+            double[] scores = new EvaluationTask(population, generation, middle, to).compute();
+            double[] leftScores = left.join();
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += leftScores[i];
+            }
+            return scores;
+        }
+
+        /**
+         * Plays the deals of the task in one Game with the same players.
+         *
+         * @return the scores
+         */
+        private double[] play() {
+            List<PlayerFactory> strategies = config.getStrategies();
+            int seats = strategies.size();
+            Hand noCards = new Hand(new DeckStore(attributesNumber));
+            Player[] lineup = new Player[seats];
+            for (int i = 0; i < seats; i++) {
+                lineup[i] = strategies.get(i).create(String.valueOf(i + 1), noCards);
+            }
+            TunableComp tunable = (TunableComp) lineup[tunedIndex];
+            Player[] seated = new Player[seats];
+            Game game = new Game(HeadlessGame.SILENT, new NoOpGameListener());
+            double[] scores = new double[population.length];
+
+            for (int deal = from; deal < to; deal++) {
+                int shift = deal % seats;
+                for (int i = 0; i < seats; i++) {
+                    seated[i] = lineup[(i + seats - shift) % seats];
+                }
+                long dealSeed = getDealSeed(generation, deal);
+                HeadlessGame.setUp(game, config, dealSeed, seated);
+                game.startGame();
+                GameSnapshot start = game.snapshot();
+                for (int i = 0; i < population.length; i++) {
+                    tunable.setParameters(population[i]);
+                    //every parameters meet the same random choices of the opponents
+                    game.setSeed(dealSeed);
+                    for (Player player : seated) {
+                        player.join(game);
+                    }
+                    game.rewind(start);
+                    if (!game.playRounds(config.getMaxRounds())) {
+                        scores[i] += 0.5;
+                    } else if (game.getWinner() == tunable) {
+                        scores[i] += 1;
+                    }
+                }
+            }
+            return scores;
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The Tournament class plays a number of headless games between a mix of
+ * computer strategies on a ForkJoinPool and reports how they did.
+ *
+ * Each task plays its own range of games into its own TournamentReport and
+ * the reports are merged when the tasks join, so no state is shared between
+ * the threads. A strategy is reported by the name of its PlayerFactory, or by
+ * its place in the config if the factory does not know its type.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class Tournament {
+
+    /**
+     * the number of games a task plays without splitting
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    /**
+     * the setups of the games, one per seat rotation
+     */
+    private final List<GameConfig> rotations;
+
+    /**
+     * the names of the strategies in the order of the config
+     */
+    private final List<String> strategyNames;
+
+    /**
+     * the number of games to play
+     */
+    private final int games;
+
+    /**
+     * the seed of the tournament, which the seeds of the games come from
+     */
+    private final long seed;
+
+    /**
+     * the metrics the games are recorded in, or null
+     */
+    private SimulationMetrics metrics;
+
+    /**
+     * the exporter the games are written to, or null
+     */
+    private ResultsExporter exporter;
+
+    /**
+     * Class constructor. Constructs a Tournament of the games set up by the
+     * config, with a random seed. If the seats rotate, the k-th game is played
+     * with the strategies rotated by k places, so no strategy always sits
+     * first and wins the ties.
+     *
+     * @param config the setup of the games
+     * @param games the number of games to play
+     * @param rotateSeats whether the seats of the strategies rotate
+     */
+    public Tournament(GameConfig config, int games, boolean rotateSeats) {
+        this(config, games, rotateSeats, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Class constructor. Constructs a Tournament of the games set up by the
+     * config. The seed of each game comes from the seed of the tournament and
+     * the number of the game, so the same tournament gives the same report
+     * however the games are spread over the threads.
+     *
+     * @param config the setup of the games
+     * @param games the number of games to play
+     * @param rotateSeats whether the seats of the strategies rotate
+     * @param seed the seed of the tournament
+     */
+    public Tournament(GameConfig config, int games, boolean rotateSeats, long seed) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("The games number is not a positive Integer: " + games);
+        }
+        this.games = games;
+        this.seed = seed;
+        this.rotations = new ArrayList<>();
+        this.strategyNames = new ArrayList<>();
+        List<PlayerFactory> strategies = config.getStrategies();
+        int seats = rotateSeats ? strategies.size() : 1;
+        for (int shift = 0; shift < seats; shift++) {
+            List<PlayerFactory> rotated = new ArrayList<>(strategies.size());
+            for (int i = 0; i < strategies.size(); i++) {
+                rotated.add(strategies.get((i + shift) % strategies.size()));
+            }
+            rotations.add(config.getCatalog() != null
+                    ? new GameConfig(config.getDeckType(), config.getCatalog(), config.getCardsNumber(),
+                            rotated, config.getMaxRounds(), config.getRepetitionPolicy())
+                    : new GameConfig(config.getDeckType(), config.getDeckGeneration(), config.getCardsNumber(),
+                            rotated, config.getMaxRounds(), config.getRepetitionPolicy()));
+        }
+        for (PlayerFactory strategy : strategies) {
+            String name = strategy.getName();
+            strategyNames.add(name != null ? name : "Strategy_" + (strategyNames.size() + 1));
+        }
+    }
+
+    /**
+     * Gets the metrics the games are recorded in.
+     *
+     * @return the metrics, or null if the games are not recorded
+     */
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics the games are recorded in, which may be shared with
+     * other tournaments running at the same time.
+     *
+     * @param metrics the metrics, or null not to record the games
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the exporter the games are written to.
+     *
+     * @return the exporter, or null if the games are not written
+     */
+    public ResultsExporter getExporter() {
+        return exporter;
+    }
+
+    /**
+     * Sets the exporter each game is written to as it ends, which may be
+     * shared with other tournaments running at the same time. The exporter
+     * is not closed by the tournament.
+     *
+     * @param exporter the exporter, or null not to write the games
+     */
+    public void setExporter(ResultsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Plays all the games on the common ForkJoinPool.
+     *
+     * @return the report of the games
+     */
+    public TournamentReport run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays all the games on the pool.
+     *
+     * @param pool the pool playing the games
+     * @return the report of the games
+     */
+    public TournamentReport run(ForkJoinPool pool) {
+        return pool.invoke(new GamesTask(0, games));
+    }
+
+    /**
+     * Returns the seed of the game of the number, by the SplitMix64 mixing of
+     * the tournament seed and the number.
+     *
+     * @param number the number of the game, starting from 0
+     * @return the seed of the game
+     */
+    public long getGameSeed(int number) {
+        long z = seed + (number + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays the game of the number and adds its result to the report.
+     *
+     * @param number the number of the game, starting from 0
+     * @param report the report of the games played by the task
+     */
+    private void playGame(int number, TournamentReport report) {
+        int shift = number % rotations.size();
+        long gameSeed = getGameSeed(number);
+        GameEventListener listener = new NoOpGameListener();
+        if (exporter != null) {
+            listener = new ExportListener(exporter, gameSeed, listener);
+        }
+        if (metrics != null) {
+            listener = new MetricsListener(metrics, listener);
+        }
+        GameResult result = HeadlessGame.play(rotations.get(shift), gameSeed, listener);
+        if (result.isDraw()) {
+            report.addDraw(result.getRounds());
+        } else {
+            report.addWin((result.getWinnerIndex() + shift) % strategyNames.size(), result.getRounds());
+        }
+    }
+
+    /**
+     * The GamesTask class plays a range of games, splitting it into two tasks
+     * while it is large.
+     */
+    private class GamesTask extends RecursiveTask<TournamentReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        /**
+         * Class sole constructor. Constructs a task playing the games from
+         * (inclusively) and to (exclusively) the numbers.
+         *
+         * @param from the number of the first game
+         * @param to the number after the last game
+         */
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the range of games and returns their report.
+         *
+         * @return the report of the games
+         */
+        @Override
+        protected TournamentReport compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentReport report = new TournamentReport(strategyNames);
+                for (int number = from; number < to; number++) {
+                    playGame(number, report);
+                }
+                return report;
+            }
+            int middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle);
+            left.fork();
+            TournamentReport right = new GamesTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The TournamentReport class counts the wins of each strategy and the lengths
+ * of the games in a Tournament, and gives the win rates, the game length
+ * statistics and their 95% confidence intervals.
+ *
+ * A report is filled by one thread only, and the reports of different threads
+ * are combined by merge().
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class TournamentReport {
+
+    /**
+     * the z value of the 95% confidence intervals
+     */
+    private static final double Z_95 = 1.959964;
+
+    /**
+     * the names of the strategies
+     */
+    private final List<String> strategyNames;
+
+    /**
+     * the number of wins of each strategy
+     */
+    private final long[] wins;
+
+    /**
+     * the number of games with no winner
+     */
+    private long draws;
+
+    /**
+     * the number of games by the number of rounds they lasted
+     */
+    private long[] lengthCounts;
+
+    /**
+     * the number of games played
+     */
+    private long games;
+
+    /**
+     * the sum of the rounds of all the games
+     */
+    private long roundsSum;
+
+    /**
+     * the sum of the squared rounds of all the games
+     */
+    private double roundsSquaredSum;
+
+    /**
+     * Class constructor. Constructs an empty report of the strategies.
+     *
+     * @param strategyNames the names of the strategies
+     */
+    public TournamentReport(List<String> strategyNames) {
+        this.strategyNames = Collections.unmodifiableList(new ArrayList<>(strategyNames));
+        this.wins = new long[strategyNames.size()];
+        this.lengthCounts = new long[64];
+    }
+
+    /**
+     * Adds a game won by the strategy.
+     *
+     * @param strategy the index of the winner strategy
+     * @param rounds the number of rounds of the game
+     */
+    public void addWin(int strategy, int rounds) {
+        wins[strategy]++;
+        addLength(rounds);
+    }
+
+    /**
+     * Adds a game with no winner.
+     *
+     * @param rounds the number of rounds of the game
+     */
+    public void addDraw(int rounds) {
+        draws++;
+        addLength(rounds);
+    }
+
+    /**
+     * Adds the length of a game.
+     *
+     * @param rounds the number of rounds of the game
+     */
+    private void addLength(int rounds) {
+        if (rounds >= lengthCounts.length) {
+            lengthCounts = Arrays.copyOf(lengthCounts, Math.max(rounds + 1, lengthCounts.length * 2));
+        }
+        lengthCounts[rounds]++;
+        games++;
+        roundsSum += rounds;
+        roundsSquaredSum += (double) rounds * rounds;
+    }
+
+    /**
+     * Returns a new report of the games of this report and the other one.
+     *
+     * @param other the report of the other games
+     * @return the merged report
+     */
+    public TournamentReport merge(TournamentReport other) {
+        TournamentReport merged = new TournamentReport(strategyNames);
+        for (int i = 0; i < wins.length; i++) {
+            merged.wins[i] = wins[i] + other.wins[i];
+        }
+        merged.draws = draws + other.draws;
+        merged.lengthCounts = new long[Math.max(lengthCounts.length, other.lengthCounts.length)];
+        for (int i = 0; i < merged.lengthCounts.length; i++) {
+            merged.lengthCounts[i] = (i < lengthCounts.length ? lengthCounts[i] : 0)
+                    + (i < other.lengthCounts.length ? other.lengthCounts[i] : 0);
+        }
+        merged.games = games + other.games;
+        merged.roundsSum = roundsSum + other.roundsSum;
+        merged.roundsSquaredSum = roundsSquaredSum + other.roundsSquaredSum;
+        return merged;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won by the strategy.
+     *
+     * @param strategy the index of the strategy
+     * @return the wins
+     */
+    public long getWins(int strategy) {
+        return wins[strategy];
+    }
+
+    /**
+     * Gets the number of games with no winner.
+     *
+     * @return the draws
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the rate of the games won by the strategy.
+     *
+     * @param strategy the index of the strategy
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int strategy) {
+        return (games == 0) ? 0 : (double) wins[strategy] / games;
+    }
+
+    /**
+     * Returns the 95% Wilson score interval of the win rate of the strategy.
+     *
+     * @param strategy the index of the strategy
+     * @return the lower and the upper bounds
+     */
+    public double[] getWinRateInterval(int strategy) {
+        if (games == 0) {
+            return new double[]{0, 1};
+        }
+        double rate = getWinRate(strategy);
+        double z2 = Z_95 * Z_95;
+        double centre = (rate + z2 / (2 * games)) / (1 + z2 / games);
+        double margin = Z_95 / (1 + z2 / games) * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games));
+        return new double[]{Math.max(0, centre - margin), Math.min(1, centre + margin)};
+    }
+
+    /**
+     * Returns the mean number of rounds of the games.
+     *
+     * @return the mean game length
+     */
+    public double getMeanRounds() {
+        return (games == 0) ? 0 : (double) roundsSum / games;
+    }
+
+    /**
+     * Returns the 95% confidence interval of the mean number of rounds, by the
+     * normal approximation.
+     *
+     * @return the lower and the upper bounds
+     */
+    public double[] getMeanRoundsInterval() {
+        double mean = getMeanRounds();
+        if (games < 2) {
+            return new double[]{mean, mean};
+        }
+        double variance = (roundsSquaredSum - games * mean * mean) / (games - 1);
+        double margin = Z_95 * Math.sqrt(Math.max(variance, 0) / games);
+        return new double[]{mean - margin, mean + margin};
+    }
+
+    /**
+     * Returns the number of rounds that the percentage of games lasted at most.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the game length at the percentile
+     */
+    public int getRoundsPercentile(double percentile) {
+        long rank = (long) Math.ceil(percentile / 100 * games);
+        long counted = 0;
+        for (int rounds = 0; rounds < lengthCounts.length; rounds++) {
+            counted += lengthCounts[rounds];
+            if (counted >= Math.max(rank, 1)) {
+                return rounds;
+            }
+        }
+        return lengthCounts.length - 1;
+    }
+
+    /**
+     * Returns the report as a table of the strategies and the game lengths.
+     *
+     * @return a String about the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("[Tournament] %d games, %d draw(s)\n", games, draws));
+        report.append("------------------------------------------------------------------------------------\n");
+        for (int i = 0; i < wins.length; i++) {
+            double[] interval = getWinRateInterval(i);
+            report.append(String.format("| %d. %-17s| wins: %8d | rate: %6.2f%% | 95%% CI: [%6.2f%%, %6.2f%%]\n",
+                    i + 1, strategyNames.get(i), wins[i], getWinRate(i) * 100,
+                    interval[0] * 100, interval[1] * 100));
+        }
+        report.append("------------------------------------------------------------------------------------\n");
+        double[] meanInterval = getMeanRoundsInterval();
+        report.append(String.format("| Rounds: mean %.2f (95%% CI: [%.2f, %.2f]), p50 %d, p90 %d, p99 %d, max %d\n",
+                getMeanRounds(), meanInterval[0], meanInterval[1], getRoundsPercentile(50),
+                getRoundsPercentile(90), getRoundsPercentile(99), getRoundsPercentile(100)));
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,186 @@
+
+import java.util.Arrays;
+
+/**
+ * The TranspositionTable class keeps the results of the positions solved by
+ * an EndgameSolver in a fixed number of entries, so the results of any
+ * number of solves take the same memory and create no object.
+ *
+ * A position goes into one bucket of two entries by the hash of its key. The
+ * first entry of a bucket is the one used last: a result found in the second
+ * entry is swapped into the first one, and a new result goes into the first
+ * entry, moving it down and dropping the second one, the least recently used.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class TranspositionTable {
+
+    /**
+     * the keys of the entries, two per bucket
+     */
+    private final long[] keys;
+
+    /**
+     * the results of the entries, 0 for an empty entry
+     */
+    private final int[] results;
+
+    /**
+     * the number of results kept
+     */
+    private int size;
+
+    /**
+     * the number of results found by get()
+     */
+    private long hits;
+
+    /**
+     * the number of results looked for by get()
+     */
+    private long probes;
+
+    /**
+     * the number of results dropped by put()
+     */
+    private long evictions;
+
+    /**
+     * Class constructor. Constructs an empty TranspositionTable of at least
+     * the number of entries, rounded up to a power of 2.
+     *
+     * @param capacity the number of entries
+     */
+    public TranspositionTable(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        this.keys = new long[length];
+        this.results = new int[length];
+    }
+
+    /**
+     * Returns the result of the position, making it the one of its bucket
+     * used last.
+     *
+     * @param key the key of the position
+     * @return the result, or 0 if it is not kept
+     */
+    public int get(long key) {
+        probes++;
+        int first = bucket(key);
+        if (results[first] != 0 && keys[first] == key) {
+            hits++;
+            return results[first];
+        }
+        int second = first + 1;
+        if (results[second] != 0 && keys[second] == key) {
+            hits++;
+            int result = results[second];
+            keys[second] = keys[first];
+            results[second] = results[first];
+            keys[first] = key;
+            results[first] = result;
+            return result;
+        }
+        return 0;
+    }
+
+    /**
+     * Keeps the result of the position as the one of its bucket used last,
+     * dropping the least recently used one if both entries are used.
+     *
+     * @param key the key of the position
+     * @param result the result, not 0
+     */
+    public void put(long key, int result) {
+        int first = bucket(key);
+        int second = first + 1;
+        if (results[first] != 0 && keys[first] == key) {
+            results[first] = result;
+            return;
+        }
+        if (results[first] == 0) {
+            keys[first] = key;
+            results[first] = result;
+            size++;
+            return;
+        }
+        if (results[second] == 0) {
+            size++;
+        } else if (keys[second] != key) {
+            evictions++;
+        }
+        keys[second] = keys[first];
+        results[second] = results[first];
+        keys[first] = key;
+        results[first] = result;
+    }
+
+    /**
+     * Returns the index of the first entry of the bucket of the key.
+     *
+     * @param key the key of the position
+     * @return the index of the entry
+     */
+    private int bucket(long key) {
+        long mixed = Hand.mix(key);
+        return (int) (mixed ^ (mixed >>> 32)) & (keys.length - 2);
+    }
+
+    /**
+     * Removes all the results and clears the counts.
+     */
+    public void clear() {
+        Arrays.fill(results, 0);
+        size = 0;
+        hits = 0;
+        probes = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns the number of results kept.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of results found out of the ones looked for.
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of results looked for.
+     *
+     * @return the probes
+     */
+    public long getProbes() {
+        return probes;
+    }
+
+    /**
+     * Returns the number of results dropped for newer ones.
+     *
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+}
@@ -0,0 +1,159 @@
+
+/**
+ * The TunableComp class inherits from the Player class, and implements the
+ * abstract method selectAttribute() by the score of TunableParameters.
+ *
+ * The score of an attribute of the top card is its weight times the mix of
+ * the rank of its value in the deck and its chance to beat the top cards of
+ * all the opponents, both between 0 and 1. While the hand is short, a share
+ * of the cards in play below the hand fraction, the short mix is used
+ * instead. If an attribute wins with at least the risk threshold of chance,
+ * the one most likely to win is selected whatever the scores. The parameters
+ * are evolved by the StrategyOptimizer.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class TunableComp extends Player {
+
+    /**
+     * the parameters of the score
+     */
+    private TunableParameters parameters;
+
+    /**
+     * Class constructor. Constructs a Player with player name and a list of
+     * cards, selecting the attribute with the highest rank in the deck.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     */
+    public TunableComp(String playerName, Hand cards) {
+        this(playerName, cards, TunableParameters.ranked(cards.getDeck().getAttributesNumber()));
+    }
+
+    /**
+     * Class constructor. Constructs a Player with player name, a list of
+     * cards and the parameters of its score.
+     *
+     * @param playerName the name of Player
+     * @param cards the cards list of Player
+     * @param parameters the parameters of the score
+     */
+    public TunableComp(String playerName, Hand cards, TunableParameters parameters) {
+        super("TuneC_" + playerName, cards);
+        this.parameters = parameters;
+    }
+
+    /**
+     * Returns the message shown when this player joins the game.
+     *
+     * @return the joining message
+     */
+    @Override
+    public String getJoiningMessage() {
+        return String.format("[New Player] A Tunable-Computer Player: %s, joins...... ", getPlayerName());
+    }
+
+    /**
+     * Returns the message shown after this player selects an attribute.
+     *
+     * @return the selection message
+     */
+    @Override
+    public String getSelectionNote() {
+        return "[Scoring]...Selecting the one with the best score of its parameters";
+    }
+
+    /**
+     * Returns the Attribute with the best score.
+     *
+     * @return the attribute this player selects
+     */
+    @Override
+    public String selectAttribute() {
+        return Card.attributeName(selectAttributeIndex());
+    }
+
+    /**
+     * Returns <code>true</code> as this player selects by its top card, the
+     * cards left and the numbers of cards in play.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean isPositional() {
+        return true;
+    }
+
+    /**
+     * Returns the index of the Attribute with the best score, or the one most
+     * likely to win if its chance reaches the risk threshold, the first one
+     * if there are ties. The highest value is selected from a ProceduralDeck,
+     * which has no index of the ranks.
+     *
+     * @return the attribute index, starting from 0
+     */
+    @Override
+    public int selectAttributeIndex() {
+        CardSource deck = getCards().getDeck();
+        int card = getCards().peek();
+        if (!(deck instanceof DeckStore)) {
+            return deck.getHighestIndex(card);
+        }
+        DeckIndex index = ((DeckStore) deck).getIndex();
+        int opponents = 1;
+        double mix = parameters.getMix();
+        if (getGame() != null) {
+            ActivePlayers players = getGame().getActivePlayers();
+            int cardsInPlay = 0;
+            for (int seat = players.first(); seat >= 0; seat = players.next(seat)) {
+                cardsInPlay += players.get(seat).getCardsNumber();
+            }
+            opponents = Math.max(1, players.size() - 1);
+            if (getCardsNumber() < parameters.getHandFraction() * cardsInPlay) {
+                mix = parameters.getShortMix();
+            }
+        }
+        double rankScale = Math.max(1, index.size() - 1);
+
+        int best = 0;
+        double bestScore = -1;
+        int likeliest = 0;
+        double likeliestProbability = -1;
+        for (int attribute = 0; attribute < deck.getAttributesNumber(); attribute++) {
+            double probability = index.getWinProbability(card, attribute, opponents);
+            double score = parameters.getWeight(attribute)
+                    * ((1 - mix) * index.getRank(card, attribute) / rankScale + mix * probability);
+            if (score > bestScore) {
+                best = attribute;
+                bestScore = score;
+            }
+            if (probability > likeliestProbability) {
+                likeliest = attribute;
+                likeliestProbability = probability;
+            }
+        }
+        return likeliestProbability >= parameters.getRiskThreshold() ? likeliest : best;
+    }
+
+    /**
+     * Gets the parameters of the score.
+     *
+     * @return the parameters
+     */
+    public TunableParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets the parameters of the score, e.g. to play the next ones of an
+     * optimization with the same player.
+     *
+     * @param parameters the parameters to set
+     */
+    public void setParameters(TunableParameters parameters) {
+        this.parameters = parameters;
+    }
+
+}
@@ -0,0 +1,214 @@
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The TunableParameters class keeps the parameters of a TunableComp as genes
+ * between 0 and 1, so the StrategyOptimizer can evolve them:
+ * <ul>
+ * <li>the mix of the value rank and the win probability in the score of an
+ * attribute, 0 scoring only by the rank of the value in the deck and 1 only
+ * by the chance to beat all the opponents' cards;</li>
+ * <li>the mix used instead while the hand is short;</li>
+ * <li>the hand fraction, the share of the cards in play below which the hand
+ * is short;</li>
+ * <li>the risk threshold, the win probability from which the attribute most
+ * likely to win is selected whatever the weights;</li>
+ * <li>a weight per attribute, which the score of the attribute is multiplied
+ * by.</li>
+ * </ul>
+ * The parameters are immutable, so the same ones can be played by any number
+ * of players at the same time.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+public class TunableParameters {
+
+    private static final int MIX = 0;
+    private static final int SHORT_MIX = 1;
+    private static final int HAND_FRACTION = 2;
+    private static final int RISK_THRESHOLD = 3;
+    private static final int WEIGHTS = 4;
+
+    /**
+     * the genes, each between 0 and 1
+     */
+    private final double[] genes;
+
+    /**
+     * Class constructor. Constructs TunableParameters of the genes, which are
+     * kept between 0 and 1.
+     *
+     * @param genes the genes, the four parameters then a weight per attribute
+     * @throws IllegalArgumentException if there is no weight
+     */
+    public TunableParameters(double... genes) {
+        if (genes.length <= WEIGHTS) {
+            throw new IllegalArgumentException("The genes have no weight of an attribute: " + genes.length);
+        }
+        this.genes = new double[genes.length];
+        for (int i = 0; i < genes.length; i++) {
+            this.genes[i] = Math.min(1, Math.max(0, genes[i]));
+        }
+    }
+
+    /**
+     * Returns the parameters selecting the attribute with the highest rank in
+     * the deck, as the SmartComp nearly does: every weight 1, no win
+     * probability and no risk threshold below a certain win.
+     *
+     * @param attributesNumber the number of attributes
+     * @return the parameters
+     */
+    public static TunableParameters ranked(int attributesNumber) {
+        double[] genes = new double[WEIGHTS + attributesNumber];
+        genes[RISK_THRESHOLD] = 1;
+        Arrays.fill(genes, WEIGHTS, genes.length, 1);
+        return new TunableParameters(genes);
+    }
+
+    /**
+     * Returns parameters of uniformly random genes.
+     *
+     * @param attributesNumber the number of attributes
+     * @param random the random stream
+     * @return the parameters
+     */
+    public static TunableParameters random(int attributesNumber, SplittableRandom random) {
+        double[] genes = new double[WEIGHTS + attributesNumber];
+        for (int i = 0; i < genes.length; i++) {
+            genes[i] = random.nextDouble();
+        }
+        return new TunableParameters(genes);
+    }
+
+    /**
+     * Returns the child of these parameters and the other ones: each gene
+     * taken from a random point between the two parents' genes.
+     *
+     * @param other the other parent, with the same number of genes
+     * @param random the random stream
+     * @return the child parameters
+     */
+    public TunableParameters crossover(TunableParameters other, SplittableRandom random) {
+        double[] child = new double[genes.length];
+        for (int i = 0; i < genes.length; i++) {
+            double share = random.nextDouble();
+            child[i] = genes[i] + share * (other.genes[i] - genes[i]);
+        }
+        return new TunableParameters(child);
+    }
+
+    /**
+     * Returns these parameters with each gene moved by a Gaussian step at the
+     * rate.
+     *
+     * @param rate the chance of a gene to move
+     * @param sigma the standard deviation of a step
+     * @param random the random stream
+     * @return the mutated parameters
+     */
+    public TunableParameters mutate(double rate, double sigma, SplittableRandom random) {
+        double[] mutated = genes.clone();
+        for (int i = 0; i < mutated.length; i++) {
+            if (random.nextDouble() < rate) {
+                mutated[i] += sigma * gaussian(random);
+            }
+        }
+        return new TunableParameters(mutated);
+    }
+
+    /**
+     * Returns a standard normal number by the Box-Muller transform.
+     *
+     * @param random the random stream
+     * @return the number
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Gets the mix of the rank and the win probability in the score.
+     *
+     * @return the mix, 0 for the rank only and 1 for the win probability only
+     */
+    public double getMix() {
+        return genes[MIX];
+    }
+
+    /**
+     * Gets the mix of the rank and the win probability while the hand is
+     * short.
+     *
+     * @return the mix, 0 for the rank only and 1 for the win probability only
+     */
+    public double getShortMix() {
+        return genes[SHORT_MIX];
+    }
+
+    /**
+     * Gets the share of the cards in play below which the hand is short.
+     *
+     * @return the hand fraction
+     */
+    public double getHandFraction() {
+        return genes[HAND_FRACTION];
+    }
+
+    /**
+     * Gets the win probability from which the attribute most likely to win
+     * is selected.
+     *
+     * @return the risk threshold
+     */
+    public double getRiskThreshold() {
+        return genes[RISK_THRESHOLD];
+    }
+
+    /**
+     * Gets the weight of the attribute, 1 for an attribute without a gene.
+     *
+     * @param attribute the attribute index, starting from 0
+     * @return the weight
+     */
+    public double getWeight(int attribute) {
+        return (WEIGHTS + attribute < genes.length) ? genes[WEIGHTS + attribute] : 1;
+    }
+
+    /**
+     * Gets the number of attributes with a weight.
+     *
+     * @return the number of attributes
+     */
+    public int getAttributesNumber() {
+        return genes.length - WEIGHTS;
+    }
+
+    /**
+     * Returns a copy of the genes.
+     *
+     * @return the genes
+     */
+    public double[] getGenes() {
+        return genes.clone();
+    }
+
+    /**
+     * Returns the parameters in a line.
+     *
+     * @return the parameters
+     */
+    @Override
+    public String toString() {
+        StringBuilder weights = new StringBuilder();
+        for (int attribute = 0; attribute < getAttributesNumber(); attribute++) {
+            weights.append(attribute == 0 ? "" : ", ").append(String.format("%.3f", getWeight(attribute)));
+        }
+        return String.format("mix %.3f, short mix %.3f, hand fraction %.3f, risk threshold %.3f, weights [%s]",
+                getMix(), getShortMix(), getHandFraction(), getRiskThreshold(), weights);
+    }
+
+}
@@ -0,0 +1,137 @@
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The VarInt class writes and reads the variable-length integers of the
+ * checkpoints of GameSnapshot and of the columnar results files: 7-bit
+ * groups, the low ones first, the high bit of a group telling that another
+ * one follows. A number takes as few groups as it needs, so a small
+ * non-negative one takes a byte and a negative one takes MAX_SIZE.
+ *
+ * @author Yuhao Wu
+ * @version 1.0
+ */
+class VarInt {
+
+    /**
+     * the most bytes of a number
+     */
+    static final int MAX_SIZE = 5;
+
+    /**
+     * Returns the number of bytes the number is written in.
+     *
+     * @param number the number
+     * @return the size, from 1 to MAX_SIZE
+     */
+    static int size(int number) {
+        int size = 1;
+        while ((number & ~0x7F) != 0) {
+            number >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the number into the bytes, which must have room for size() of
+     * it.
+     *
+     * @param bytes the bytes to write to
+     * @param offset the index of the first byte to write
+     * @param number the number
+     * @return the index after the last byte written
+     */
+    static int put(byte[] bytes, int offset, int number) {
+        while ((number & ~0x7F) != 0) {
+            bytes[offset++] = (byte) ((number & 0x7F) | 0x80);
+            number >>>= 7;
+        }
+        bytes[offset++] = (byte) number;
+        return offset;
+    }
+
+    /**
+     * Reads the number written by put() at the offset, which takes size() of
+     * the number in bytes.
+     *
+     * @param bytes the bytes to read from
+     * @param offset the index of the first byte of the number
+     * @param end the index after the last byte that can be read
+     * @return the number
+     * @throws IOException if the number goes past the end, or takes more
+     * bytes than put() writes
+     */
+    static int get(byte[] bytes, int offset, int end) throws IOException {
+        int number = 0;
+        for (int shift = 0; shift < 7 * MAX_SIZE; shift += 7) {
+            if (offset == end) {
+                throw new IOException("A number is cut short");
+            }
+            int group = bytes[offset++];
+            number |= (group & 0x7F) << shift;
+            if ((group & 0x80) == 0) {
+                if (shift / 7 + 1 != size(number)) {
+                    throw new IOException("A number is longer than it needs");
+                }
+                return number;
+            }
+        }
+        throw new IOException("A number is too long");
+    }
+
+    /**
+     * Writes the number to the output.
+     *
+     * @param out the output to write to
+     * @param number the number
+     * @throws IOException if the output cannot be written
+     */
+    static void write(DataOutput out, int number) throws IOException {
+        while ((number & ~0x7F) != 0) {
+            out.writeByte((number & 0x7F) | 0x80);
+            number >>>= 7;
+        }
+        out.writeByte(number);
+    }
+
+    /**
+     * Reads a number written by write().
+     *
+     * @param in the input to read from
+     * @return the number
+     * @throws IOException if the input cannot be read or the number is too
+     * long
+     */
+    static int read(DataInput in) throws IOException {
+        return read(in, in.readUnsignedByte());
+    }
+
+    /**
+     * Reads a number written by write(), whose first group is read already,
+     * e.g. to tell the end of the input.
+     *
+     * @param in the input to read from
+     * @param firstGroup the first group of the number
+     * @return the number
+     * @throws IOException if the input cannot be read or the number is too
+     * long
+     */
+    static int read(DataInput in, int firstGroup) throws IOException {
+        int number = 0;
+        int group = firstGroup;
+        for (int shift = 0;; shift += 7) {
+            number |= (group & 0x7F) << shift;
+            if ((group & 0x80) == 0) {
+                return number;
+            }
+            if (shift + 7 == 7 * MAX_SIZE) {
+                throw new IOException("A number is too long");
+            }
+            group = in.readUnsignedByte();
+        }
+    }
+
+}